@@ -0,0 +1,206 @@
+package com.minisocial.config;
+
+import com.minisocial.service.ConcurrencyLimits;
+import com.minisocial.service.RedisReplayBuffer;
+import com.minisocial.service.RequestCoalescing;
+import com.minisocial.util.AdaptiveConcurrencyLimit;
+import com.minisocial.util.Bulkhead;
+import com.minisocial.util.CircuitBreaker;
+import com.minisocial.util.RequestTracer;
+import com.minisocial.util.SingleFlight;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.Locale;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes the counters the app already keeps (routing decisions, replica
+ * state, bulkheads, coalescing, concurrency limits, the Redis breaker and
+ * replay buffer, request tracing) as Micrometer meters. Reads are lazy: meters sample the
+ * existing LongAdders/atomics at scrape time, so hot paths pay nothing extra.
+ * 
+ * Covered automatically by Spring Boot and not repeated here: the primary
+ * Hikari pool (hikaricp.*), ThreadPoolTaskExecutor beans (executor.*), the
+ * Lettuce pool (commons.pool2.*) and Lettuce command latency (lettuce.*).
+ */
+@Component
+public class ApplicationMetrics implements MeterBinder {
+
+    private final ReplicaPool replicaPool;
+    private final DataSource routingDataSource;
+    private final DataSource dataSource;
+    private final RedisConnectionFactory redisConnectionFactory;
+    private final CircuitBreaker redisCircuitBreaker;
+    private final RedisReplayBuffer redisReplayBuffer;
+    private final RequestCoalescing requestCoalescing;
+    private final ConcurrencyLimits concurrencyLimits;
+    private final RequestTracer requestTracer;
+
+    public ApplicationMetrics(@Qualifier("readDataSource") ReplicaPool replicaPool,
+                              @Qualifier("routingDataSource") DataSource routingDataSource,
+                              @Qualifier("dataSource") DataSource dataSource,
+                              RedisConnectionFactory redisConnectionFactory,
+                              CircuitBreaker redisCircuitBreaker,
+                              RedisReplayBuffer redisReplayBuffer,
+                              RequestCoalescing requestCoalescing,
+                              ConcurrencyLimits concurrencyLimits,
+                              RequestTracer requestTracer) {
+        this.replicaPool = replicaPool;
+        this.routingDataSource = routingDataSource;
+        this.dataSource = dataSource;
+        this.redisConnectionFactory = redisConnectionFactory;
+        this.redisCircuitBreaker = redisCircuitBreaker;
+        this.redisReplayBuffer = redisReplayBuffer;
+        this.requestCoalescing = requestCoalescing;
+        this.concurrencyLimits = concurrencyLimits;
+        this.requestTracer = requestTracer;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bindRouting(registry);
+        bindReplicas(registry);
+        bindBulkheads(registry);
+        bindCoalescing(registry);
+        bindConcurrencyLimits(registry);
+        bindRedis(registry);
+        bindTracing(registry);
+    }
+
+    private void bindRouting(MeterRegistry registry) {
+        if (!(routingDataSource instanceof RoutingDataSource routing)) {
+            return;
+        }
+        for (RoutingDataSource.Route route : RoutingDataSource.Route.values()) {
+            FunctionCounter.builder("db.routing.decisions", routing, r -> r.getRouteCount(route))
+                    .description("Connection requests by routing decision")
+                    .tag("route", route.name().toLowerCase(Locale.ROOT))
+                    .register(registry);
+        }
+    }
+
+    private void bindReplicas(MeterRegistry registry) {
+        for (ReadReplica replica : replicaPool.getReplicas()) {
+            String name = replica.getName();
+            Gauge.builder("db.replica.lag", replica, ReadReplica::getLagMs)
+                    .tag("replica", name).baseUnit("milliseconds").register(registry);
+            Gauge.builder("db.replica.outstanding", replica, r -> r.getOutstanding().get())
+                    .tag("replica", name).register(registry);
+            Gauge.builder("db.replica.breaker.state", replica, r -> breakerState(r.getBreaker()))
+                    .description("0 closed, 1 half-open, 2 open")
+                    .tag("replica", name).register(registry);
+            Gauge.builder("db.replica.usable", replica, r -> replicaPool.isUsable(r) ? 1 : 0)
+                    .tag("replica", name).register(registry);
+            FunctionCounter.builder("db.replica.acquisitions", replica, ReadReplica::getAcquisitionCount)
+                    .tag("replica", name).register(registry);
+            FunctionCounter.builder("db.replica.failures", replica, ReadReplica::getFailureCount)
+                    .tag("replica", name).register(registry);
+            FunctionCounter.builder("db.replica.busy", replica, ReadReplica::getBusyCount)
+                    .description("Acquire timeouts on a full pool, served by the primary")
+                    .tag("replica", name).register(registry);
+
+            // Replica pools aren't beans, so Boot's Hikari metrics don't see them
+            hikariGauge(registry, "db.replica.pool.active", replica, HikariPoolMXBean::getActiveConnections);
+            hikariGauge(registry, "db.replica.pool.idle", replica, HikariPoolMXBean::getIdleConnections);
+            hikariGauge(registry, "db.replica.pool.pending", replica, HikariPoolMXBean::getThreadsAwaitingConnection);
+            hikariGauge(registry, "db.replica.pool.total", replica, HikariPoolMXBean::getTotalConnections);
+        }
+    }
+
+    private static void hikariGauge(MeterRegistry registry, String name, ReadReplica replica,
+                                    ToDoubleFunction<HikariPoolMXBean> value) {
+        Gauge.builder(name, replica, r -> {
+                    // Null until the pool has started
+                    HikariPoolMXBean pool = r.getDataSource().getHikariPoolMXBean();
+                    return pool == null ? Double.NaN : value.applyAsDouble(pool);
+                })
+                .tag("replica", replica.getName())
+                .register(registry);
+    }
+
+    private void bindBulkheads(MeterRegistry registry) {
+        // Only present in virtual-thread mode
+        if (dataSource instanceof DelegatingDataSource lazy
+                && lazy.getTargetDataSource() instanceof BulkheadDataSource bulkheadDataSource) {
+            bindBulkhead(registry, bulkheadDataSource.getBulkhead());
+        }
+        if (redisConnectionFactory instanceof BulkheadRedisConnectionFactory bulkheadFactory) {
+            bindBulkhead(registry, bulkheadFactory.getBulkhead());
+        }
+    }
+
+    private static void bindBulkhead(MeterRegistry registry, Bulkhead bulkhead) {
+        Gauge.builder("bulkhead.in.flight", bulkhead, Bulkhead::getInFlight)
+                .tag("name", bulkhead.getName()).register(registry);
+        Gauge.builder("bulkhead.queued", bulkhead, Bulkhead::getQueued)
+                .tag("name", bulkhead.getName()).register(registry);
+        FunctionCounter.builder("bulkhead.rejected", bulkhead, Bulkhead::getRejected)
+                .tag("name", bulkhead.getName()).register(registry);
+    }
+
+    private void bindCoalescing(MeterRegistry registry) {
+        for (SingleFlight<?, ?> group : requestCoalescing.groups()) {
+            FunctionCounter.builder("coalescing.requests", group, SingleFlight::getLeaders)
+                    .description("Requests that ran the work (led) or shared an in-flight result (joined)")
+                    .tags("group", group.getName(), "result", "led").register(registry);
+            FunctionCounter.builder("coalescing.requests", group, SingleFlight::getCoalesced)
+                    .tags("group", group.getName(), "result", "joined").register(registry);
+            Gauge.builder("coalescing.ratio", group, g -> g.snapshot().coalescedRatio())
+                    .tag("group", group.getName()).register(registry);
+            Gauge.builder("coalescing.in.flight", group, SingleFlight::getInFlight)
+                    .tag("group", group.getName()).register(registry);
+        }
+    }
+
+    private void bindConcurrencyLimits(MeterRegistry registry) {
+        for (AdaptiveConcurrencyLimit limit : concurrencyLimits.limits()) {
+            Gauge.builder("concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                    .tag("name", limit.getName()).register(registry);
+            Gauge.builder("concurrency.in.flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                    .tag("name", limit.getName()).register(registry);
+            FunctionCounter.builder("concurrency.shed", limit, AdaptiveConcurrencyLimit::getRejected)
+                    .tag("name", limit.getName()).register(registry);
+        }
+    }
+
+    private void bindRedis(MeterRegistry registry) {
+        Gauge.builder("redis.breaker.state", redisCircuitBreaker, ApplicationMetrics::breakerState)
+                .description("0 closed, 1 half-open, 2 open")
+                .register(registry);
+        Gauge.builder("redis.replay.pending", redisReplayBuffer, RedisReplayBuffer::getPending)
+                .register(registry);
+        FunctionCounter.builder("redis.replay.writes", redisReplayBuffer, RedisReplayBuffer::getBuffered)
+                .tag("result", "buffered").register(registry);
+        FunctionCounter.builder("redis.replay.writes", redisReplayBuffer, RedisReplayBuffer::getReplayed)
+                .tag("result", "replayed").register(registry);
+        FunctionCounter.builder("redis.replay.writes", redisReplayBuffer, RedisReplayBuffer::getDropped)
+                .tag("result", "dropped").register(registry);
+    }
+
+    private void bindTracing(MeterRegistry registry) {
+        FunctionCounter.builder("tracing.captured", requestTracer, RequestTracer::getSlowCount)
+                .tag("reason", "slow").register(registry);
+        FunctionCounter.builder("tracing.captured", requestTracer, RequestTracer::getSampledCount)
+                .tag("reason", "sampled").register(registry);
+        FunctionCounter.builder("tracing.untraced", requestTracer, RequestTracer::getUntracedCount)
+                .description("Requests not traced because every span buffer was in use")
+                .register(registry);
+    }
+
+    private static double breakerState(CircuitBreaker breaker) {
+        return switch (breaker.getState()) {
+            case CLOSED -> 0;
+            case HALF_OPEN -> 1;
+            case OPEN -> 2;
+        };
+    }
+}
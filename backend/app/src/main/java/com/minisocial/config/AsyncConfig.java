@@ -0,0 +1,94 @@
+package com.minisocial.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Configuration class for asynchronous task execution.
+ * Configures a custom TaskExecutor for handling async operations like
+ * feed rebuilding. Image processing runs on the durable job queue workers,
+ * and password hashing gets its own bounded pool.
+ * 
+ * With spring.threads.virtual.enabled on Java 21+, @Async tasks run on virtual
+ * threads instead (CPU-bound hashing stays on its platform pool).
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    @Value("${async.corePoolSize:5}")
+    private int corePoolSize;
+
+    @Value("${async.maxPoolSize:10}")
+    private int maxPoolSize;
+
+    @Value("${async.queueCapacity:100}")
+    private int queueCapacity;
+
+    @Value("${async.threadNamePrefix:async-}")
+    private String threadNamePrefix;
+
+    /**
+     * Creates a custom TaskExecutor bean for async processing.
+     * 
+     * @return configured ThreadPoolTaskExecutor
+     */
+    @Bean(name = "taskExecutor")
+    public Executor taskExecutor(
+            Environment environment,
+            @Value("${async.virtualConcurrencyLimit:1000}") int virtualConcurrencyLimit) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            // One virtual thread per task; the limit replaces the pool size as backpressure
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(virtualConcurrencyLimit);
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        
+        // Configure core pool size - minimum number of threads to keep alive
+        executor.setCorePoolSize(corePoolSize);
+        
+        // Configure max pool size - maximum number of threads
+        executor.setMaxPoolSize(maxPoolSize);
+        
+        // Configure queue capacity - number of tasks to queue before creating new threads
+        executor.setQueueCapacity(queueCapacity);
+        
+        // Set thread name prefix for debugging and monitoring
+        executor.setThreadNamePrefix(threadNamePrefix);
+        
+        // Initialize the executor
+        executor.initialize();
+        
+        return executor;
+    }
+
+    /**
+     * Bounded executor for BCrypt so password hashing never runs on request threads.
+     * Rejects (rather than queues without limit) once the queue is full.
+     *
+     * @return configured ThreadPoolTaskExecutor
+     */
+    @Bean(name = "passwordHashExecutor")
+    public Executor passwordHashExecutor(
+            @Value("${passwordHashing.threads:2}") int threads,
+            @Value("${passwordHashing.queueCapacity:50}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("bcrypt-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,93 @@
+package com.minisocial.config;
+
+import com.minisocial.util.Bulkhead;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisSentinelConnection;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Redis connection factory that holds a bulkhead permit per open connection.
+ * Used in virtual-thread mode, where the servlet thread pool no longer bounds
+ * how many callers borrow from the Lettuce pool at once.
+ */
+public class BulkheadRedisConnectionFactory implements RedisConnectionFactory {
+
+    private final RedisConnectionFactory delegate;
+    private final Bulkhead bulkhead;
+
+    public BulkheadRedisConnectionFactory(RedisConnectionFactory delegate, Bulkhead bulkhead) {
+        this.delegate = delegate;
+        this.bulkhead = bulkhead;
+    }
+
+    public Bulkhead getBulkhead() {
+        return bulkhead;
+    }
+
+    @Override
+    public RedisConnection getConnection() {
+        if (!bulkhead.tryAcquire()) {
+            // Same failure mode as an exhausted Lettuce pool
+            throw new RedisConnectionFailureException("Redis bulkhead full (" + bulkhead.getInFlight() + " in flight)");
+        }
+        try {
+            return releaseOnClose(delegate.getConnection());
+        } catch (RuntimeException e) {
+            bulkhead.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public RedisClusterConnection getClusterConnection() {
+        return delegate.getClusterConnection();
+    }
+
+    @Override
+    public boolean getConvertPipelineAndTxResults() {
+        return delegate.getConvertPipelineAndTxResults();
+    }
+
+    @Override
+    public RedisSentinelConnection getSentinelConnection() {
+        return delegate.getSentinelConnection();
+    }
+
+    @Override
+    public DataAccessException translateExceptionIfPossible(RuntimeException ex) {
+        return delegate.translateExceptionIfPossible(ex);
+    }
+
+    private RedisConnection releaseOnClose(RedisConnection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (RedisConnection) Proxy.newProxyInstance(
+                RedisConnection.class.getClassLoader(),
+                new Class<?>[]{RedisConnection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            break;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    } finally {
+                        if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                            bulkhead.release();
+                        }
+                    }
+                });
+    }
+}
@@ -0,0 +1,138 @@
+package com.minisocial.config;
+
+import com.minisocial.util.CircuitBreaker;
+import com.minisocial.util.RequestTrace;
+import io.lettuce.core.RedisCommandTimeoutException;
+import io.lettuce.core.RedisConnectionException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisSentinelConnection;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Redis connection factory behind a circuit breaker.
+ * 
+ * Every command on a borrowed connection reports to the breaker; connection
+ * failures and command timeouts count against it, other errors (wrong type,
+ * script errors) do not. While the circuit is open, borrowing fails at once
+ * instead of each caller waiting out the command timeout, and callers take
+ * their fallback path.
+ * 
+ * Commands issued inside a traced request are also recorded as spans
+ * named after the connection method ("redis.get", "redis.zAdd", ...).
+ */
+public class CircuitBreakerRedisConnectionFactory implements RedisConnectionFactory {
+
+    private final RedisConnectionFactory delegate;
+    private final CircuitBreaker breaker;
+    private final Map<Method, String> spanNames = new ConcurrentHashMap<>();
+
+    public CircuitBreakerRedisConnectionFactory(RedisConnectionFactory delegate, CircuitBreaker breaker) {
+        this.delegate = delegate;
+        this.breaker = breaker;
+    }
+
+    /**
+     * Whether a failure means Redis itself is unreachable or too slow.
+     */
+    public static boolean isOutage(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof RedisConnectionFailureException
+                    || t instanceof QueryTimeoutException
+                    || t instanceof RedisConnectionException
+                    || t instanceof RedisCommandTimeoutException) {
+                return true;
+            }
+            if (t.getCause() == t) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public RedisConnection getConnection() {
+        if (!breaker.allowRequest()) {
+            throw new RedisConnectionFailureException("Redis circuit open");
+        }
+        RedisConnection connection;
+        try {
+            connection = delegate.getConnection();
+        } catch (RuntimeException e) {
+            if (isOutage(e)) {
+                breaker.recordFailure();
+            }
+            throw e;
+        }
+        return reportToBreaker(connection);
+    }
+
+    @Override
+    public RedisClusterConnection getClusterConnection() {
+        return delegate.getClusterConnection();
+    }
+
+    @Override
+    public boolean getConvertPipelineAndTxResults() {
+        return delegate.getConvertPipelineAndTxResults();
+    }
+
+    @Override
+    public RedisSentinelConnection getSentinelConnection() {
+        return delegate.getSentinelConnection();
+    }
+
+    @Override
+    public DataAccessException translateExceptionIfPossible(RuntimeException ex) {
+        return delegate.translateExceptionIfPossible(ex);
+    }
+
+    private RedisConnection reportToBreaker(RedisConnection connection) {
+        return (RedisConnection) Proxy.newProxyInstance(
+                RedisConnection.class.getClassLoader(),
+                new Class<?>[]{RedisConnection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "close":
+                        case "isClosed":
+                        case "isPipelined":
+                        case "isQueueing":
+                        case "getNativeConnection":
+                            return method.invoke(connection, args);
+                        default:
+                            break;
+                    }
+                    RequestTrace trace = RequestTrace.current();
+                    long span = trace == null ? RequestTrace.NONE
+                            : trace.enter(spanNames.computeIfAbsent(method, m -> "redis." + m.getName()));
+                    try {
+                        Object result = method.invoke(connection, args);
+                        breaker.recordSuccess();
+                        return result;
+                    } catch (InvocationTargetException e) {
+                        Throwable cause = e.getCause();
+                        if (isOutage(cause)) {
+                            breaker.recordFailure();
+                        }
+                        throw cause;
+                    } finally {
+                        if (trace != null) {
+                            trace.exit(span);
+                        }
+                    }
+                });
+    }
+}
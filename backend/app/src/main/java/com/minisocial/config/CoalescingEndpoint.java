@@ -0,0 +1,29 @@
+package com.minisocial.config;
+
+import com.minisocial.service.RequestCoalescing;
+import com.minisocial.util.SingleFlight;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Single-flight groups: how many requests ran work versus joined an in-flight
+ * one, at /actuator/coalescing on the internal management port.
+ */
+@Component
+@Endpoint(id = "coalescing")
+public class CoalescingEndpoint {
+
+    private final RequestCoalescing requestCoalescing;
+
+    public CoalescingEndpoint(RequestCoalescing requestCoalescing) {
+        this.requestCoalescing = requestCoalescing;
+    }
+
+    @ReadOperation
+    public List<SingleFlight.Snapshot> coalescing() {
+        return requestCoalescing.snapshot();
+    }
+}
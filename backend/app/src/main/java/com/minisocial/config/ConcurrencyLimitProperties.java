@@ -0,0 +1,146 @@
+package com.minisocial.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adaptive concurrency limits bound from {@code adaptiveLimit.*}.
+ * The first endpoint rule whose method and path prefix match a request applies;
+ * {@code feedDatabase} limits feed reads that fall back to Postgres.
+ */
+@Component
+@ConfigurationProperties(prefix = "adaptive-limit")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+
+    // How far window latency may rise above baseline before the limit shrinks
+    private double tolerance = 1.5;
+
+    // Weight of each new window's limit estimate
+    private double smoothing = 0.2;
+
+    // Retry-After sent with shed requests
+    private long retryAfterSeconds = 1;
+
+    private Limit feedDatabase = new Limit();
+
+    private List<Rule> rules = new ArrayList<>();
+
+    public static class Limit {
+
+        private int initialLimit = 20;
+        private int minLimit = 4;
+        private int maxLimit = 200;
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+    }
+
+    public static class Rule extends Limit {
+
+        private String name;
+        private String method;
+        private String pathPrefix;
+
+        public boolean matches(String requestMethod, String path) {
+            return (method == null || method.equalsIgnoreCase(requestMethod)) && path.startsWith(pathPrefix);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public void setMethod(String method) {
+            this.method = method;
+        }
+
+        public String getPathPrefix() {
+            return pathPrefix;
+        }
+
+        public void setPathPrefix(String pathPrefix) {
+            this.pathPrefix = pathPrefix;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    public void setTolerance(double tolerance) {
+        this.tolerance = tolerance;
+    }
+
+    public double getSmoothing() {
+        return smoothing;
+    }
+
+    public void setSmoothing(double smoothing) {
+        this.smoothing = smoothing;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    public void setRetryAfterSeconds(long retryAfterSeconds) {
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public Limit getFeedDatabase() {
+        return feedDatabase;
+    }
+
+    public void setFeedDatabase(Limit feedDatabase) {
+        this.feedDatabase = feedDatabase;
+    }
+
+    public List<Rule> getRules() {
+        return rules;
+    }
+
+    public void setRules(List<Rule> rules) {
+        this.rules = rules;
+    }
+}
@@ -0,0 +1,29 @@
+package com.minisocial.config;
+
+import com.minisocial.service.ConcurrencyLimits;
+import com.minisocial.util.AdaptiveConcurrencyLimit;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Current adaptive concurrency limits, in-flight counts and shed totals, at
+ * /actuator/limits on the internal management port.
+ */
+@Component
+@Endpoint(id = "limits")
+public class ConcurrencyLimitsEndpoint {
+
+    private final ConcurrencyLimits concurrencyLimits;
+
+    public ConcurrencyLimitsEndpoint(ConcurrencyLimits concurrencyLimits) {
+        this.concurrencyLimits = concurrencyLimits;
+    }
+
+    @ReadOperation
+    public List<AdaptiveConcurrencyLimit.Snapshot> limits() {
+        return concurrencyLimits.snapshot();
+    }
+}
@@ -0,0 +1,115 @@
+package com.minisocial.config;
+
+import com.minisocial.util.Bulkhead;
+import com.minisocial.util.CircuitBreaker;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration for read/write datasource splitting.
+ * 
+ * - Write operations go to primary database (EU)
+ * - Read operations are balanced across the read replicas (US) that are healthy, otherwise primary
+ * - Reads fall back to primary while replicas lag, and for users who just wrote
+ * - Routing is automatic based on @Transactional(readOnly = true/false)
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.write")
+    public DataSourceProperties writeDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean(name = "writeDataSource")
+    public DataSource writeDataSource() {
+        return writeDataSourceProperties()
+                .initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    @Bean(name = "readDataSource")
+    public ReplicaPool readDataSource(
+            ReadReplicaProperties replicaProperties,
+            @Qualifier("writeDataSource") DataSource writeDataSource,
+            @Value("${readRouting.maxReplicaLagMs:2000}") long maxReplicaLagMs,
+            @Value("${readRouting.breakerFailureThreshold:3}") int breakerFailureThreshold,
+            @Value("${readRouting.breakerOpenMs:10000}") long breakerOpenMs) {
+
+        List<ReadReplica> replicas = new ArrayList<>();
+        List<ReadReplicaProperties.Node> nodes = replicaProperties.getRead();
+        for (int i = 0; i < nodes.size(); i++) {
+            ReadReplicaProperties.Node node = nodes.get(i);
+            String name = node.getName() != null ? node.getName() : "replica-" + (i + 1);
+
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName(name);
+            dataSource.setJdbcUrl(node.getUrl());
+            // Replicas listed only by URL (e.g. from the environment) use the primary's credentials
+            DataSourceProperties primary = writeDataSourceProperties();
+            dataSource.setUsername(node.getUsername() != null ? node.getUsername() : primary.determineUsername());
+            dataSource.setPassword(node.getPassword() != null ? node.getPassword() : primary.determinePassword());
+            dataSource.setDriverClassName(node.getDriverClassName());
+            dataSource.setMaximumPoolSize(node.getMaxPoolSize());
+            dataSource.setConnectionTimeout(node.getConnectionTimeoutMs());
+            // Don't fail startup because one replica is down; its breaker handles it
+            dataSource.setInitializationFailTimeout(-1);
+
+            replicas.add(new ReadReplica(name, dataSource,
+                    new CircuitBreaker(name, breakerFailureThreshold, breakerOpenMs)));
+        }
+        return new ReplicaPool(replicas, writeDataSource, maxReplicaLagMs);
+    }
+
+    @Bean(name = "routingDataSource")
+    public DataSource routingDataSource(
+            @Qualifier("writeDataSource") DataSource writeDataSource,
+            @Qualifier("readDataSource") ReplicaPool readDataSource,
+            ReadYourWritesTracker readYourWritesTracker) {
+        
+        RoutingDataSource routingDataSource = new RoutingDataSource(readDataSource, readYourWritesTracker);
+        
+        Map<Object, Object> dataSourceMap = new HashMap<>();
+        dataSourceMap.put("write", writeDataSource);
+        dataSourceMap.put("read", readDataSource);
+        
+        routingDataSource.setTargetDataSources(dataSourceMap);
+        routingDataSource.setDefaultTargetDataSource(writeDataSource);
+        
+        return routingDataSource;
+    }
+
+    @Primary
+    @Bean(name = "dataSource")
+    public DataSource dataSource(
+            @Qualifier("routingDataSource") DataSource routingDataSource,
+            Environment environment,
+            @Value("${concurrency.dbPermits:40}") int dbPermits,
+            @Value("${concurrency.acquireTimeoutMs:1000}") long acquireTimeoutMs) {
+        DataSource target = routingDataSource;
+        if (Threading.VIRTUAL.isActive(environment)) {
+            // Request threads no longer bound pool contention, so bound it explicitly
+            target = new BulkheadDataSource(routingDataSource, new Bulkhead("database", dbPermits, acquireTimeoutMs));
+        }
+        // LazyConnectionDataSourceProxy delays actual connection until first use
+        // This allows the routing to happen before connection is established
+        return new LazyConnectionDataSourceProxy(target);
+    }
+}
@@ -0,0 +1,19 @@
+package com.minisocial.config;
+
+import org.springframework.boot.actuate.health.Status;
+
+/**
+ * Health statuses beyond Spring Boot's defaults.
+ */
+public final class HealthStatuses {
+
+    /**
+     * A dependency is down but a fallback is serving (replica reads on the
+     * primary, feeds without Redis). Ranked between DOWN and UP and mapped to
+     * HTTP 200, so a degraded instance stays in rotation.
+     */
+    public static final Status DEGRADED = new Status("DEGRADED");
+
+    private HealthStatuses() {
+    }
+}
@@ -0,0 +1,143 @@
+package com.minisocial.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.PositiveOrZero;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-endpoint rate limit rules bound from {@code rateLimit.*}.
+ * The first rule whose method and path prefix match a request applies.
+ * Rules are validated at bind time, so a rule without a name or path prefix
+ * fails startup instead of every request it would be matched against.
+ */
+@Component
+@Validated
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Permits taken from Redis per round trip and served locally
+    private int leaseSize = 5;
+
+    // Unused leased permits are dropped after this long
+    private long leaseTtlMs = 1000;
+
+    @Valid
+    private List<Rule> rules = new ArrayList<>();
+
+    public static class Rule {
+
+        @NotBlank
+        private String name;
+        private String method;
+        @NotBlank
+        private String pathPrefix;
+        @PositiveOrZero
+        private int capacity;
+        @PositiveOrZero
+        private double refillPerSecond;
+        @PositiveOrZero
+        private int ipCapacity;
+        @PositiveOrZero
+        private double ipRefillPerSecond;
+
+        public boolean matches(String requestMethod, String path) {
+            return (method == null || method.equalsIgnoreCase(requestMethod)) && path.startsWith(pathPrefix);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public void setMethod(String method) {
+            this.method = method;
+        }
+
+        public String getPathPrefix() {
+            return pathPrefix;
+        }
+
+        public void setPathPrefix(String pathPrefix) {
+            this.pathPrefix = pathPrefix;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public double getRefillPerSecond() {
+            return refillPerSecond;
+        }
+
+        public void setRefillPerSecond(double refillPerSecond) {
+            this.refillPerSecond = refillPerSecond;
+        }
+
+        public int getIpCapacity() {
+            return ipCapacity;
+        }
+
+        public void setIpCapacity(int ipCapacity) {
+            this.ipCapacity = ipCapacity;
+        }
+
+        public double getIpRefillPerSecond() {
+            return ipRefillPerSecond;
+        }
+
+        public void setIpRefillPerSecond(double ipRefillPerSecond) {
+            this.ipRefillPerSecond = ipRefillPerSecond;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getLeaseSize() {
+        return leaseSize;
+    }
+
+    public void setLeaseSize(int leaseSize) {
+        this.leaseSize = leaseSize;
+    }
+
+    public long getLeaseTtlMs() {
+        return leaseTtlMs;
+    }
+
+    public void setLeaseTtlMs(long leaseTtlMs) {
+        this.leaseTtlMs = leaseTtlMs;
+    }
+
+    public List<Rule> getRules() {
+        return rules;
+    }
+
+    public void setRules(List<Rule> rules) {
+        this.rules = rules;
+    }
+}
@@ -0,0 +1,135 @@
+package com.minisocial.config;
+
+import com.minisocial.util.CircuitBreaker;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One read replica: its connection pool, circuit breaker, last sampled lag and
+ * lock-free usage counters.
+ */
+public final class ReadReplica {
+
+    private final String name;
+    private final HikariDataSource dataSource;
+    private final JdbcTemplate probeTemplate;
+    private final CircuitBreaker breaker;
+
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder busy = new LongAdder();
+    private final LongAdder acquireNanos = new LongAdder();
+    private final LongAdder holdNanos = new LongAdder();
+    private volatile long lagMs;
+
+    /**
+     * Point-in-time view of a replica.
+     *
+     * @param name replica name
+     * @param state circuit breaker state
+     * @param lagMs last sampled replication lag
+     * @param outstanding connections currently checked out
+     * @param acquisitions connections handed out
+     * @param failures failed acquisitions and probes
+     * @param busy acquisitions that timed out on a full pool (not counted as failures)
+     * @param avgAcquireMillis mean time to obtain a connection
+     * @param avgHoldMillis mean time a connection was held (roughly, transaction duration)
+     */
+    public record Snapshot(
+            String name,
+            CircuitBreaker.State state,
+            long lagMs,
+            int outstanding,
+            long acquisitions,
+            long failures,
+            long busy,
+            double avgAcquireMillis,
+            double avgHoldMillis
+    ) {
+    }
+
+    ReadReplica(String name, HikariDataSource dataSource, CircuitBreaker breaker) {
+        this.name = name;
+        this.dataSource = dataSource;
+        this.breaker = breaker;
+        this.probeTemplate = new JdbcTemplate(dataSource);
+        this.probeTemplate.setQueryTimeout(2);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    HikariDataSource getDataSource() {
+        return dataSource;
+    }
+
+    JdbcTemplate getProbeTemplate() {
+        return probeTemplate;
+    }
+
+    CircuitBreaker getBreaker() {
+        return breaker;
+    }
+
+    AtomicInteger getOutstanding() {
+        return outstanding;
+    }
+
+    long getAcquisitionCount() {
+        return acquisitions.sum();
+    }
+
+    long getFailureCount() {
+        return failures.sum();
+    }
+
+    long getBusyCount() {
+        return busy.sum();
+    }
+
+    public long getLagMs() {
+        return lagMs;
+    }
+
+    void setLagMs(long lagMs) {
+        this.lagMs = lagMs;
+    }
+
+    void recordAcquire(long nanos) {
+        acquisitions.increment();
+        acquireNanos.add(nanos);
+    }
+
+    void recordRelease(long heldNanos) {
+        outstanding.decrementAndGet();
+        holdNanos.add(heldNanos);
+    }
+
+    void recordBusy() {
+        busy.increment();
+    }
+
+    void recordFailure() {
+        failures.increment();
+        breaker.recordFailure();
+    }
+
+    public Snapshot snapshot() {
+        long count = acquisitions.sum();
+        return new Snapshot(
+                name,
+                breaker.getState(),
+                lagMs,
+                outstanding.get(),
+                count,
+                failures.sum(),
+                busy.sum(),
+                count == 0 ? 0 : acquireNanos.sum() / 1_000_000.0 / count,
+                count == 0 ? 0 : holdNanos.sum() / 1_000_000.0 / count);
+    }
+}
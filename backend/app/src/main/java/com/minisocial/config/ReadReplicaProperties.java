@@ -0,0 +1,100 @@
+package com.minisocial.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas bound from the {@code spring.datasource.read} list.
+ * 
+ * Spring Boot binds an indexed list from a single property source, so a list
+ * given in the environment replaces the one in application.yml rather than
+ * extending it. To configure replicas from the environment, set every entry
+ * from index 0: {@code SPRING_DATASOURCE_READ_0_URL}, {@code SPRING_DATASOURCE_READ_1_URL}, ...
+ * Unset credentials default to the primary's.
+ */
+@Component
+@ConfigurationProperties(prefix = "spring.datasource")
+public class ReadReplicaProperties {
+
+    private List<Node> read = new ArrayList<>();
+
+    public static class Node {
+
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName = "org.postgresql.Driver";
+        private int maxPoolSize = 10;
+
+        // Kept short so a hung replica fails over instead of stalling requests
+        private long connectionTimeoutMs = 1000;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public String getDriverClassName() {
+            return driverClassName;
+        }
+
+        public void setDriverClassName(String driverClassName) {
+            this.driverClassName = driverClassName;
+        }
+
+        public int getMaxPoolSize() {
+            return maxPoolSize;
+        }
+
+        public void setMaxPoolSize(int maxPoolSize) {
+            this.maxPoolSize = maxPoolSize;
+        }
+
+        public long getConnectionTimeoutMs() {
+            return connectionTimeoutMs;
+        }
+
+        public void setConnectionTimeoutMs(long connectionTimeoutMs) {
+            this.connectionTimeoutMs = connectionTimeoutMs;
+        }
+    }
+
+    public List<Node> getRead() {
+        return read;
+    }
+
+    public void setRead(List<Node> read) {
+        this.read = read;
+    }
+}
@@ -0,0 +1,45 @@
+package com.minisocial.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers when each user last committed a write on this instance, so their
+ * reads can be pinned to the primary until the replica has caught up.
+ * 
+ * The map is local and holds one long per recently active writer; entries older
+ * than the pin window are evicted periodically.
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    private final Map<Long, Long> lastWriteMillis = new ConcurrentHashMap<>();
+
+    // Minimum time a user's reads stay on the primary after their write
+    @Value("${readRouting.pinWindowMs:5000}")
+    private long pinWindowMs;
+
+    public void recordWrite(Long userId) {
+        lastWriteMillis.put(userId, System.currentTimeMillis());
+    }
+
+    /**
+     * Whether the user wrote recently enough that the replica may not have their write yet.
+     *
+     * @param replicaLagMs Last sampled replica lag, added to the pin window
+     */
+    public boolean isPinned(Long userId, long replicaLagMs) {
+        Long lastWrite = lastWriteMillis.get(userId);
+        return lastWrite != null && System.currentTimeMillis() - lastWrite < pinWindowMs + replicaLagMs;
+    }
+
+    @Scheduled(fixedDelayString = "${readRouting.pinWindowMs:5000}")
+    public void evictExpired() {
+        long cutoff = System.currentTimeMillis() - pinWindowMs * 4;
+        lastWriteMillis.values().removeIf(lastWrite -> lastWrite < cutoff);
+    }
+}
@@ -0,0 +1,197 @@
+package com.minisocial.config;
+
+import com.minisocial.util.Bulkhead;
+import com.minisocial.util.CircuitBreaker;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.resource.ClientResources;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettucePoolingClientConfiguration;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.time.Duration;
+
+/**
+ * Configuration class for Redis connectivity and operations.
+ * Configures Lettuce connection factory and RedisTemplate with
+ * appropriate serializers for feed caching.
+ */
+@Configuration
+public class RedisConfig {
+
+    @Value("${spring.data.redis.host:localhost}")
+    private String redisHost;
+
+    @Value("${spring.data.redis.port:6379}")
+    private int redisPort;
+
+    @Value("${spring.data.redis.password:}")
+    private String redisPassword;
+
+    @Value("${spring.data.redis.lettuce.pool.max-active:8}")
+    private int maxActive;
+
+    @Value("${spring.data.redis.lettuce.pool.max-idle:8}")
+    private int maxIdle;
+
+    @Value("${spring.data.redis.lettuce.pool.min-idle:2}")
+    private int minIdle;
+
+    @Value("${spring.data.redis.timeout:2000}")
+    private long timeout;
+
+    /**
+     * Creates a Lettuce connection factory with connection pooling.
+     * 
+     * @param clientResources Boot's shared Lettuce resources (carry the command latency metrics recorder)
+     * @return configured LettuceConnectionFactory
+     */
+    @Bean
+    public LettuceConnectionFactory redisConnectionFactory(ClientResources clientResources) {
+        // Configure Redis standalone connection
+        RedisStandaloneConfiguration redisConfig = new RedisStandaloneConfiguration();
+        redisConfig.setHostName(redisHost);
+        redisConfig.setPort(redisPort);
+        
+        // Set password if provided
+        if (redisPassword != null && !redisPassword.isEmpty()) {
+            redisConfig.setPassword(redisPassword);
+        }
+
+        // Configure connection pool settings
+        LettucePoolingClientConfiguration poolConfig = LettucePoolingClientConfiguration.builder()
+                .commandTimeout(Duration.ofMillis(timeout))
+                .clientResources(clientResources)
+                .poolConfig(new org.apache.commons.pool2.impl.GenericObjectPoolConfig() {{
+                    setMaxTotal(maxActive);
+                    setMaxIdle(maxIdle);
+                    setMinIdle(minIdle);
+                    // Idle validation only; a PING per borrow/return doubled round trips on hot paths
+                    setTestWhileIdle(true);
+                }})
+                .build();
+
+        return new LettuceConnectionFactory(redisConfig, poolConfig);
+    }
+
+    /**
+     * Native Lettuce client for non-blocking read paths (e.g. the feed).
+     * 
+     * @return RedisClient sharing host, credentials and timeout with the factory
+     */
+    @Bean(destroyMethod = "shutdown")
+    public RedisClient lettuceClient(ClientResources clientResources) {
+        return RedisClient.create(clientResources, redisUri());
+    }
+
+    /**
+     * One multiplexed connection shared by all async readers, opened on first
+     * use so startup does not depend on Redis being up.
+     * 
+     * @param lettuceClient the native client
+     * @return lazily connected shared String-codec connection
+     */
+    @Bean(destroyMethod = "close")
+    public SharedRedisConnection sharedRedisConnection(RedisClient lettuceClient) {
+        return new SharedRedisConnection(lettuceClient, redisUri());
+    }
+
+    private RedisURI redisUri() {
+        RedisURI.Builder uri = RedisURI.builder()
+                .withHost(redisHost)
+                .withPort(redisPort)
+                .withTimeout(Duration.ofMillis(timeout));
+        if (redisPassword != null && !redisPassword.isEmpty()) {
+            uri.withPassword(redisPassword.toCharArray());
+        }
+        return uri.build();
+    }
+
+    /**
+     * Breaker shared by every Redis client in the app (templates and the
+     * async feed connection), so they open and recover together.
+     * 
+     * @return circuit breaker for Redis
+     */
+    @Bean
+    public CircuitBreaker redisCircuitBreaker(
+            @Value("${redisFallback.breakerFailureThreshold:5}") int failureThreshold,
+            @Value("${redisFallback.breakerOpenMs:5000}") long openMs) {
+        return new CircuitBreaker("redis", failureThreshold, openMs);
+    }
+
+    /**
+     * The factory templates use: the pooled Lettuce factory behind the circuit
+     * breaker and, in virtual-thread mode, an explicit concurrency limit
+     * (thread pools no longer bound how many callers borrow at once).
+     * 
+     * @param connectionFactory the pooled Lettuce factory
+     * @return guarded factory, picked up by templates as the primary one
+     */
+    @Bean
+    @Primary
+    public RedisConnectionFactory guardedRedisConnectionFactory(
+            LettuceConnectionFactory connectionFactory,
+            CircuitBreaker redisCircuitBreaker,
+            Environment environment,
+            @Value("${concurrency.redisPermits:64}") int permits,
+            @Value("${concurrency.acquireTimeoutMs:1000}") long acquireTimeoutMs) {
+        RedisConnectionFactory guarded = new CircuitBreakerRedisConnectionFactory(connectionFactory, redisCircuitBreaker);
+        if (Threading.VIRTUAL.isActive(environment)) {
+            // Outside the breaker: with the circuit open a permit is held only for an instant
+            guarded = new BulkheadRedisConnectionFactory(guarded, new Bulkhead("redis", permits, acquireTimeoutMs));
+        }
+        return guarded;
+    }
+
+    /**
+     * Creates the listener container for Redis pub/sub channels,
+     * e.g. follow-graph change broadcasts between instances.
+     * 
+     * @param connectionFactory the Lettuce factory (subscriptions hold a connection, so no bulkhead)
+     * @return configured RedisMessageListenerContainer
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(LettuceConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
+    /**
+     * Creates a RedisTemplate with String key serializer and JSON value serializer.
+     * Used for storing and retrieving feed data from Redis.
+     * 
+     * @param connectionFactory the Redis connection factory
+     * @return configured RedisTemplate
+     */
+    @Bean
+    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
+        RedisTemplate<String, Object> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+
+        // Use String serializer for keys
+        StringRedisSerializer stringSerializer = new StringRedisSerializer();
+        template.setKeySerializer(stringSerializer);
+        template.setHashKeySerializer(stringSerializer);
+
+        // Use JSON serializer for values
+        GenericJackson2JsonRedisSerializer jsonSerializer = new GenericJackson2JsonRedisSerializer();
+        template.setValueSerializer(jsonSerializer);
+        template.setHashValueSerializer(jsonSerializer);
+
+        template.afterPropertiesSet();
+        return template;
+    }
+}
@@ -0,0 +1,46 @@
+package com.minisocial.config;
+
+import com.minisocial.service.RedisReplayBuffer;
+import com.minisocial.util.CircuitBreaker;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis health, replacing Spring Boot's indicator of the same name. Losing
+ * Redis degrades feeds and caching but the service keeps answering, so this
+ * reports DEGRADED rather than DOWN. While the circuit is open it reports
+ * without pinging, so health checks don't add load or wait on timeouts.
+ */
+@Component
+public class RedisHealthIndicator implements HealthIndicator {
+
+    private final StringRedisTemplate redisTemplate;
+    private final CircuitBreaker redisCircuitBreaker;
+    private final RedisReplayBuffer redisReplayBuffer;
+
+    public RedisHealthIndicator(StringRedisTemplate redisTemplate,
+                                CircuitBreaker redisCircuitBreaker,
+                                RedisReplayBuffer redisReplayBuffer) {
+        this.redisTemplate = redisTemplate;
+        this.redisCircuitBreaker = redisCircuitBreaker;
+        this.redisReplayBuffer = redisReplayBuffer;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder;
+        if (redisCircuitBreaker.getState() == CircuitBreaker.State.OPEN) {
+            builder = Health.status(HealthStatuses.DEGRADED).withDetail("circuit", "open");
+        } else {
+            try {
+                String pong = redisTemplate.execute(connection -> connection.ping(), true);
+                builder = "PONG".equalsIgnoreCase(pong) ? Health.up() : Health.status(HealthStatuses.DEGRADED);
+            } catch (Exception e) {
+                builder = Health.status(HealthStatuses.DEGRADED).withException(e);
+            }
+        }
+        return builder.withDetail("replayPending", redisReplayBuffer.getPending()).build();
+    }
+}
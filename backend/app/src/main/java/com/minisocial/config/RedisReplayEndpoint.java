@@ -0,0 +1,26 @@
+package com.minisocial.config;
+
+import com.minisocial.service.RedisReplayBuffer;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis circuit state and writes buffered for replay while it was unreachable,
+ * at /actuator/redisreplay on the internal management port.
+ */
+@Component
+@Endpoint(id = "redisreplay")
+public class RedisReplayEndpoint {
+
+    private final RedisReplayBuffer redisReplayBuffer;
+
+    public RedisReplayEndpoint(RedisReplayBuffer redisReplayBuffer) {
+        this.redisReplayBuffer = redisReplayBuffer;
+    }
+
+    @ReadOperation
+    public RedisReplayBuffer.Snapshot redisReplay() {
+        return redisReplayBuffer.snapshot();
+    }
+}
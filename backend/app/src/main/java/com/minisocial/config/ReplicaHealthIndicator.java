@@ -0,0 +1,32 @@
+package com.minisocial.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Read replica health. Reads fall back to the primary when no replica is
+ * usable, so an unusable replica set degrades the service rather than taking
+ * it out of rotation.
+ */
+@Component
+public class ReplicaHealthIndicator implements HealthIndicator {
+
+    private final ReplicaPool replicaPool;
+
+    public ReplicaHealthIndicator(@Qualifier("readDataSource") ReplicaPool replicaPool) {
+        this.replicaPool = replicaPool;
+    }
+
+    @Override
+    public Health health() {
+        if (replicaPool.getReplicas().isEmpty()) {
+            return Health.up().withDetail("replicas", "none configured").build();
+        }
+        Health.Builder builder = replicaPool.hasUsableReplica()
+                ? Health.up()
+                : Health.status(HealthStatuses.DEGRADED).withDetail("reads", "served by primary");
+        return builder.withDetail("replicas", replicaPool.snapshot()).build();
+    }
+}
@@ -0,0 +1,55 @@
+package com.minisocial.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Health probe for the read replicas, sampling how far each is behind the primary.
+ * 
+ * Lag is the age of the last replayed transaction, except when the replica has
+ * replayed everything it received (an idle primary would otherwise look like
+ * growing lag). A datasource that is not in recovery (e.g. read URL pointing at
+ * the primary) reports zero. Each probe result feeds the replica's circuit
+ * breaker: failures open it, and a successful probe is what closes it again.
+ */
+@Component
+public class ReplicaLagMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                     WHEN NOT pg_is_in_recovery() THEN 0
+                     WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                     ELSE COALESCE(EXTRACT(EPOCH FROM (now() - pg_last_xact_replay_timestamp())) * 1000, 0)
+                   END
+            """;
+
+    private final ReplicaPool replicaPool;
+
+    public ReplicaLagMonitor(ReplicaPool replicaPool) {
+        this.replicaPool = replicaPool;
+    }
+
+    @Scheduled(fixedDelayString = "${readRouting.lagSampleIntervalMs:1000}")
+    public void sample() {
+        for (ReadReplica replica : replicaPool.getReplicas()) {
+            boolean wasUsable = replicaPool.isUsable(replica);
+            try {
+                Number lag = replica.getProbeTemplate().queryForObject(LAG_QUERY, Number.class);
+                replica.setLagMs(lag == null ? 0 : lag.longValue());
+                replica.getBreaker().recordSuccess();
+            } catch (Exception e) {
+                replica.recordFailure();
+                logger.debug("Probe of replica {} failed: {}", replica.getName(), e.getMessage());
+            }
+            boolean usable = replicaPool.isUsable(replica);
+            if (usable != wasUsable) {
+                logger.info("Replica {} is now {} (lag {} ms, breaker {})", replica.getName(),
+                        usable ? "serving reads" : "out of rotation", replica.getLagMs(), replica.getBreaker().getState());
+            }
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.minisocial.config;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * DataSource over a set of read replicas.
+ * 
+ * Each connection request picks two usable replicas at random and takes the one
+ * with fewer connections outstanding (power of two choices), which spreads load
+ * evenly and steers away from a slow node without global coordination. A replica
+ * is usable while its circuit breaker is closed and its lag is within budget.
+ * When a replica fails to hand out a connection the request falls back to the
+ * primary. Only connection and validation errors count towards the replica's
+ * breaker: a pool timeout with no underlying error means the replica is busy,
+ * not broken, and ejecting it would only push its load onto the others. With
+ * no usable replica at all, {@link RoutingDataSource} routes straight to the primary.
+ */
+public class ReplicaPool extends AbstractDataSource implements AutoCloseable {
+
+    private final ReadReplica[] replicas;
+    private final DataSource fallback;
+    private final long maxReplicaLagMs;
+
+    public ReplicaPool(List<ReadReplica> replicas, DataSource fallback, long maxReplicaLagMs) {
+        this.replicas = replicas.toArray(new ReadReplica[0]);
+        this.fallback = fallback;
+        this.maxReplicaLagMs = maxReplicaLagMs;
+    }
+
+    public List<ReadReplica> getReplicas() {
+        return List.of(replicas);
+    }
+
+    public boolean hasUsableReplica() {
+        for (ReadReplica replica : replicas) {
+            if (isUsable(replica)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Highest lag among usable replicas, used to size read-your-writes pinning.
+     */
+    public long maxUsableLagMs() {
+        long max = 0;
+        for (ReadReplica replica : replicas) {
+            if (isUsable(replica)) {
+                max = Math.max(max, replica.getLagMs());
+            }
+        }
+        return max;
+    }
+
+    public List<ReadReplica.Snapshot> snapshot() {
+        return Arrays.stream(replicas).map(ReadReplica::snapshot).toList();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        ReadReplica replica = pick();
+        if (replica == null) {
+            return fallback.getConnection();
+        }
+        replica.getOutstanding().incrementAndGet();
+        long start = System.nanoTime();
+        Connection connection;
+        try {
+            connection = replica.getDataSource().getConnection();
+        } catch (SQLException e) {
+            replica.getOutstanding().decrementAndGet();
+            if (isPoolExhausted(e)) {
+                replica.recordBusy();
+                logger.debug("Replica " + replica.getName() + " pool exhausted, reading from primary");
+            } else {
+                replica.recordFailure();
+                logger.warn("Replica " + replica.getName() + " unavailable, reading from primary: " + e.getMessage());
+            }
+            return fallback.getConnection();
+        }
+        long acquired = System.nanoTime();
+        replica.recordAcquire(acquired - start);
+        return track(connection, replica, acquired);
+    }
+
+    @Override
+    public void close() {
+        for (ReadReplica replica : replicas) {
+            replica.getDataSource().close();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replica credentials are configured per node");
+    }
+
+    // Hikari reports an acquire timeout with the last connection error as its cause, if any
+    private static boolean isPoolExhausted(SQLException e) {
+        return e instanceof SQLTransientConnectionException && e.getCause() == null;
+    }
+
+    boolean isUsable(ReadReplica replica) {
+        return replica.getBreaker().isClosed() && replica.getLagMs() <= maxReplicaLagMs;
+    }
+
+    // Power of two choices over usable replicas, without allocating
+    private ReadReplica pick() {
+        int usable = 0;
+        for (ReadReplica replica : replicas) {
+            if (isUsable(replica)) {
+                usable++;
+            }
+        }
+        if (usable == 0) {
+            return null;
+        }
+        if (usable == 1) {
+            return nthUsable(0);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(usable);
+        int second = random.nextInt(usable - 1);
+        if (second >= first) {
+            second++;
+        }
+        ReadReplica a = nthUsable(first);
+        ReadReplica b = nthUsable(second);
+        if (a == null || b == null) {
+            return a != null ? a : b; // a breaker opened mid-pick
+        }
+        return a.getOutstanding().get() <= b.getOutstanding().get() ? a : b;
+    }
+
+    private ReadReplica nthUsable(int n) {
+        for (ReadReplica replica : replicas) {
+            if (isUsable(replica) && n-- == 0) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    // Wraps the connection so closing it releases the replica's outstanding slot exactly once
+    private static Connection track(Connection connection, ReadReplica replica, long acquiredAt) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            break;
+                    }
+                    if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                        replica.recordRelease(System.nanoTime() - acquiredAt);
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
@@ -0,0 +1,28 @@
+package com.minisocial.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Per-replica routing state, lag, latency and error counters, at
+ * /actuator/replicas on the internal management port.
+ */
+@Component
+@Endpoint(id = "replicas")
+public class ReplicasEndpoint {
+
+    private final ReplicaPool replicaPool;
+
+    public ReplicasEndpoint(@Qualifier("readDataSource") ReplicaPool replicaPool) {
+        this.replicaPool = replicaPool;
+    }
+
+    @ReadOperation
+    public List<ReadReplica.Snapshot> replicas() {
+        return replicaPool.snapshot();
+    }
+}
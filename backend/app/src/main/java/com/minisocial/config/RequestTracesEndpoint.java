@@ -0,0 +1,28 @@
+package com.minisocial.config;
+
+import com.minisocial.util.RequestTracer;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recent slow and sampled requests with their span breakdown, newest first,
+ * at /actuator/traces. Captured traces include routes, timings and SQL span
+ * names, so they are served on the internal management port only, never on
+ * the public API.
+ */
+@Component
+@Endpoint(id = "traces")
+public class RequestTracesEndpoint {
+
+    private final RequestTracer requestTracer;
+
+    public RequestTracesEndpoint(RequestTracer requestTracer) {
+        this.requestTracer = requestTracer;
+    }
+
+    @ReadOperation
+    public RequestTracer.Snapshot traces() {
+        return requestTracer.snapshot();
+    }
+}
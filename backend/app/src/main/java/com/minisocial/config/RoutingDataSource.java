@@ -0,0 +1,91 @@
+package com.minisocial.config;
+
+import com.minisocial.security.AuthUser;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Routes database connections based on transaction type.
+ * 
+ * - Read-only transactions (@Transactional(readOnly = true)) → read datasource (replica pool)
+ * - Write transactions (@Transactional or @Transactional(readOnly = false)) → write datasource (primary)
+ * 
+ * Read-only transactions still go to the primary when no replica is within its
+ * lag budget with a closed circuit, and for a user who committed a write
+ * moments ago, so nobody reads a replica that hasn't seen their own write yet.
+ * 
+ * This provides automatic routing without code changes in services.
+ */
+public class RoutingDataSource extends AbstractRoutingDataSource {
+
+    /** Where a connection request was routed and why. */
+    public enum Route { WRITE, REPLICA, PRIMARY_NO_REPLICA, PRIMARY_PINNED }
+
+    private final ReplicaPool replicaPool;
+    private final ReadYourWritesTracker writesTracker;
+    private final LongAdder[] routed = new LongAdder[Route.values().length];
+
+    public RoutingDataSource(ReplicaPool replicaPool, ReadYourWritesTracker writesTracker) {
+        this.replicaPool = replicaPool;
+        this.writesTracker = writesTracker;
+        for (int i = 0; i < routed.length; i++) {
+            routed[i] = new LongAdder();
+        }
+    }
+
+    public long getRouteCount(Route route) {
+        return routed[route.ordinal()].sum();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        // Check if current transaction is read-only
+        boolean isReadOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        Long userId = currentUserId();
+
+        Route route;
+        if (!isReadOnly) {
+            route = Route.WRITE;
+            trackWrite(userId);
+        } else if (!replicaPool.hasUsableReplica()) {
+            route = Route.PRIMARY_NO_REPLICA;
+        } else if (userId != null && writesTracker.isPinned(userId, replicaPool.maxUsableLagMs())) {
+            route = Route.PRIMARY_PINNED;
+        } else {
+            route = Route.REPLICA;
+        }
+        routed[route.ordinal()].increment();
+        String dataSourceKey = route == Route.REPLICA ? "read" : "write";
+
+        // Log routing decision (can be removed in production)
+        logger.debug("Routing to " + dataSourceKey + " datasource (readOnly=" + isReadOnly + ")");
+
+        return dataSourceKey;
+    }
+
+    // Pin the user's reads once their read-write transaction actually commits
+    private void trackWrite(Long userId) {
+        if (userId == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                writesTracker.recordWrite(userId);
+            }
+        });
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthUser user) {
+            return user.id();
+        }
+        return null;
+    }
+}
@@ -1,6 +1,14 @@
 package com.minisocial.config;
 
+import com.minisocial.security.ConcurrencyLimitFilter;
 import com.minisocial.security.JwtAuthenticationFilter;
+import com.minisocial.security.RateLimitFilter;
+import com.minisocial.security.RequestTracingFilter;
+import com.minisocial.service.ConcurrencyLimits;
+import com.minisocial.service.RateLimiter;
+import com.minisocial.util.RequestTracer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -13,9 +21,11 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.session.DisableEncodeUrlFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import org.springframework.web.servlet.HandlerExceptionResolver;
 
 import java.util.Arrays;
 import java.util.List;
@@ -25,9 +35,21 @@ import java.util.List;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimiter rateLimiter;
+    private final ConcurrencyLimits concurrencyLimits;
+    private final RequestTracer requestTracer;
+    private final HandlerExceptionResolver exceptionResolver;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter,
+                          RateLimiter rateLimiter,
+                          ConcurrencyLimits concurrencyLimits,
+                          RequestTracer requestTracer,
+                          @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimits = concurrencyLimits;
+        this.requestTracer = requestTracer;
+        this.exceptionResolver = exceptionResolver;
     }
 
     @Bean
@@ -50,21 +72,28 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/auth/register", "/auth/login").permitAll()
+                        .requestMatchers("/auth/register", "/auth/login", "/auth/refresh").permitAll()
                         .requestMatchers("/health").permitAll()
+                        // Only served on the internal management port (management.server.port)
+                        .requestMatchers("/actuator/health/**", "/actuator/prometheus", "/actuator/traces",
+                                "/actuator/replicas", "/actuator/coalescing", "/actuator/limits",
+                                "/actuator/redisreplay").permitAll()
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(new RequestTracingFilter(requestTracer), DisableEncodeUrlFilter.class)
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(new RateLimitFilter(rateLimiter, exceptionResolver), JwtAuthenticationFilter.class)
+                .addFilterAfter(new ConcurrencyLimitFilter(concurrencyLimits, exceptionResolver), RateLimitFilter.class);
 
         return http.build();
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${passwordHashing.cost:10}") int cost) {
+        return new BCryptPasswordEncoder(cost);
     }
 
     @Bean
@@ -0,0 +1,65 @@
+package com.minisocial.config;
+
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import io.lettuce.core.codec.StringCodec;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * One multiplexed Lettuce connection shared by all async readers. Lettuce
+ * pipelines commands from concurrent callers over it, so no pool and no
+ * borrow cost.
+ *
+ * The connection is opened on first use, not at startup, so the app starts
+ * and serves from the database while Redis is down. Callers check the Redis
+ * circuit breaker before asking for it, so connect attempts are throttled the
+ * same way commands are. A failed connect is retried by the next caller; once
+ * established, Lettuce reconnects on its own.
+ */
+public class SharedRedisConnection implements AutoCloseable {
+
+    private final RedisClient client;
+    private final RedisURI uri;
+    private volatile CompletableFuture<StatefulRedisConnection<String, String>> connection;
+    private volatile boolean closed;
+
+    public SharedRedisConnection(RedisClient client, RedisURI uri) {
+        this.client = client;
+        this.uri = uri;
+    }
+
+    /**
+     * Async commands on the shared connection, connecting first if needed.
+     * Fails with the connect error (a RedisConnectionException) if Redis is unreachable.
+     */
+    public CompletableFuture<RedisAsyncCommands<String, String>> async() {
+        return connection().thenApply(StatefulRedisConnection::async);
+    }
+
+    private CompletableFuture<StatefulRedisConnection<String, String>> connection() {
+        CompletableFuture<StatefulRedisConnection<String, String>> current = connection;
+        if (current != null && !current.isCompletedExceptionally()) {
+            return current;
+        }
+        synchronized (this) {
+            if (closed) {
+                return CompletableFuture.failedFuture(new IllegalStateException("Shared Redis connection is closed"));
+            }
+            if (connection == null || connection.isCompletedExceptionally()) {
+                connection = client.connectAsync(StringCodec.UTF8, uri).toCompletableFuture();
+            }
+            return connection;
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (connection != null) {
+            connection.thenAccept(StatefulRedisConnection::close);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.minisocial.config;
+
+import com.amazonaws.auth.AWSStaticCredentialsProvider;
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.client.builder.AwsClientBuilder;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.minisocial.storage.BlobStore;
+import com.minisocial.storage.InMemoryBlobStore;
+import com.minisocial.storage.LocalFileBlobStore;
+import com.minisocial.storage.S3BlobStore;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.nio.file.Path;
+import java.util.concurrent.Executor;
+
+/**
+ * Selects the {@link BlobStore} backend via {@code storage.backend}:
+ * 
+ * - s3 (default): Backblaze B2 through the S3-compatible API
+ * - local: filesystem directory, for development
+ * - memory: in-process fake, for tests and offline load testing
+ */
+@Configuration
+public class StorageConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "storage.backend", havingValue = "s3", matchIfMissing = true)
+    public AmazonS3 s3Client(
+            @Value("${b2.endpoint}") String endpoint,
+            @Value("${b2.accessKeyId}") String accessKeyId,
+            @Value("${b2.secretAccessKey}") String secretAccessKey) {
+        // Configure AWS S3 client for Backblaze B2
+        BasicAWSCredentials credentials = new BasicAWSCredentials(accessKeyId, secretAccessKey);
+
+        return AmazonS3ClientBuilder.standard()
+                .withEndpointConfiguration(
+                        new AwsClientBuilder.EndpointConfiguration(endpoint, "us-east-1"))
+                .withCredentials(new AWSStaticCredentialsProvider(credentials))
+                .withPathStyleAccessEnabled(true)
+                .build();
+    }
+
+    /**
+     * Dedicated pool for S3 transfers so blocking SDK calls never occupy
+     * request threads or the shared async executor.
+     */
+    @Bean(name = "storageExecutor")
+    @ConditionalOnProperty(name = "storage.backend", havingValue = "s3", matchIfMissing = true)
+    public Executor storageExecutor(@Value("${storage.uploadThreads:8}") int uploadThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(uploadThreads);
+        executor.setMaxPoolSize(uploadThreads);
+        executor.setThreadNamePrefix("storage-");
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "storage.backend", havingValue = "s3", matchIfMissing = true)
+    public BlobStore s3BlobStore(
+            AmazonS3 s3Client,
+            @Qualifier("storageExecutor") Executor storageExecutor,
+            @Value("${b2.endpoint}") String endpoint,
+            @Value("${b2.bucketName}") String bucketName,
+            @Value("${storage.multipartThreshold:16777216}") long multipartThreshold,
+            @Value("${storage.partSize:8388608}") int partSize) {
+        return new S3BlobStore(s3Client, storageExecutor, endpoint, bucketName, multipartThreshold, partSize);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "storage.backend", havingValue = "local")
+    public BlobStore localFileBlobStore(
+            @Value("${storage.local.root:./data/blobs}") String root,
+            @Value("${storage.local.baseUrl:http://localhost:5000/files}") String baseUrl) {
+        return new LocalFileBlobStore(Path.of(root), baseUrl);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "storage.backend", havingValue = "memory")
+    public BlobStore inMemoryBlobStore() {
+        return new InMemoryBlobStore();
+    }
+}
@@ -0,0 +1,174 @@
+package com.minisocial.config;
+
+import com.minisocial.util.RequestTrace;
+import com.minisocial.util.RequestTracer;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.lang.NonNull;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Request tracing: the tracer itself and the spans that need framework hooks
+ * (controller handlers, JSON serialization, repository calls). The trace is
+ * opened by {@link com.minisocial.security.RequestTracingFilter}; services,
+ * Redis and storage open their own spans.
+ *
+ * Every hook checks for a bound trace first and does nothing otherwise.
+ */
+@Configuration
+public class TracingConfig implements WebMvcConfigurer {
+
+    private static final String HANDLER_SPAN_ATTRIBUTE = TracingConfig.class.getName() + ".handlerSpan";
+
+    /**
+     * @return tracer keeping slow and sampled requests with their span breakdown
+     */
+    @Bean
+    public RequestTracer requestTracer(
+            @Value("${tracing.enabled:true}") boolean enabled,
+            @Value("${tracing.slowThresholdMs:500}") long slowThresholdMs,
+            @Value("${tracing.sampleRate:0.001}") double sampleRate,
+            @Value("${tracing.capacity:200}") int capacity,
+            @Value("${tracing.poolSize:256}") int poolSize,
+            @Value("${tracing.maxSpans:64}") int maxSpans) {
+        return new RequestTracer(enabled, slowThresholdMs, sampleRate, capacity, poolSize, maxSpans);
+    }
+
+    /**
+     * Adds a span around every Spring Data repository method, named after the
+     * repository interface and method. Covers the SQL and entity mapping.
+     */
+    @Bean
+    public static BeanPostProcessor repositoryTracing() {
+        Map<Method, String> spanNames = new ConcurrentHashMap<>();
+        MethodInterceptor interceptor = invocation -> {
+            RequestTrace trace = RequestTrace.current();
+            if (trace == null) {
+                return invocation.proceed();
+            }
+            Method method = invocation.getMethod();
+            long span = trace.enter(spanNames.computeIfAbsent(method,
+                    m -> m.getDeclaringClass().getSimpleName() + "." + m.getName()));
+            try {
+                return invocation.proceed();
+            } finally {
+                trace.exit(span);
+            }
+        };
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(@NonNull Object bean, @NonNull String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(interceptor)));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerSpans());
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i) instanceof MappingJackson2HttpMessageConverter jackson) {
+                converters.set(i, new TracingJsonConverter(jackson));
+            }
+        }
+    }
+
+    /**
+     * Names the trace after the matched route and opens a span per handler
+     * invocation (named Controller.method). Async handlers get a second span
+     * on the dispatch that writes their result.
+     */
+    private static final class HandlerSpans implements AsyncHandlerInterceptor {
+
+        private final Map<Method, String> spanNames = new ConcurrentHashMap<>();
+
+        @Override
+        public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                 @NonNull Object handler) {
+            RequestTrace trace = RequestTrace.current();
+            if (trace == null || !(handler instanceof HandlerMethod handlerMethod)) {
+                return true;
+            }
+            if (request.getDispatcherType() == DispatcherType.REQUEST
+                    && request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE) instanceof String route) {
+                trace.setRoute(route);
+            }
+            String name = spanNames.computeIfAbsent(handlerMethod.getMethod(),
+                    m -> m.getDeclaringClass().getSimpleName() + "." + m.getName());
+            request.setAttribute(HANDLER_SPAN_ATTRIBUTE, trace.enter(name));
+            return true;
+        }
+
+        @Override
+        public void afterConcurrentHandlingStarted(@NonNull HttpServletRequest request,
+                                                   @NonNull HttpServletResponse response,
+                                                   @NonNull Object handler) {
+            endSpan(request);
+        }
+
+        @Override
+        public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull Object handler, Exception ex) {
+            endSpan(request);
+        }
+
+        private static void endSpan(HttpServletRequest request) {
+            if (request.getAttribute(HANDLER_SPAN_ATTRIBUTE) instanceof Long span) {
+                request.removeAttribute(HANDLER_SPAN_ATTRIBUTE);
+                RequestTrace.end(span);
+            }
+        }
+    }
+
+    /**
+     * Jackson converter with a span around response serialization.
+     */
+    private static final class TracingJsonConverter extends MappingJackson2HttpMessageConverter {
+
+        TracingJsonConverter(MappingJackson2HttpMessageConverter delegate) {
+            super(delegate.getObjectMapper());
+            setSupportedMediaTypes(delegate.getSupportedMediaTypes());
+        }
+
+        @Override
+        protected void writeInternal(@NonNull Object object, Type type, @NonNull HttpOutputMessage outputMessage)
+                throws IOException, HttpMessageNotWritableException {
+            long span = RequestTrace.start("json.write");
+            try {
+                super.writeInternal(object, type, outputMessage);
+            } finally {
+                RequestTrace.end(span);
+            }
+        }
+    }
+}
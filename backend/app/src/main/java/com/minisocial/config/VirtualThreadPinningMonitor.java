@@ -0,0 +1,108 @@
+package com.minisocial.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reports virtual threads pinned to their carrier (blocking inside synchronized
+ * blocks or native frames, e.g. in JDBC or client drivers).
+ * 
+ * Streams the JDK's own jdk.VirtualThreadPinned JFR events in-process, logs the
+ * first occurrence of each pinning site with its stack, and logs per-site counts
+ * periodically so hot spots show up without attaching a profiler.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final int STACK_DEPTH = 8;
+
+    private final Map<String, LongAdder> pinnedBySite = new ConcurrentHashMap<>();
+    private RecordingStream stream;
+
+    // Pinned intervals shorter than this are not reported
+    @Value("${virtualThreads.pinnedThresholdMs:20}")
+    private long pinnedThresholdMs;
+
+    @PostConstruct
+    void start() {
+        try {
+            stream = new RecordingStream();
+            stream.enable("jdk.VirtualThreadPinned")
+                    .withThreshold(Duration.ofMillis(pinnedThresholdMs))
+                    .withStackTrace();
+            stream.onEvent("jdk.VirtualThreadPinned", this::onPinned);
+            stream.startAsync();
+            logger.info("Virtual thread pinning monitor started (threshold {} ms)", pinnedThresholdMs);
+        } catch (Exception e) {
+            logger.warn("Virtual thread pinning monitor unavailable: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        String stack = describe(event.getStackTrace());
+        // Attribute to the first application or library frame rather than the JDK lock/park frames
+        String site = stack.lines()
+                .filter(line -> !line.startsWith("  at java.") && !line.startsWith("  at jdk.") && !line.startsWith("  at sun."))
+                .findFirst()
+                .orElse(stack.lines().findFirst().orElse("unknown"))
+                .trim();
+        LongAdder count = pinnedBySite.computeIfAbsent(site, key -> {
+            logger.warn("Virtual thread pinned for {} ms at:\n{}", event.getDuration().toMillis(), stack);
+            return new LongAdder();
+        });
+        count.increment();
+    }
+
+    @Scheduled(fixedDelayString = "${virtualThreads.reportIntervalMs:60000}")
+    public void report() {
+        pinnedBySite.forEach((site, count) -> {
+            long pinned = count.sumThenReset();
+            if (pinned > 0) {
+                logger.warn("Virtual thread pinned {} times in the last interval at {}", pinned, site);
+            }
+        });
+    }
+
+    private static String describe(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "";
+        }
+        StringBuilder builder = new StringBuilder();
+        int depth = 0;
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (depth++ == STACK_DEPTH) {
+                break;
+            }
+            builder.append("  at ")
+                    .append(frame.getMethod().getType().getName()).append('.')
+                    .append(frame.getMethod().getName())
+                    .append(':').append(frame.getLineNumber()).append('\n');
+        }
+        return builder.toString();
+    }
+}
@@ -2,12 +2,15 @@ package com.minisocial.controller;
 
 import com.minisocial.dto.LoginRequest;
 import com.minisocial.dto.LoginResponse;
+import com.minisocial.dto.RefreshRequest;
 import com.minisocial.dto.RegisterRequest;
 import com.minisocial.dto.RegisterResponse;
+import com.minisocial.security.AuthUser;
 import com.minisocial.service.AuthService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -34,4 +37,18 @@ public class AuthController {
         LoginResponse response = authService.login(request);
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<LoginResponse> refresh(@Valid @RequestBody RefreshRequest request) {
+        LoginResponse response = authService.refresh(request);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(
+            @RequestBody(required = false) RefreshRequest request,
+            @AuthenticationPrincipal AuthUser user) {
+        authService.logout(user, request);
+        return ResponseEntity.noContent().build();
+    }
 }
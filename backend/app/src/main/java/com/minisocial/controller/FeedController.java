@@ -0,0 +1,72 @@
+package com.minisocial.controller;
+
+import com.minisocial.dto.FeedResponse;
+import com.minisocial.security.AuthUser;
+import com.minisocial.service.FeedService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * REST controller for feed-related operations.
+ */
+@RestController
+@RequestMapping("/feed")
+public class FeedController {
+
+    private static final Logger logger = LoggerFactory.getLogger(FeedController.class);
+
+    private final FeedService feedService;
+
+    public FeedController(FeedService feedService) {
+        this.feedService = feedService;
+    }
+
+    /**
+     * Retrieves the personalized feed for the authenticated user.
+     * Served from the Redis feed cache without holding the request thread;
+     * cached pages carry a weak ETag so unchanged pages answer 304. The ETag
+     * covers the feed version and the page's items, since post bodies (e.g. a
+     * processed image URL) change without a feed rebuild.
+     * 
+     * @param page The page number (default: 0)
+     * @param size The page size (default: 20)
+     * @param ifNoneMatch ETag from a previous response, if any
+     * @return FeedResponse with HTTP 200 status, or 304 when unchanged
+     */
+    @GetMapping
+    public CompletableFuture<ResponseEntity<FeedResponse>> getFeed(
+            @RequestParam(defaultValue = "0") Integer page,
+            @RequestParam(defaultValue = "20") Integer size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @AuthenticationPrincipal AuthUser user) {
+
+        logger.info("Received feed request for page: {}, size: {}", page, size);
+
+        // Retrieve the feed
+        return feedService.getFeedAsync(user.id(), page, size).thenApply(feedPage -> {
+            FeedResponse response = feedPage.response();
+            logger.info("Feed retrieved successfully for user: {}, items: {}", user.id(), response.items().size());
+
+            if (feedPage.version() == null) {
+                return ResponseEntity.ok(response);
+            }
+            String etag = "W/\"" + feedPage.version() + "-" + response.page() + "-" + response.size()
+                    + "-" + Integer.toHexString(response.items().hashCode()) + "\"";
+            if (etag.equals(ifNoneMatch)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).<FeedResponse>build();
+            }
+            return ResponseEntity.ok().eTag(etag).body(response);
+        });
+    }
+}
@@ -0,0 +1,113 @@
+package com.minisocial.controller;
+
+import com.minisocial.dto.BatchFollowRequest;
+import com.minisocial.dto.BatchFollowResponse;
+import com.minisocial.dto.BatchUnfollowRequest;
+import com.minisocial.dto.BatchUnfollowResponse;
+import com.minisocial.dto.FollowRequest;
+import com.minisocial.dto.FollowResponse;
+import com.minisocial.dto.SuggestionsResponse;
+import com.minisocial.security.AuthUser;
+import com.minisocial.service.FollowService;
+import com.minisocial.service.SuggestionService;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for follow-related operations.
+ */
+@RestController
+@RequestMapping("/follow")
+public class FollowController {
+
+    private static final Logger logger = LoggerFactory.getLogger(FollowController.class);
+
+    private final FollowService followService;
+    private final SuggestionService suggestionService;
+
+    public FollowController(FollowService followService, SuggestionService suggestionService) {
+        this.followService = followService;
+        this.suggestionService = suggestionService;
+    }
+
+    /**
+     * Creates a follow relationship for the authenticated user.
+     *
+     * @param request The follow request containing target user ID
+     * @return FollowResponse with HTTP 201 status
+     */
+    @PostMapping
+    public ResponseEntity<FollowResponse> followUser(
+            @Valid @RequestBody FollowRequest request,
+            @AuthenticationPrincipal AuthUser follower) {
+
+        logger.info("Follow: {} -> {}", follower.id(), request.targetUserId());
+
+        FollowResponse response = followService.followUser(follower.id(), request.targetUserId());
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    /**
+     * Follows many users at once, e.g. onboarding suggestions.
+     *
+     * @param request The batch request containing target user IDs
+     * @return BatchFollowResponse with HTTP 200 status
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchFollowResponse> followUsers(
+            @Valid @RequestBody BatchFollowRequest request,
+            @AuthenticationPrincipal AuthUser follower) {
+
+        logger.info("Batch follow: {} -> {} users", follower.id(), request.targetUserIds().size());
+
+        BatchFollowResponse response = followService.followUsers(follower.id(), request.targetUserIds());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Unfollows many users at once.
+     *
+     * @param request The batch request containing target user IDs
+     * @return BatchUnfollowResponse with HTTP 200 status
+     */
+    @PostMapping("/batch/unfollow")
+    public ResponseEntity<BatchUnfollowResponse> unfollowUsers(
+            @Valid @RequestBody BatchUnfollowRequest request,
+            @AuthenticationPrincipal AuthUser follower) {
+
+        logger.info("Batch unfollow: {} -> {} users", follower.id(), request.targetUserIds().size());
+
+        BatchUnfollowResponse response = followService.unfollowUsers(follower.id(), request.targetUserIds());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Suggests users to follow, ranked by how many of the user's followees follow them.
+     *
+     * @param limit Maximum number of suggestions (default: 20, max: 50)
+     * @return SuggestionsResponse with HTTP 200 status
+     */
+    @GetMapping("/suggestions")
+    public ResponseEntity<SuggestionsResponse> getSuggestions(
+            @RequestParam(defaultValue = "20") Integer limit,
+            @AuthenticationPrincipal AuthUser user) {
+
+        return ResponseEntity.ok(suggestionService.getSuggestions(user.id(), limit));
+    }
+
+    @DeleteMapping("/{targetUserId}")
+    public ResponseEntity<Void> unfollowUser(
+            @PathVariable Long targetUserId,
+            @AuthenticationPrincipal AuthUser follower) {
+
+        logger.info("Unfollow: {} -> {}", follower.id(), targetUserId);
+
+        followService.unfollowUser(follower.id(), targetUserId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,38 @@
+package com.minisocial.controller;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthComponent;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class HealthController {
+
+    private final HealthEndpoint healthEndpoint;
+
+    public HealthController(HealthEndpoint healthEndpoint) {
+        this.healthEndpoint = healthEndpoint;
+    }
+
+    /**
+     * Readiness: 503 when the primary database is unreachable. A lost replica or
+     * Redis reports DEGRADED with 200, since fallbacks keep the service answering.
+     * Public, so only the status is returned; component details are on the
+     * management port at /actuator/health/readiness.
+     */
+    @GetMapping("/health")
+    public ResponseEntity<HealthComponent> health() {
+        HealthComponent readiness = healthEndpoint.healthForPath("readiness");
+        if (readiness == null) {
+            readiness = healthEndpoint.health();
+        }
+        Status status = readiness.getStatus();
+        boolean ready = !Status.DOWN.equals(status) && !Status.OUT_OF_SERVICE.equals(status);
+        return ResponseEntity.status(ready ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE)
+                .body(Health.status(status).build());
+    }
+}
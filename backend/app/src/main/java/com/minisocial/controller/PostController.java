@@ -10,11 +10,15 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * REST controller for post-related operations.
  */
@@ -32,18 +36,33 @@ public class PostController {
 
     /**
      * Creates a new post for the authenticated user.
+     * An attached image is uploaded without holding the request thread.
      * 
      * @param request The post creation request
      * @return CreatePostResponse with HTTP 201 status
      */
     @PostMapping
-    public ResponseEntity<CreatePostResponse> createPost(
+    public CompletableFuture<ResponseEntity<CreatePostResponse>> createPost(
             @Valid @RequestBody CreatePostRequest request,
             @AuthenticationPrincipal AuthUser user) {
 
         logger.info("Received post creation request");
 
-        CreatePostResponse response = postService.createPost(request, user.id());
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        return postService.createPost(request, user.id())
+                .thenApply(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
+    }
+
+    /**
+     * Deletes one of the authenticated user's posts.
+     * 
+     * @param id The ID of the post
+     * @return HTTP 204 on success
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deletePost(@PathVariable Long id, @AuthenticationPrincipal AuthUser user) {
+        logger.info("Received post deletion request for post ID: {}", id);
+
+        postService.deletePost(id, user.id());
+        return ResponseEntity.noContent().build();
     }
 }
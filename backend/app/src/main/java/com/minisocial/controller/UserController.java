@@ -0,0 +1,67 @@
+package com.minisocial.controller;
+
+import com.minisocial.dto.FollowCountsResponse;
+import com.minisocial.dto.FollowListResponse;
+import com.minisocial.service.FollowListService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for user-related read operations.
+ */
+@RestController
+@RequestMapping("/users")
+public class UserController {
+
+    private final FollowListService followListService;
+
+    public UserController(FollowListService followListService) {
+        this.followListService = followListService;
+    }
+
+    /**
+     * Returns the given user's follower and following counts.
+     *
+     * @return FollowCountsResponse with HTTP 200 status
+     */
+    @GetMapping("/{id}/counts")
+    public ResponseEntity<FollowCountsResponse> getCounts(@PathVariable Long id) {
+        return ResponseEntity.ok(followListService.getCounts(id));
+    }
+
+    /**
+     * Lists the users following the given user, newest first.
+     *
+     * @param cursor Cursor from the previous page (omit for the first page)
+     * @param size The page size (default: 20, max: 100)
+     * @return FollowListResponse with HTTP 200 status
+     */
+    @GetMapping("/{id}/followers")
+    public ResponseEntity<FollowListResponse> getFollowers(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") Integer size) {
+
+        return ResponseEntity.ok(followListService.getFollowers(id, cursor, size));
+    }
+
+    /**
+     * Lists the users the given user follows, most recently followed first.
+     *
+     * @param cursor Cursor from the previous page (omit for the first page)
+     * @param size The page size (default: 20, max: 100)
+     * @return FollowListResponse with HTTP 200 status
+     */
+    @GetMapping("/{id}/following")
+    public ResponseEntity<FollowListResponse> getFollowing(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") Integer size) {
+
+        return ResponseEntity.ok(followListService.getFollowing(id, cursor, size));
+    }
+}
@@ -0,0 +1,11 @@
+package com.minisocial.dto;
+
+import java.util.List;
+
+public record BatchFollowResponse(
+        Long followerId,
+        List<Long> followed,
+        List<Long> alreadyFollowing,
+        List<Long> notFound
+) {
+}
@@ -0,0 +1,15 @@
+package com.minisocial.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BatchUnfollowRequest(
+        @NotEmpty(message = "Target user IDs are required")
+        @Size(max = 100, message = "At most 100 users can be unfollowed at once")
+        List<@NotNull @Positive(message = "Target user ID must be positive") Long> targetUserIds
+) {
+}
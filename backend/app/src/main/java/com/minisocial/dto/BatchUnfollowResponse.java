@@ -0,0 +1,10 @@
+package com.minisocial.dto;
+
+import java.util.List;
+
+public record BatchUnfollowResponse(
+        Long followerId,
+        List<Long> unfollowed,
+        List<Long> notFollowing
+) {
+}
@@ -0,0 +1,23 @@
+package com.minisocial.dto;
+
+import com.minisocial.model.Post;
+
+import java.time.Instant;
+
+public record FeedItem(
+    Long postId,
+    Long authorId,
+    String content,
+    String imageUrl,
+    Instant createdAt
+) {
+    public static FeedItem from(Post post) {
+        return new FeedItem(
+                post.getId(),
+                post.getAuthor().getId(),
+                post.getContent(),
+                post.getImageUrl(),
+                post.getCreatedAt()
+        );
+    }
+}
@@ -0,0 +1,8 @@
+package com.minisocial.dto;
+
+public record FollowCountsResponse(
+        Long userId,
+        long followers,
+        long following
+) {
+}
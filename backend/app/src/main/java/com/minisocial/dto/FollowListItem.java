@@ -0,0 +1,9 @@
+package com.minisocial.dto;
+
+import java.time.Instant;
+
+public record FollowListItem(
+        Long userId,
+        Instant followedAt
+) {
+}
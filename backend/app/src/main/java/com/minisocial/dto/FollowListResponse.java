@@ -0,0 +1,9 @@
+package com.minisocial.dto;
+
+import java.util.List;
+
+public record FollowListResponse(
+        List<FollowListItem> items,
+        String nextCursor
+) {
+}
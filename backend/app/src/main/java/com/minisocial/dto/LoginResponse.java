@@ -2,6 +2,8 @@ package com.minisocial.dto;
 
 public record LoginResponse(
         String token,
+        String refreshToken,
+        long expiresInSeconds,
         Long userId,
         String email
 ) {
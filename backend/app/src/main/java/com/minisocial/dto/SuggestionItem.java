@@ -0,0 +1,7 @@
+package com.minisocial.dto;
+
+public record SuggestionItem(
+        Long userId,
+        Integer mutualCount
+) {
+}
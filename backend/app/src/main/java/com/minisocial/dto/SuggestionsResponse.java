@@ -0,0 +1,8 @@
+package com.minisocial.dto;
+
+import java.util.List;
+
+public record SuggestionsResponse(
+        List<SuggestionItem> suggestions
+) {
+}
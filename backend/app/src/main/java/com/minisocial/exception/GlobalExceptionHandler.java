@@ -3,6 +3,7 @@ package com.minisocial.exception;
 import com.minisocial.dto.ErrorResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -67,18 +68,29 @@ public class GlobalExceptionHandler {
             ex.getMessage(),
             Instant.now()
         );
-        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(errorResponse);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS);
+        if (ex.getRetryAfterSeconds() > 0) {
+            builder.header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+        }
+        return builder.body(errorResponse);
     }
 
     @ExceptionHandler(ServiceUnavailableException.class)
     public ResponseEntity<ErrorResponse> handleServiceUnavailableException(ServiceUnavailableException ex) {
-        logger.error("Service unavailable: {}", ex.getMessage(), ex);
         ErrorResponse errorResponse = new ErrorResponse(
             "Service Unavailable",
             ex.getMessage(),
             Instant.now()
         );
-        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE);
+        if (ex.getRetryAfterSeconds() > 0) {
+            // Deliberate load shedding: expected under overload, keep it cheap
+            logger.warn("Request shed: {}", ex.getMessage());
+            builder.header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+        } else {
+            logger.error("Service unavailable: {}", ex.getMessage(), ex);
+        }
+        return builder.body(errorResponse);
     }
 
     @ExceptionHandler(Exception.class)
@@ -6,11 +6,24 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
 public class ServiceUnavailableException extends RuntimeException {
 
+    // Sent as the Retry-After header when positive (load shedding)
+    private final long retryAfterSeconds;
+
     public ServiceUnavailableException(String message) {
+        this(message, 0);
+    }
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
         super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
     }
 
     public ServiceUnavailableException(String message, Throwable cause) {
         super(message, cause);
+        this.retryAfterSeconds = 0;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
     }
 }
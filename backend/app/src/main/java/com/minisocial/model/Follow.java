@@ -8,6 +8,10 @@ import java.time.Instant;
 @Entity
 @Table(name = "follows", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"follower_id", "following_id"})
+}, indexes = {
+    // Keyset pagination for follower/following lists
+    @Index(name = "idx_follows_following_created", columnList = "following_id, created_at DESC, id DESC"),
+    @Index(name = "idx_follows_follower_created", columnList = "follower_id, created_at DESC, id DESC")
 })
 public class Follow {
 
@@ -0,0 +1,47 @@
+package com.minisocial.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Marker for a write-behind counter batch that has been applied, inserted in
+ * the same transaction as the batch's updates. A retried flush of the same
+ * batch finds its marker and skips the updates instead of applying them twice.
+ * Written and pruned by FollowCounters over JDBC.
+ */
+@Entity
+@Table(name = "follow_counter_flushes", indexes = {
+    // Pruning of old markers
+    @Index(name = "idx_follow_counter_flushes_applied", columnList = "applied_at")
+})
+public class FollowCounterFlush {
+
+    @Id
+    @Column(length = 36)
+    private String batchId;
+
+    @Column(nullable = false)
+    private Instant appliedAt;
+
+    // Default constructor for JPA
+    public FollowCounterFlush() {
+    }
+
+    // Getters and Setters
+    public String getBatchId() {
+        return batchId;
+    }
+
+    public void setBatchId(String batchId) {
+        this.batchId = batchId;
+    }
+
+    public Instant getAppliedAt() {
+        return appliedAt;
+    }
+
+    public void setAppliedAt(Instant appliedAt) {
+        this.appliedAt = appliedAt;
+    }
+}
@@ -0,0 +1,85 @@
+package com.minisocial.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+
+/**
+ * Index entry for a content-addressed image stored in B2.
+ * Keyed by the SHA-256 of the original bytes so identical uploads share
+ * one stored original and one processed variant.
+ */
+@Entity
+@Table(name = "image_blobs")
+public class ImageBlob {
+
+    @Id
+    @Column(length = 64)
+    private String contentHash;
+
+    @Column(nullable = false, length = 500)
+    private String originalUrl;
+
+    @Column(length = 500)
+    private String processedUrl;
+
+    @Column(nullable = false)
+    private Integer refCount = 1;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
+    // Default constructor for JPA
+    public ImageBlob() {
+    }
+
+    // Constructor for registering a newly uploaded original
+    public ImageBlob(String contentHash, String originalUrl) {
+        this.contentHash = contentHash;
+        this.originalUrl = originalUrl;
+        this.refCount = 1;
+    }
+
+    // Getters and Setters
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public String getOriginalUrl() {
+        return originalUrl;
+    }
+
+    public void setOriginalUrl(String originalUrl) {
+        this.originalUrl = originalUrl;
+    }
+
+    public String getProcessedUrl() {
+        return processedUrl;
+    }
+
+    public void setProcessedUrl(String processedUrl) {
+        this.processedUrl = processedUrl;
+    }
+
+    public Integer getRefCount() {
+        return refCount;
+    }
+
+    public void setRefCount(Integer refCount) {
+        this.refCount = refCount;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,89 @@
+package com.minisocial.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+
+/**
+ * Outbox row for an image-processing job. Written in the transaction that
+ * creates the post, so a job survives a failed publish to Redis or a crash
+ * before it; deleted once the job succeeds or is dead-lettered.
+ */
+@Entity
+@Table(name = "pending_image_jobs", indexes = {
+    // Sweep for jobs whose stream entry may have been lost
+    @Index(name = "idx_pending_image_jobs_published", columnList = "published_at")
+})
+public class PendingImageJob {
+
+    @Id
+    private Long postId;
+
+    @Column(nullable = false, length = 64)
+    private String contentHash;
+
+    @Column(nullable = false, length = 100)
+    private String contentType;
+
+    // Last time the job was put on the stream (or was due to be)
+    @Column(nullable = false)
+    private Instant publishedAt;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
+    // Default constructor for JPA
+    public PendingImageJob() {
+    }
+
+    // Constructor for recording a newly queued job
+    public PendingImageJob(Long postId, String contentHash, String contentType, Instant publishedAt) {
+        this.postId = postId;
+        this.contentHash = contentHash;
+        this.contentType = contentType;
+        this.publishedAt = publishedAt;
+    }
+
+    // Getters and Setters
+    public Long getPostId() {
+        return postId;
+    }
+
+    public void setPostId(Long postId) {
+        this.postId = postId;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public Instant getPublishedAt() {
+        return publishedAt;
+    }
+
+    public void setPublishedAt(Instant publishedAt) {
+        this.publishedAt = publishedAt;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -6,7 +6,10 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.Instant;
 
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = {
+    // Newest-first posts per author, for the degraded (no Redis) feed
+    @Index(name = "idx_posts_user_created", columnList = "user_id, created_at DESC")
+})
 public class Post {
 
     @Id
@@ -23,6 +26,10 @@ public class Post {
     @Column(length = 500)
     private String imageUrl;
 
+    // Content hash of the image in image_blobs, whose reference this post holds
+    @Column(length = 64)
+    private String imageHash;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private Instant createdAt;
@@ -71,6 +78,14 @@ public class Post {
         this.imageUrl = imageUrl;
     }
 
+    public String getImageHash() {
+        return imageHash;
+    }
+
+    public void setImageHash(String imageHash) {
+        this.imageHash = imageHash;
+    }
+
     public Instant getCreatedAt() {
         return createdAt;
     }
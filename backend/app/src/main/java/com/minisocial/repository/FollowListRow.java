@@ -0,0 +1,16 @@
+package com.minisocial.repository;
+
+import java.time.Instant;
+
+/**
+ * Lightweight projection of one follow edge joined with the other user,
+ * carrying the keyset (createdAt, followId) used for cursor pagination.
+ */
+public interface FollowListRow {
+
+    Long getFollowId();
+
+    Long getUserId();
+
+    Instant getCreatedAt();
+}
@@ -0,0 +1,94 @@
+package com.minisocial.repository;
+
+import com.minisocial.model.Follow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface FollowRepository extends JpaRepository<Follow, Long>, FollowRepositoryCustom {
+
+    boolean existsByFollower_IdAndFollowing_Id(Long followerId, Long followingId);
+
+    @Modifying
+    @Query("DELETE FROM Follow f WHERE f.follower.id = :followerId AND f.following.id = :followingId")
+    int deleteByFollowerIdAndFollowingId(@Param("followerId") Long followerId,
+                                         @Param("followingId") Long followingId);
+
+    @Query("SELECT f.following.id FROM Follow f WHERE f.follower.id = :followerId")
+    List<Long> findFollowingIdsByFollowerId(@Param("followerId") Long followerId);
+
+    // Keyset pagination over (following_id, created_at, id): newest followers first.
+    // The cursor is a row-value comparison so Postgres uses it as one range bound on
+    // the index; the equivalent OR form only filters after scanning from the start.
+    @Query("""
+        SELECT f.id AS followId, u.id AS userId, f.createdAt AS createdAt
+          FROM Follow f JOIN f.follower u
+         WHERE f.following.id = :userId
+         ORDER BY f.createdAt DESC, f.id DESC
+    """)
+    List<FollowListRow> findFollowersFirstPage(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("""
+        SELECT f.id AS followId, u.id AS userId, f.createdAt AS createdAt
+          FROM Follow f JOIN f.follower u
+         WHERE f.following.id = :userId
+           AND (f.createdAt, f.id) < (:createdAt, :followId)
+         ORDER BY f.createdAt DESC, f.id DESC
+    """)
+    List<FollowListRow> findFollowersAfter(@Param("userId") Long userId,
+                                           @Param("createdAt") Instant createdAt,
+                                           @Param("followId") Long followId,
+                                           Pageable pageable);
+
+    // Keyset pagination over (follower_id, created_at, id): most recently followed first
+    @Query("""
+        SELECT f.id AS followId, u.id AS userId, f.createdAt AS createdAt
+          FROM Follow f JOIN f.following u
+         WHERE f.follower.id = :userId
+         ORDER BY f.createdAt DESC, f.id DESC
+    """)
+    List<FollowListRow> findFollowingFirstPage(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("""
+        SELECT f.id AS followId, u.id AS userId, f.createdAt AS createdAt
+          FROM Follow f JOIN f.following u
+         WHERE f.follower.id = :userId
+           AND (f.createdAt, f.id) < (:createdAt, :followId)
+         ORDER BY f.createdAt DESC, f.id DESC
+    """)
+    List<FollowListRow> findFollowingAfter(@Param("userId") Long userId,
+                                           @Param("createdAt") Instant createdAt,
+                                           @Param("followId") Long followId,
+                                           Pageable pageable);
+
+    // Fallback scoring while the in-memory graph loads; the LIMIT keeps the result small
+    @Query(value = """
+        SELECT f2.following_id, COUNT(*) AS mutual
+          FROM follows f1
+          JOIN follows f2 ON f2.follower_id = f1.following_id
+         WHERE f1.follower_id = :userId
+           AND f2.following_id <> :userId
+           AND NOT EXISTS (SELECT 1 FROM follows f3
+                            WHERE f3.follower_id = :userId AND f3.following_id = f2.following_id)
+         GROUP BY f2.following_id
+         ORDER BY mutual DESC, f2.following_id
+         LIMIT :limit
+    """, nativeQuery = true)
+    List<Object[]> findSecondDegreeByMutualCount(@Param("userId") Long userId, @Param("limit") int limit);
+
+    // Streams (followerId, followingId) pairs with a server-side cursor; callers must hold a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"))
+    @Query("SELECT f.follower.id, f.following.id FROM Follow f")
+    Stream<Object[]> streamAllEdges();
+}
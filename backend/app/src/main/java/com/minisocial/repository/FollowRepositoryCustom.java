@@ -0,0 +1,29 @@
+package com.minisocial.repository;
+
+import java.util.List;
+
+/**
+ * Bulk follow operations that Spring Data cannot derive.
+ */
+public interface FollowRepositoryCustom {
+
+    /**
+     * Inserts follow edges from one follower in a single multi-row
+     * INSERT ... ON CONFLICT DO NOTHING.
+     *
+     * @param followerId The following user
+     * @param followingIds Users to follow
+     * @return IDs for which a new edge was actually inserted
+     */
+    List<Long> insertIgnoringDuplicates(Long followerId, List<Long> followingIds);
+
+    /**
+     * Deletes follow edges from one follower in a single
+     * DELETE ... WHERE following_id IN (...) RETURNING.
+     *
+     * @param followerId The following user
+     * @param followingIds Users to unfollow
+     * @return IDs whose edge actually existed and was deleted
+     */
+    List<Long> deleteFollowing(Long followerId, List<Long> followingIds);
+}
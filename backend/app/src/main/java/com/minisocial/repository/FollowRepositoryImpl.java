@@ -0,0 +1,47 @@
+package com.minisocial.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class FollowRepositoryImpl implements FollowRepositoryCustom {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public FollowRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<Long> insertIgnoringDuplicates(Long followerId, List<Long> followingIds) {
+        if (followingIds.isEmpty()) {
+            return List.of();
+        }
+        StringBuilder sql = new StringBuilder("INSERT INTO follows (follower_id, following_id, created_at) VALUES ");
+        List<Object> args = new ArrayList<>(followingIds.size() * 2);
+        for (int i = 0; i < followingIds.size(); i++) {
+            sql.append(i == 0 ? "(?, ?, now())" : ", (?, ?, now())");
+            args.add(followerId);
+            args.add(followingIds.get(i));
+        }
+        sql.append(" ON CONFLICT (follower_id, following_id) DO NOTHING RETURNING following_id");
+        return jdbcTemplate.queryForList(sql.toString(), Long.class, args.toArray());
+    }
+
+    @Override
+    public List<Long> deleteFollowing(Long followerId, List<Long> followingIds) {
+        if (followingIds.isEmpty()) {
+            return List.of();
+        }
+        StringBuilder sql = new StringBuilder("DELETE FROM follows WHERE follower_id = ? AND following_id IN (");
+        List<Object> args = new ArrayList<>(followingIds.size() + 1);
+        args.add(followerId);
+        for (int i = 0; i < followingIds.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+            args.add(followingIds.get(i));
+        }
+        sql.append(") RETURNING following_id");
+        return jdbcTemplate.queryForList(sql.toString(), Long.class, args.toArray());
+    }
+}
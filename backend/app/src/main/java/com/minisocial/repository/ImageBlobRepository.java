@@ -0,0 +1,44 @@
+package com.minisocial.repository;
+
+import com.minisocial.model.ImageBlob;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.stream.Stream;
+
+@Repository
+public interface ImageBlobRepository extends JpaRepository<ImageBlob, String>, ImageBlobRepositoryCustom {
+
+    long countByRefCountGreaterThan(int refCount);
+
+    // URLs still owned by the index: the processed variant, or the original while unprocessed
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select coalesce(b.processedUrl, b.originalUrl) from ImageBlob b where b.refCount > 0")
+    Stream<String> streamLiveUrls();
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ImageBlob b SET b.refCount = b.refCount + 1 WHERE b.contentHash = :hash")
+    int incRefCount(@Param("hash") String hash);
+
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE ImageBlob b
+           SET b.refCount = CASE WHEN b.refCount > 0 THEN b.refCount - 1 ELSE 0 END
+         WHERE b.contentHash = :hash
+    """)
+    int decRefCount(@Param("hash") String hash);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ImageBlob b SET b.processedUrl = :processedUrl WHERE b.contentHash = :hash")
+    int setProcessedUrl(@Param("hash") String hash, @Param("processedUrl") String processedUrl);
+}
@@ -0,0 +1,19 @@
+package com.minisocial.repository;
+
+/**
+ * Image index writes that Spring Data cannot derive.
+ */
+public interface ImageBlobRepositoryCustom {
+
+    /**
+     * Registers an uploaded original, or takes another reference if a concurrent
+     * upload of the same bytes registered it first. Reviving an unreferenced
+     * entry clears its possibly-collected processed variant.
+     *
+     * @param hash SHA-256 of the original bytes
+     * @param originalUrl URL of the uploaded original
+     * @return true if this call created the entry or revived it from zero
+     *         references, i.e. its caller owns processing the image
+     */
+    boolean upsertReference(String hash, String originalUrl);
+}
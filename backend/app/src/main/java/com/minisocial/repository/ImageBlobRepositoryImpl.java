@@ -0,0 +1,26 @@
+package com.minisocial.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+public class ImageBlobRepositoryImpl implements ImageBlobRepositoryCustom {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ImageBlobRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public boolean upsertReference(String hash, String originalUrl) {
+        // The row lock taken by ON CONFLICT serializes concurrent callers, so exactly one sees ref_count = 1
+        Boolean owner = jdbcTemplate.queryForObject("""
+                INSERT INTO image_blobs (content_hash, original_url, ref_count, created_at)
+                VALUES (?, ?, 1, now())
+                ON CONFLICT (content_hash) DO UPDATE
+                    SET ref_count = image_blobs.ref_count + 1,
+                        processed_url = CASE WHEN image_blobs.ref_count = 0 THEN NULL ELSE image_blobs.processed_url END
+                RETURNING ref_count = 1
+                """, Boolean.class, hash, originalUrl);
+        return Boolean.TRUE.equals(owner);
+    }
+}
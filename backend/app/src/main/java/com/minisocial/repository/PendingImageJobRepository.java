@@ -0,0 +1,33 @@
+package com.minisocial.repository;
+
+import com.minisocial.model.PendingImageJob;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface PendingImageJobRepository extends JpaRepository<PendingImageJob, Long> {
+
+    List<PendingImageJob> findByPublishedAtBeforeOrderByPublishedAt(Instant cutoff, Pageable pageable);
+
+    // Compare-and-set on publishedAt, so only one instance republishes a given job
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE PendingImageJob j SET j.publishedAt = :now
+         WHERE j.postId = :postId AND j.publishedAt = :seen
+    """)
+    int claimForRepublish(@Param("postId") Long postId, @Param("seen") Instant seen, @Param("now") Instant now);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM PendingImageJob j WHERE j.postId = :postId")
+    int deleteByPostId(@Param("postId") Long postId);
+}
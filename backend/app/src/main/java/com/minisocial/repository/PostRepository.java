@@ -0,0 +1,71 @@
+package com.minisocial.repository;
+
+import com.minisocial.model.Post;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface PostRepository extends JpaRepository<Post, Long>, PostRepositoryCustom {
+
+    @EntityGraph(attributePaths = "author") // avoids lazy issues when mapping authorId
+    @Query("""
+        select p from Post p
+        left join Follow f
+            on f.following = p.author
+           and f.follower.id = :userId
+        order by
+            case
+                when f.id is not null or p.author.id = :userId then 0
+                else 1
+            end,
+            p.createdAt desc
+    """)
+    List<Post> findFeedForUser(@Param("userId") Long userId, Pageable pageable);
+
+    List<Post> findByAuthorIdIn(List<Long> authorIds, Pageable pageable);
+
+    // Degraded feed (no Redis): newest posts of the most recent followees plus the user's own.
+    // Each author is probed via idx_posts_user_created with its own LIMIT, so cost is bounded
+    // by maxFollowees * limit index rows regardless of graph or table size.
+    @Query(value = """
+        (select p.* from (
+            select f.following_id from follows f
+            where f.follower_id = :userId
+            order by f.created_at desc
+            limit :maxFollowees
+        ) f
+        cross join lateral (
+            select * from posts p
+            where p.user_id = f.following_id
+            order by p.created_at desc
+            limit :limit
+        ) p)
+        union all
+        (select * from posts p
+         where p.user_id = :userId
+         order by p.created_at desc
+         limit :limit)
+        order by created_at desc
+        limit :limit
+    """, nativeQuery = true)
+    List<Post> findRecentFromFollowees(@Param("userId") Long userId,
+                                       @Param("maxFollowees") int maxFollowees,
+                                       @Param("limit") int limit);
+
+    long countByImageUrlIsNotNull();
+
+    // Streams with a server-side cursor; callers must hold a transaction and close the stream
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select p.imageUrl from Post p where p.imageUrl is not null")
+    Stream<String> streamImageUrls();
+}
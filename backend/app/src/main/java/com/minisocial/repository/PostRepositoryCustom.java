@@ -0,0 +1,19 @@
+package com.minisocial.repository;
+
+import java.util.List;
+
+/**
+ * Bulk post updates that Spring Data cannot derive.
+ */
+public interface PostRepositoryCustom {
+
+    /**
+     * Repoints every post sharing a deduplicated original at its processed
+     * variant, in a single UPDATE ... RETURNING.
+     *
+     * @param oldUrl URL of the original
+     * @param newUrl URL of the processed variant
+     * @return IDs of the posts that were repointed
+     */
+    List<Long> replaceImageUrl(String oldUrl, String newUrl);
+}
@@ -0,0 +1,20 @@
+package com.minisocial.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+public class PostRepositoryImpl implements PostRepositoryCustom {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PostRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<Long> replaceImageUrl(String oldUrl, String newUrl) {
+        return jdbcTemplate.queryForList("UPDATE posts SET image_url = ? WHERE image_url = ? RETURNING id",
+                Long.class, newUrl, oldUrl);
+    }
+}
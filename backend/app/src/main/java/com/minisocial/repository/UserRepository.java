@@ -0,0 +1,82 @@
+package com.minisocial.repository;
+
+import com.minisocial.model.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UserRepository extends JpaRepository<User, Long> {
+
+    @Modifying
+    @Query("UPDATE User u SET u.followingCount = u.followingCount + 1 WHERE u.id = :userId")
+    int incFollowing(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE User u SET u.followerCount = u.followerCount + 1 WHERE u.id = :userId")
+    int incFollowers(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("""
+        UPDATE User u
+           SET u.followingCount = CASE WHEN u.followingCount > 0 THEN u.followingCount - 1 ELSE 0 END
+         WHERE u.id = :userId
+    """)
+    int decFollowing(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("""
+        UPDATE User u
+           SET u.followerCount = CASE WHEN u.followerCount > 0 THEN u.followerCount - 1 ELSE 0 END
+         WHERE u.id = :userId
+    """)
+    int decFollowers(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE User u SET u.followingCount = u.followingCount + :delta WHERE u.id = :userId")
+    int incFollowingBy(@Param("userId") Long userId, @Param("delta") int delta);
+
+    @Modifying
+    @Query("UPDATE User u SET u.followerCount = u.followerCount + 1 WHERE u.id IN :userIds")
+    int incFollowersIn(@Param("userIds") Collection<Long> userIds);
+
+    @Modifying
+    @Query("""
+        UPDATE User u
+           SET u.followingCount = CASE WHEN u.followingCount > :delta THEN u.followingCount - :delta ELSE 0 END
+         WHERE u.id = :userId
+    """)
+    int decFollowingBy(@Param("userId") Long userId, @Param("delta") int delta);
+
+    @Modifying
+    @Query("""
+        UPDATE User u
+           SET u.followerCount = CASE WHEN u.followerCount > 0 THEN u.followerCount - 1 ELSE 0 END
+         WHERE u.id IN :userIds
+    """)
+    int decFollowersIn(@Param("userIds") Collection<Long> userIds);
+
+    @Query("SELECT u.id FROM User u WHERE u.id IN :userIds")
+    List<Long> findExistingIds(@Param("userIds") Collection<Long> userIds);
+
+    @Query("SELECT u.id FROM User u ORDER BY u.followerCount DESC, u.id")
+    List<Long> findMostFollowedIds(Pageable pageable);
+
+    // Compare-and-set so a concurrent password change is never overwritten by a rehash
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.passwordHash = :newHash WHERE u.id = :userId AND u.passwordHash = :oldHash")
+    int updatePasswordHash(@Param("userId") Long userId, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
+
+    Optional<User> findByEmail(String email);
+
+    boolean existsByEmail(String email);
+}
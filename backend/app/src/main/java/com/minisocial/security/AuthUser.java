@@ -0,0 +1,3 @@
+package com.minisocial.security;
+
+public record AuthUser(Long id, String email, String tokenId) {}
@@ -0,0 +1,118 @@
+package com.minisocial.security;
+
+import com.minisocial.service.ConcurrencyLimits;
+import com.minisocial.util.AdaptiveConcurrencyLimit;
+import com.minisocial.util.AdaptiveConcurrencyLimit.Outcome;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sheds requests over an endpoint's adaptive concurrency limit with a fast 503
+ * and Retry-After, instead of letting them queue in Tomcat.
+ * 
+ * Runs after rate limiting so rejected-for-quota requests never hold a slot.
+ * For async endpoints the slot is held until the async response completes,
+ * since that is when the work actually finishes.
+ * 
+ * Not a bean for the same reason as {@link RateLimitFilter}.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final ConcurrencyLimits concurrencyLimits;
+    private final HandlerExceptionResolver exceptionResolver;
+
+    public ConcurrencyLimitFilter(ConcurrencyLimits concurrencyLimits, HandlerExceptionResolver exceptionResolver) {
+        this.concurrencyLimits = concurrencyLimits;
+        this.exceptionResolver = exceptionResolver;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        AdaptiveConcurrencyLimit limit = concurrencyLimits.limitFor(request.getMethod(), request.getRequestURI());
+        if (limit == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long start = limit.tryAcquire();
+        if (start < 0) {
+            exceptionResolver.resolveException(request, response, null, concurrencyLimits.shed(limit.getName()));
+            return;
+        }
+
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (!failed && request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnCompletion(limit, start, response));
+            } else {
+                limit.release(start, failed ? Outcome.DROPPED : outcome(response.getStatus()));
+            }
+        }
+    }
+
+    // 503s are sheds or timeouts further in and say nothing about this endpoint's latency
+    private static Outcome outcome(int status) {
+        if (status == HttpServletResponse.SC_SERVICE_UNAVAILABLE) {
+            return Outcome.IGNORED;
+        }
+        return status >= 500 ? Outcome.DROPPED : Outcome.SUCCESS;
+    }
+
+    private static final class ReleaseOnCompletion implements AsyncListener {
+
+        private final AdaptiveConcurrencyLimit limit;
+        private final long start;
+        private final HttpServletResponse response;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        ReleaseOnCompletion(AdaptiveConcurrencyLimit limit, long start, HttpServletResponse response) {
+            this.limit = limit;
+            this.start = start;
+            this.response = response;
+        }
+
+        private void release(Outcome outcome) {
+            if (released.compareAndSet(false, true)) {
+                limit.release(start, outcome);
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release(outcome(response.getStatus()));
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release(Outcome.DROPPED);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release(Outcome.DROPPED);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Re-register for the next async cycle, if any
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.minisocial.security;
+
+import com.minisocial.service.TokenRevocationList;
+import com.minisocial.util.JwtUtil;
+import com.minisocial.util.RequestTrace;
+import com.minisocial.util.VerifiedToken;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+@Component
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private final JwtUtil jwtUtil;
+    private final TokenRevocationList tokenRevocationList;
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, TokenRevocationList tokenRevocationList) {
+        this.jwtUtil = jwtUtil;
+        this.tokenRevocationList = tokenRevocationList;
+    }
+
+    /**
+     * Async endpoints (e.g. the feed) complete on a second dispatch that is
+     * authorized again, so it needs the principal re-established too.
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        String authHeader = request.getHeader("Authorization");
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String jwt = authHeader.substring(7);
+
+        long span = RequestTrace.start("jwt.verify");
+        try {
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                // One verification per request (cached across requests until the token expires)
+                VerifiedToken token = jwtUtil.verify(jwt);
+
+                // Revoked tokens stay unauthenticated; the revocation check is a local lookup
+                if (!tokenRevocationList.isRevoked(token.tokenId())) {
+                    AuthUser principal = new AuthUser(token.userId(), token.email(), token.tokenId());
+
+                    UsernamePasswordAuthenticationToken authToken =
+                            new UsernamePasswordAuthenticationToken(principal, null, List.of());
+
+                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                }
+            }
+        } catch (Exception e) {
+            logger.debug("Failed to extract user details from JWT: " + e.getMessage());
+        } finally {
+            RequestTrace.end(span);
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
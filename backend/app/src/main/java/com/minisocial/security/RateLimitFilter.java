@@ -0,0 +1,68 @@
+package com.minisocial.security;
+
+import com.minisocial.config.RateLimitProperties.Rule;
+import com.minisocial.exception.RateLimitExceededException;
+import com.minisocial.service.RateLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.IOException;
+
+/**
+ * Applies per-endpoint rate limits after JWT authentication, so authenticated
+ * requests are limited per user and every request per client IP. Behind the
+ * load balancer the client IP is the remote address resolved from
+ * X-Forwarded-For by server.forward-headers-strategy, which only trusts the
+ * header when it comes from an internal proxy.
+ * Rejections go through the exception resolver so GlobalExceptionHandler
+ * renders the 429 and its Retry-After header.
+ * 
+ * Not a bean on purpose: Spring Boot would also register it as a servlet filter
+ * that runs before authentication. It is added to the security chain instead.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final HandlerExceptionResolver exceptionResolver;
+
+    public RateLimitFilter(RateLimiter rateLimiter, HandlerExceptionResolver exceptionResolver) {
+        this.rateLimiter = rateLimiter;
+        this.exceptionResolver = exceptionResolver;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        Rule rule = rateLimiter.ruleFor(request.getMethod(), request.getRequestURI());
+        if (rule == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Long userId = null;
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthUser user) {
+            userId = user.id();
+        }
+
+        RateLimiter.Decision decision = rateLimiter.check(rule, userId, request.getRemoteAddr());
+        if (!decision.allowed()) {
+            long retryAfterSeconds = Math.max(1, (decision.retryAfterMs() + 999) / 1000);
+            exceptionResolver.resolveException(request, response, null,
+                    new RateLimitExceededException("Too many requests, retry in " + retryAfterSeconds + "s", retryAfterSeconds));
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,134 @@
+package com.minisocial.security;
+
+import com.minisocial.util.RequestTrace;
+import com.minisocial.util.RequestTracer;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Opens a request trace before anything else in the security chain, so JWT
+ * verification, rate limiting and the handler all show up as spans.
+ *
+ * For async endpoints the trace stays open until the async response
+ * completes, and is re-bound on the async dispatch that writes the response.
+ *
+ * Not a bean for the same reason as {@link RateLimitFilter}.
+ */
+public class RequestTracingFilter extends OncePerRequestFilter {
+
+    private static final String LISTENER_ATTRIBUTE = RequestTracingFilter.class.getName() + ".listener";
+
+    private final RequestTracer tracer;
+
+    public RequestTracingFilter(RequestTracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        if (isAsyncDispatch(request)) {
+            resumeAsync(request, response, filterChain);
+            return;
+        }
+
+        RequestTrace trace = tracer.begin(request.getMethod(), request.getRequestURI());
+        if (trace == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                FinishOnCompletion listener = new FinishOnCompletion(tracer, trace, response);
+                request.setAttribute(LISTENER_ATTRIBUTE, listener);
+                request.getAsyncContext().addListener(listener);
+                async = true;
+            }
+        } finally {
+            RequestTrace.detach(null);
+            if (!async) {
+                tracer.finish(trace, response.getStatus());
+            }
+        }
+    }
+
+    private void resumeAsync(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Object attribute = request.getAttribute(LISTENER_ATTRIBUTE);
+        if (!(attribute instanceof FinishOnCompletion listener)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        // No-op if the trace was already finished (async timeout) and reused
+        RequestTrace previous = listener.trace.attach(listener.generation);
+        long span = RequestTrace.start("async.dispatch");
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestTrace.end(span);
+            RequestTrace.detach(previous);
+        }
+    }
+
+    private static final class FinishOnCompletion implements AsyncListener {
+
+        private final RequestTracer tracer;
+        private final RequestTrace trace;
+        private final int generation;
+        private final HttpServletResponse response;
+        private final AtomicBoolean finished = new AtomicBoolean();
+
+        FinishOnCompletion(RequestTracer tracer, RequestTrace trace, HttpServletResponse response) {
+            this.tracer = tracer;
+            this.trace = trace;
+            this.generation = trace.generation();
+            this.response = response;
+        }
+
+        private void finish(int status) {
+            if (finished.compareAndSet(false, true)) {
+                tracer.finish(trace, status);
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            finish(response.getStatus());
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            finish(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            finish(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -2,12 +2,18 @@ package com.minisocial.service;
 
 import com.minisocial.dto.LoginRequest;
 import com.minisocial.dto.LoginResponse;
+import com.minisocial.dto.RefreshRequest;
 import com.minisocial.dto.RegisterRequest;
 import com.minisocial.dto.RegisterResponse;
+import com.minisocial.security.AuthUser;
 
 public interface AuthService {
 
     RegisterResponse register(RegisterRequest request);
 
     LoginResponse login(LoginRequest request);
+
+    LoginResponse refresh(RefreshRequest request);
+
+    void logout(AuthUser user, RefreshRequest request);
 }
@@ -0,0 +1,124 @@
+package com.minisocial.service;
+
+import com.minisocial.dto.LoginRequest;
+import com.minisocial.dto.LoginResponse;
+import com.minisocial.dto.RefreshRequest;
+import com.minisocial.dto.RegisterRequest;
+import com.minisocial.dto.RegisterResponse;
+import com.minisocial.exception.ResourceConflictException;
+import com.minisocial.exception.ServiceUnavailableException;
+import com.minisocial.exception.UnauthorizedException;
+import com.minisocial.model.User;
+import com.minisocial.repository.UserRepository;
+import com.minisocial.security.AuthUser;
+import com.minisocial.util.JwtUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Registration and login.
+ * 
+ * Methods are deliberately not transactional: BCrypt runs for ~100 ms on the
+ * hashing executor, and a surrounding transaction would hold a pooled database
+ * connection for all of it. Each repository call uses its own short transaction.
+ */
+@Service
+public class AuthServiceImpl implements AuthService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthServiceImpl.class);
+
+    private final UserRepository userRepository;
+    private final PasswordHasher passwordHasher;
+    private final JwtUtil jwtUtil;
+    private final RefreshTokenStore refreshTokenStore;
+    private final TokenRevocationList tokenRevocationList;
+
+    public AuthServiceImpl(UserRepository userRepository,
+                           PasswordHasher passwordHasher,
+                           JwtUtil jwtUtil,
+                           RefreshTokenStore refreshTokenStore,
+                           TokenRevocationList tokenRevocationList) {
+        this.userRepository = userRepository;
+        this.passwordHasher = passwordHasher;
+        this.jwtUtil = jwtUtil;
+        this.refreshTokenStore = refreshTokenStore;
+        this.tokenRevocationList = tokenRevocationList;
+    }
+
+    @Override
+    public RegisterResponse register(RegisterRequest request) {
+        // Check for duplicate email
+        if (userRepository.existsByEmail(request.email())) {
+            throw new ResourceConflictException("Email already exists");
+        }
+
+        // Hash password with BCrypt on the bounded hashing executor
+        String passwordHash = passwordHasher.hash(request.password());
+
+        // Create and save user; the unique constraint catches concurrent registrations
+        User user;
+        try {
+            user = userRepository.save(new User(request.email(), passwordHash));
+        } catch (DataIntegrityViolationException e) {
+            throw new ResourceConflictException("Email already exists");
+        }
+
+        return new RegisterResponse(user.getId(), user.getEmail());
+    }
+
+    @Override
+    public LoginResponse login(LoginRequest request) {
+        // Find user by email
+        User user = userRepository.findByEmail(request.email())
+                .orElseThrow(() -> new UnauthorizedException("Invalid credentials"));
+
+        // Verify password
+        if (!passwordHasher.matches(request.password(), user.getPasswordHash())) {
+            throw new UnauthorizedException("Invalid credentials");
+        }
+
+        // Transparently move the stored hash to the configured cost
+        if (passwordHasher.needsRehash(user.getPasswordHash())) {
+            rehashInBackground(user, request.password());
+        }
+
+        // Short-lived access token plus a refresh token starting a new family
+        return issueTokens(user.getId(), user.getEmail(), refreshTokenStore.issue(user.getId(), user.getEmail()));
+    }
+
+    @Override
+    public LoginResponse refresh(RefreshRequest request) {
+        RefreshTokenStore.Rotation rotation = refreshTokenStore.rotate(request.refreshToken());
+        return issueTokens(rotation.userId(), rotation.email(), rotation.refreshToken());
+    }
+
+    @Override
+    public void logout(AuthUser user, RefreshRequest request) {
+        tokenRevocationList.revoke(user.tokenId());
+        if (request != null && request.refreshToken() != null) {
+            refreshTokenStore.revoke(request.refreshToken());
+        }
+    }
+
+    private LoginResponse issueTokens(Long userId, String email, String refreshToken) {
+        String token = jwtUtil.generateToken(email, userId);
+        return new LoginResponse(token, refreshToken, jwtUtil.getExpirationMillis() / 1000, userId, email);
+    }
+
+    // Best effort: skipped when the executor is busy, retried on the next login
+    private void rehashInBackground(User user, String rawPassword) {
+        String oldHash = user.getPasswordHash();
+        try {
+            passwordHasher.hashAsync(rawPassword)
+                    .thenAccept(newHash -> userRepository.updatePasswordHash(user.getId(), oldHash, newHash))
+                    .exceptionally(e -> {
+                        logger.debug("Password rehash for user {} skipped: {}", user.getId(), e.getMessage());
+                        return null;
+                    });
+        } catch (ServiceUnavailableException e) {
+            logger.debug("Password rehash for user {} deferred, hashing executor busy", user.getId());
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.minisocial.service;
+
+import com.minisocial.storage.BlobStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Service for uploading files to media storage (Backblaze B2 in production).
+ * Handles image uploads under content-addressed (SHA-256) keys and returns public URLs.
+ * The actual transfer is delegated to the configured {@link BlobStore}.
+ */
+@Service
+public class B2StorageService {
+
+    private static final Logger logger = LoggerFactory.getLogger(B2StorageService.class);
+
+    private final BlobStore blobStore;
+
+    public B2StorageService(BlobStore blobStore) {
+        this.blobStore = blobStore;
+        logger.info("B2StorageService initialized with store: {}", blobStore.getClass().getSimpleName());
+    }
+
+    /**
+     * Uploads a file to Backblaze B2 storage under its content-addressed key.
+     * 
+     * @param imageData Base64-encoded image data
+     * @param contentType MIME type of the image (e.g., "image/jpeg", "image/png")
+     * @return Public URL of the uploaded file
+     * @throws RuntimeException if upload fails
+     */
+    public String uploadFile(String imageData, String contentType) {
+        return uploadContent(decodeAndHash(imageData), contentType);
+    }
+
+    /**
+     * Uploads already-decoded content to Backblaze B2 storage.
+     * Identical bytes always map to the same key, so re-uploading is idempotent.
+     * 
+     * @param content Decoded bytes and their SHA-256 digest
+     * @param contentType MIME type of the content
+     * @return Public URL of the uploaded file
+     * @throws RuntimeException if upload fails
+     */
+    public String uploadContent(HashedContent content, String contentType) {
+        try {
+            return uploadContentAsync(content, contentType).join();
+        } catch (CompletionException e) {
+            logger.error("Failed to upload file to storage", e.getCause());
+            throw new RuntimeException("Failed to upload file to storage", e.getCause());
+        }
+    }
+
+    /**
+     * Uploads already-decoded content without blocking the calling thread.
+     * 
+     * @param content Decoded bytes and their SHA-256 digest
+     * @param contentType MIME type of the content
+     * @return future completing with the public URL once the object is stored
+     */
+    public CompletableFuture<String> uploadContentAsync(HashedContent content, String contentType) {
+        String fileKey = contentKey(content.sha256(), contentType);
+        return blobStore.put(fileKey, content.bytes(), contentType)
+                .thenApply(ignored -> {
+                    logger.info("Successfully uploaded file: {}", fileKey);
+                    return blobStore.publicUrl(fileKey);
+                });
+    }
+
+    /**
+     * Decodes base64 data and computes its SHA-256 in a single streaming pass.
+     * 
+     * @param imageData Base64-encoded data
+     * @return Decoded bytes with their digest
+     * @throws RuntimeException if the data is not valid base64
+     */
+    public HashedContent decodeAndHash(String imageData) {
+        MessageDigest digest = newSha256();
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream(imageData.length() * 3 / 4);
+        try (InputStream in = new DigestInputStream(
+                Base64.getDecoder().wrap(new ByteArrayInputStream(imageData.getBytes(StandardCharsets.US_ASCII))),
+                digest)) {
+            in.transferTo(decoded);
+        } catch (IllegalArgumentException | IOException e) {
+            logger.error("Invalid base64 image data", e);
+            throw new RuntimeException("Invalid image data format", e);
+        }
+        return new HashedContent(decoded.toByteArray(), HexFormat.of().formatHex(digest.digest()));
+    }
+
+    /**
+     * Computes the SHA-256 of raw bytes, e.g. a processed image variant.
+     * 
+     * @param bytes Raw content
+     * @return The bytes with their digest
+     */
+    public HashedContent hash(byte[] bytes) {
+        return new HashedContent(bytes, HexFormat.of().formatHex(newSha256().digest(bytes)));
+    }
+
+    /**
+     * Downloads a stored file, blocking until it has been read.
+     * 
+     * @param sha256 Hex digest of the file content
+     * @param contentType MIME type the file was stored with
+     * @return File content
+     * @throws RuntimeException if the file is missing or cannot be read
+     */
+    public byte[] downloadContent(String sha256, String contentType) {
+        String fileKey = contentKey(sha256, contentType);
+        try {
+            return blobStore.get(fileKey).join();
+        } catch (CompletionException e) {
+            throw new RuntimeException("Failed to download file from storage: " + fileKey, e.getCause());
+        }
+    }
+
+    /**
+     * Generates the content-addressed key for a file: its SHA-256 plus extension.
+     * 
+     * @param sha256 Hex digest of the file content
+     * @param contentType MIME type to determine file extension
+     * @return File key
+     */
+    private String contentKey(String sha256, String contentType) {
+        String extension = getFileExtension(contentType);
+        return String.format("images/%s.%s", sha256, extension);
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Extracts file extension from content type.
+     * 
+     * @param contentType MIME type
+     * @return File extension (e.g., "jpg", "png")
+     */
+    private String getFileExtension(String contentType) {
+        if (contentType == null || contentType.isEmpty()) {
+            return "jpg"; // Default extension
+        }
+        
+        return switch (contentType.toLowerCase()) {
+            case "image/jpeg", "image/jpg" -> "jpg";
+            case "image/png" -> "png";
+            case "image/gif" -> "gif";
+            case "image/webp" -> "webp";
+            default -> "jpg";
+        };
+    }
+}
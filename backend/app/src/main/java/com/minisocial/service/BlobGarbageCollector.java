@@ -0,0 +1,216 @@
+package com.minisocial.service;
+
+import com.minisocial.repository.ImageBlobRepository;
+import com.minisocial.repository.PostRepository;
+import com.minisocial.storage.BlobPage;
+import com.minisocial.storage.BlobStore;
+import com.minisocial.util.BloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Scheduled garbage collector for media objects nothing points at any more:
+ * originals replaced by processing, uploads whose post insert failed, and
+ * images of deleted posts.
+ * 
+ * Referenced URLs are streamed from the DB into a Bloom filter, and the bucket
+ * listing is streamed page by page, so neither side is ever held in memory.
+ * A false positive only means an orphan survives until the next run.
+ * A referenced URL outside the store's public URL space (e.g. after an
+ * endpoint change) aborts the run, since its object could not be matched
+ * and would be deleted.
+ */
+@Component
+public class BlobGarbageCollector {
+
+    private static final Logger logger = LoggerFactory.getLogger(BlobGarbageCollector.class);
+    private static final String LOCK_KEY = "gc:blobs:lock";
+    private static final String KEY_PREFIX = "images/";
+    private static final int MAX_BATCH_SIZE = 1000; // S3 DeleteObjects limit
+
+    // Releases the lock only if it still holds our token, not a later run's
+    private static final RedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final BlobStore blobStore;
+    private final PostRepository postRepository;
+    private final ImageBlobRepository imageBlobRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Value("${blobGc.enabled:false}")
+    private boolean enabled;
+
+    @Value("${blobGc.dryRun:true}")
+    private boolean dryRun;
+
+    @Value("${blobGc.gracePeriodHours:24}")
+    private long gracePeriodHours;
+
+    @Value("${blobGc.pageSize:1000}")
+    private int pageSize;
+
+    @Value("${blobGc.deletesPerSecond:200}")
+    private int deletesPerSecond;
+
+    @Value("${blobGc.falsePositiveRate:0.001}")
+    private double falsePositiveRate;
+
+    /**
+     * Outcome of one collection run.
+     *
+     * @param dryRun whether deletions were only reported
+     * @param scanned objects listed
+     * @param orphaned unreferenced objects older than the grace period
+     * @param deleted objects actually deleted
+     * @param orphanedBytes total size of the orphaned objects
+     * @param filterBytes memory used by the reference filter
+     */
+    public record GcReport(boolean dryRun, long scanned, long orphaned, long deleted,
+                           long orphanedBytes, long filterBytes) {
+    }
+
+    public BlobGarbageCollector(BlobStore blobStore,
+                                PostRepository postRepository,
+                                ImageBlobRepository imageBlobRepository,
+                                StringRedisTemplate redisTemplate,
+                                PlatformTransactionManager transactionManager) {
+        this.blobStore = blobStore;
+        this.postRepository = postRepository;
+        this.imageBlobRepository = imageBlobRepository;
+        this.redisTemplate = redisTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Scheduled(cron = "${blobGc.cron:0 30 3 * * *}")
+    public void scheduledRun() {
+        if (!enabled) {
+            return;
+        }
+        // Only one instance collects at a time; the lock expires on its own if we crash
+        String token = UUID.randomUUID().toString();
+        Boolean acquired = redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, token, Duration.ofHours(2));
+        if (!Boolean.TRUE.equals(acquired)) {
+            logger.info("Blob GC already running on another instance, skipping");
+            return;
+        }
+        try {
+            collect(dryRun);
+        } catch (Exception e) {
+            logger.error("Blob GC failed. Error: {}", e.getMessage(), e);
+        } finally {
+            redisTemplate.execute(UNLOCK_SCRIPT, List.of(LOCK_KEY), token);
+        }
+    }
+
+    /**
+     * Runs one collection pass.
+     * 
+     * @param reportOnly if true, orphans are only counted and logged, never deleted
+     * @return summary of the run
+     * @throws IllegalStateException if a referenced URL does not belong to the blob store
+     */
+    public GcReport collect(boolean reportOnly) {
+        Instant cutoff = Instant.now().minus(Duration.ofHours(gracePeriodHours));
+        BloomFilter referenced = buildReferenceFilter();
+        logger.info("Blob GC starting (dryRun={}, cutoff={}, filter={} bytes)",
+                reportOnly, cutoff, referenced.sizeInBytes());
+
+        long scanned = 0;
+        long orphaned = 0;
+        long deleted = 0;
+        long orphanedBytes = 0;
+        List<String> batch = new ArrayList<>(Math.min(pageSize, MAX_BATCH_SIZE));
+        String pageToken = null;
+        do {
+            BlobPage page = blobStore.list(KEY_PREFIX, pageToken, pageSize);
+            for (BlobPage.Entry blob : page.blobs()) {
+                scanned++;
+                if (blob.lastModified().isAfter(cutoff) || referenced.mightContain(blob.key())) {
+                    continue;
+                }
+                orphaned++;
+                orphanedBytes += blob.size();
+                if (reportOnly) {
+                    logger.debug("Blob GC dry run: would delete {}", blob.key());
+                    continue;
+                }
+                batch.add(blob.key());
+                if (batch.size() == MAX_BATCH_SIZE) {
+                    deleted += deleteBatch(batch);
+                }
+            }
+            pageToken = page.nextToken();
+        } while (pageToken != null);
+
+        if (!batch.isEmpty()) {
+            deleted += deleteBatch(batch);
+        }
+
+        GcReport report = new GcReport(reportOnly, scanned, orphaned, deleted, orphanedBytes, referenced.sizeInBytes());
+        logger.info("Blob GC finished: {}", report);
+        return report;
+    }
+
+    private BloomFilter buildReferenceFilter() {
+        return readOnlyTransaction.execute(status -> {
+            long expected = postRepository.countByImageUrlIsNotNull() + imageBlobRepository.countByRefCountGreaterThan(0);
+            BloomFilter filter = new BloomFilter(expected, falsePositiveRate);
+            String urlPrefix = blobStore.publicUrl("");
+            try (Stream<String> urls = postRepository.streamImageUrls()) {
+                urls.forEach(url -> addKey(filter, urlPrefix, url));
+            }
+            try (Stream<String> urls = imageBlobRepository.streamLiveUrls()) {
+                urls.forEach(url -> addKey(filter, urlPrefix, url));
+            }
+            return filter;
+        });
+    }
+
+    private static void addKey(BloomFilter filter, String urlPrefix, String url) {
+        if (!url.startsWith(urlPrefix)) {
+            throw new IllegalStateException("Referenced URL " + url + " does not start with the blob store URL "
+                    + urlPrefix + "; refusing to collect until references and storage config agree");
+        }
+        filter.add(url.substring(urlPrefix.length()));
+    }
+
+    // Deletes one batch, then sleeps long enough to respect deletesPerSecond
+    private int deleteBatch(List<String> batch) {
+        int size = batch.size();
+        long start = System.nanoTime();
+        blobStore.delete(List.copyOf(batch)).join();
+        batch.clear();
+
+        long minimumNanos = Duration.ofSeconds(1).toNanos() * size / Math.max(1, deletesPerSecond);
+        long remaining = minimumNanos - (System.nanoTime() - start);
+        if (remaining > 0) {
+            try {
+                Thread.sleep(Duration.ofNanos(remaining).toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return size;
+    }
+}
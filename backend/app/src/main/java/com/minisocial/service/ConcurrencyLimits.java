@@ -0,0 +1,98 @@
+package com.minisocial.service;
+
+import com.minisocial.config.ConcurrencyLimitProperties;
+import com.minisocial.config.ConcurrencyLimitProperties.Limit;
+import com.minisocial.config.ConcurrencyLimitProperties.Rule;
+import com.minisocial.exception.ServiceUnavailableException;
+import com.minisocial.util.AdaptiveConcurrencyLimit;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adaptive concurrency limits for hot endpoints, plus a tighter inner limit
+ * on feed reads that fall back to Postgres.
+ * 
+ * Shedding at the inner limit first is what prioritizes cached feed reads:
+ * when Postgres slows down, database fallbacks are rejected quickly while
+ * cache hits keep flowing, and those fast rejections are not counted against
+ * the endpoint's own limit.
+ */
+@Component
+public class ConcurrencyLimits {
+
+    private final ConcurrencyLimitProperties properties;
+    private final List<Rule> rules;
+    private final List<AdaptiveConcurrencyLimit> endpointLimits = new ArrayList<>();
+    private final AdaptiveConcurrencyLimit feedDatabase;
+
+    public ConcurrencyLimits(ConcurrencyLimitProperties properties) {
+        this.properties = properties;
+        this.rules = List.copyOf(properties.getRules());
+        for (Rule rule : rules) {
+            endpointLimits.add(create(rule.getName(), rule));
+        }
+        this.feedDatabase = create("feed.database", properties.getFeedDatabase());
+    }
+
+    private AdaptiveConcurrencyLimit create(String name, Limit limit) {
+        return new AdaptiveConcurrencyLimit(name, limit.getInitialLimit(), limit.getMinLimit(), limit.getMaxLimit(),
+                properties.getTolerance(), properties.getSmoothing());
+    }
+
+    /**
+     * @return the limit for the first matching rule, or null when the request is not limited
+     */
+    public AdaptiveConcurrencyLimit limitFor(String method, String path) {
+        if (!properties.isEnabled()) {
+            return null;
+        }
+        for (int i = 0; i < rules.size(); i++) {
+            if (rules.get(i).matches(method, path)) {
+                return endpointLimits.get(i);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Claims a database-fallback slot for a feed read.
+     *
+     * @return start timestamp for {@link #releaseFeedDatabase}, or -1 when disabled
+     * @throws ServiceUnavailableException when the limit is reached
+     */
+    public long acquireFeedDatabase() {
+        if (!properties.isEnabled()) {
+            return -1;
+        }
+        long start = feedDatabase.tryAcquire();
+        if (start < 0) {
+            throw shed("feed");
+        }
+        return start;
+    }
+
+    public void releaseFeedDatabase(long startNanos, boolean succeeded) {
+        if (startNanos >= 0) {
+            feedDatabase.release(startNanos, succeeded
+                    ? AdaptiveConcurrencyLimit.Outcome.SUCCESS
+                    : AdaptiveConcurrencyLimit.Outcome.DROPPED);
+        }
+    }
+
+    public ServiceUnavailableException shed(String what) {
+        return new ServiceUnavailableException("Server is busy serving " + what + ", please retry shortly",
+                properties.getRetryAfterSeconds());
+    }
+
+    public List<AdaptiveConcurrencyLimit> limits() {
+        List<AdaptiveConcurrencyLimit> all = new ArrayList<>(endpointLimits);
+        all.add(feedDatabase);
+        return all;
+    }
+
+    public List<AdaptiveConcurrencyLimit.Snapshot> snapshot() {
+        return limits().stream().map(AdaptiveConcurrencyLimit::snapshot).toList();
+    }
+}
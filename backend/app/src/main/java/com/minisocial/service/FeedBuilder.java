@@ -0,0 +1,133 @@
+package com.minisocial.service;
+
+import com.minisocial.config.CircuitBreakerRedisConnectionFactory;
+import com.minisocial.dto.FeedItem;
+import com.minisocial.repository.PostRepository;
+import com.minisocial.util.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutor;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Asynchronous worker for rebuilding user feeds in Redis.
+ * Ranks the user's feed once and stores the post IDs and bodies via {@link FeedCache}.
+ */
+@Component
+public class FeedBuilder {
+
+    private static final Logger logger = LoggerFactory.getLogger(FeedBuilder.class);
+    static final int FEED_SIZE = 100; // Number of posts to include in feed
+
+    private final PostRepository postRepository;
+    private final FeedCache feedCache;
+    private final Executor taskExecutor;
+    private final SingleFlight<Long, Void> fills;
+    private final RedisReplayBuffer replayBuffer;
+    private final Timer rebuildTimer;
+
+    public FeedBuilder(PostRepository postRepository,
+                       FeedCache feedCache,
+                       @Qualifier("taskExecutor") Executor taskExecutor,
+                       RequestCoalescing requestCoalescing,
+                       RedisReplayBuffer replayBuffer,
+                       MeterRegistry meterRegistry) {
+        this.postRepository = postRepository;
+        this.feedCache = feedCache;
+        this.replayBuffer = replayBuffer;
+        this.rebuildTimer = Timer.builder("feed.rebuild")
+                .description("Feed rebuild: ranking query plus cache write")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.taskExecutor = taskExecutor;
+        this.fills = requestCoalescing.create("feed.fill");
+    }
+
+    /**
+     * Fills a user's missing feed cache in the background. Concurrent misses for
+     * the same user share one fill instead of each rebuilding the feed.
+     * 
+     * Only for cache misses: after a write use {@link #rebuildFeed(Long)}, which
+     * never joins a fill that may have read the feed before the write.
+     * 
+     * The fill runs as the reader, so replica routing still pins it to the
+     * primary right after the user's own write and the cached feed includes it.
+     * 
+     * @param userId The ID of the user whose feed is missing
+     * @param readerContext Security context of the request that missed
+     * @return completes when the fill finishes
+     */
+    public CompletableFuture<Void> fillFeed(Long userId, SecurityContext readerContext) {
+        return fills.execute(userId, () -> CompletableFuture.runAsync(() -> build(userId),
+                new DelegatingSecurityContextExecutor(taskExecutor, readerContext)));
+    }
+
+    /**
+     * Rebuilds the feed for a user asynchronously.
+     * Uses the same ranking as the database read path, so cached pages and
+     * database pages agree.
+     * 
+     * @param userId The ID of the user whose feed should be rebuilt
+     */
+    @Async
+    public void rebuildFeed(Long userId) {
+        build(userId);
+    }
+
+    private void build(Long userId) {
+        if (!feedCache.isAvailable()) {
+            // Don't run the feed query only to fail on the write
+            replayBuffer.submit(FeedCache.replayKey(userId), () -> buildOrThrow(userId));
+            return;
+        }
+        Timer.Sample sample = Timer.start();
+        try {
+            buildOrThrow(userId);
+        } catch (Exception e) {
+            if (CircuitBreakerRedisConnectionFactory.isOutage(e)) {
+                // Reconciled in the background once Redis is back
+                logger.warn("Redis unavailable, deferring feed rebuild for user ID: {}", userId);
+                replayBuffer.submit(FeedCache.replayKey(userId), () -> buildOrThrow(userId));
+                return;
+            }
+            // Handle errors gracefully without blocking
+            logger.error("Error rebuilding feed for user ID: {}. Error: {}", userId, e.getMessage(), e);
+        } finally {
+            sample.stop(rebuildTimer);
+        }
+    }
+
+    private void buildOrThrow(Long userId) {
+        logger.info("Starting async feed rebuild for user ID: {}", userId);
+
+        // Read before the query: an invalidation after this point voids the write below
+        String generation = feedCache.generation(userId);
+        List<FeedItem> ranked = postRepository.findFeedForUser(userId, PageRequest.of(0, FEED_SIZE)).stream()
+                .map(FeedItem::from)
+                .toList();
+
+        if (ranked.isEmpty()) {
+            logger.info("No posts for user {}, clearing feed", userId);
+            feedCache.clearFeed(userId);
+            return;
+        }
+
+        if (!feedCache.writeFeed(userId, ranked, generation)) {
+            // The next read misses and fills again from current data
+            logger.info("Feed for user ID: {} was invalidated during the rebuild, discarding it", userId);
+            return;
+        }
+
+        logger.info("Successfully rebuilt feed for user ID: {} with {} posts", userId, ranked.size());
+    }
+}
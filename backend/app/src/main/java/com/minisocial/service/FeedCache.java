@@ -0,0 +1,379 @@
+package com.minisocial.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.minisocial.config.CircuitBreakerRedisConnectionFactory;
+import com.minisocial.config.SharedRedisConnection;
+import com.minisocial.dto.FeedItem;
+import com.minisocial.util.CircuitBreaker;
+import com.minisocial.util.RequestTrace;
+import io.lettuce.core.ScriptOutputType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Redis-side feed cache: a ranked sorted set of post IDs per user, an ETag per
+ * feed version and a JSON body per post.
+ * 
+ * Reads go through Lettuce's async API on one shared multiplexed connection and
+ * a single Lua script that returns the version, the page of IDs and their bodies
+ * together, so a page costs one round trip and never parks a thread. Writes come
+ * from {@link FeedBuilder} and post hydration through the template.
+ * 
+ * Key layout (single node; the scripts derive post keys from IDs):
+ * feed:&lt;userId&gt;, feed:etag:&lt;userId&gt;, feed:gen:&lt;userId&gt;, post:&lt;postId&gt;
+ * 
+ * feed:gen is a per-user generation bumped by every clear. A rebuild reads it
+ * before running its query and writes only if it is unchanged, so a rebuild
+ * that read the database before an invalidation cannot cache a feed from before it.
+ */
+@Component
+public class FeedCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(FeedCache.class);
+    private static final String FEED_KEY = "feed:";
+    private static final String ETAG_KEY = "feed:etag:";
+    private static final String POST_KEY = "post:";
+    private static final String GENERATION_KEY = "feed:gen:";
+    private static final int EVICT_BATCH_SIZE = 500;
+    // Far longer than any rebuild; an expired generation reads as "0" and only voids rebuilds in flight
+    private static final long GENERATION_TTL_SECONDS = 86_400;
+
+    // Returns {etag, card, ids, bodies}; a missing feed returns card 0. Package-private for the read-path benchmark
+    static final String PAGE_SCRIPT = """
+            local card = redis.call('ZCARD', KEYS[1])
+            if card == 0 then
+                return {false, 0, {}, {}}
+            end
+            local etag = redis.call('GET', KEYS[2])
+            local ids = redis.call('ZREVRANGE', KEYS[1], ARGV[1], ARGV[2])
+            if #ids == 0 then
+                return {etag, card, {}, {}}
+            end
+            local keys = {}
+            for i, id in ipairs(ids) do
+                keys[i] = ARGV[3] .. id
+            end
+            return {etag, card, ids, redis.call('MGET', unpack(keys))}
+            """;
+    // Replaces the feed unless its generation moved since the rebuild read it; returns 1 if written.
+    // ARGV: expected generation, feed TTL, post TTL, version, post key prefix, then (id, body) pairs by rank
+    private static final RedisScript<Long> WRITE_FEED_SCRIPT = new DefaultRedisScript<>("""
+            if (redis.call('GET', KEYS[3]) or '0') ~= ARGV[1] then
+                return 0
+            end
+            redis.call('DEL', KEYS[1])
+            local n = (#ARGV - 5) / 2
+            for i = 0, n - 1 do
+                local id = ARGV[6 + 2 * i]
+                redis.call('ZADD', KEYS[1], n - i, id)
+                redis.call('SET', ARGV[5] .. id, ARGV[7 + 2 * i], 'EX', ARGV[3])
+            end
+            redis.call('EXPIRE', KEYS[1], ARGV[2])
+            redis.call('SET', KEYS[2], ARGV[4], 'EX', ARGV[2])
+            return 1
+            """, Long.class);
+
+    // Computed locally, as Redis does, so constructing the cache needs no connection
+    private static final String PAGE_SCRIPT_SHA = sha1Hex(PAGE_SCRIPT);
+
+    private final StringRedisTemplate redisTemplate;
+    private final SharedRedisConnection sharedRedisConnection;
+    private final ObjectMapper objectMapper;
+    private final CircuitBreaker redisCircuitBreaker;
+    private final RedisReplayBuffer replayBuffer;
+    private final Counter pageHits;
+    private final Counter pageMisses;
+    private final Counter pageErrors;
+    private final Counter postHits;
+    private final Counter postMisses;
+
+    @Value("${feedCache.feedTtlSeconds:60}")
+    private long feedTtlSeconds;
+
+    @Value("${feedCache.postTtlSeconds:600}")
+    private long postTtlSeconds;
+
+    /**
+     * A cached feed page. {@code items} is aligned with {@code postIds};
+     * entries whose body had expired are null and listed in {@code missingIds}.
+     */
+    public record CachedPage(String etag, long total, List<Long> postIds, List<FeedItem> items, List<Long> missingIds) {
+    }
+
+    public FeedCache(StringRedisTemplate redisTemplate,
+                     SharedRedisConnection sharedRedisConnection,
+                     ObjectMapper objectMapper,
+                     CircuitBreaker redisCircuitBreaker,
+                     RedisReplayBuffer replayBuffer,
+                     MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.sharedRedisConnection = sharedRedisConnection;
+        this.objectMapper = objectMapper;
+        this.redisCircuitBreaker = redisCircuitBreaker;
+        this.replayBuffer = replayBuffer;
+        this.pageHits = meterRegistry.counter("cache.requests", "cache", "feed.page", "result", "hit");
+        this.pageMisses = meterRegistry.counter("cache.requests", "cache", "feed.page", "result", "miss");
+        this.pageErrors = meterRegistry.counter("cache.requests", "cache", "feed.page", "result", "error");
+        this.postHits = meterRegistry.counter("cache.requests", "cache", "feed.post", "result", "hit");
+        this.postMisses = meterRegistry.counter("cache.requests", "cache", "feed.post", "result", "miss");
+    }
+
+    /**
+     * Reads one page of a cached feed without blocking. Fails immediately
+     * while the Redis circuit is open.
+     *
+     * @return the page, or null when the user has no cached feed
+     */
+    public CompletableFuture<CachedPage> readPage(Long userId, int offset, int size) {
+        if (!redisCircuitBreaker.allowRequest()) {
+            pageErrors.increment();
+            return CompletableFuture.failedFuture(new RedisConnectionFailureException("Redis circuit open"));
+        }
+        String[] keys = {FEED_KEY + userId, ETAG_KEY + userId};
+        String[] args = {String.valueOf(offset), String.valueOf(offset + size - 1), POST_KEY};
+        // Completes on a Lettuce thread, so the span is closed on the trace itself
+        RequestTrace trace = RequestTrace.current();
+        long span = trace == null ? RequestTrace.NONE : trace.enter("redis.feedPage");
+        // Connects on first use; a connect failure fails the page like any other outage
+        CompletionStage<List<Object>> result = sharedRedisConnection.async().thenCompose(async ->
+                async.<List<Object>>evalsha(PAGE_SCRIPT_SHA, ScriptOutputType.MULTI, keys, args)
+                        .handle((value, error) -> {
+                            if (error == null) {
+                                return CompletableFuture.completedFuture(value);
+                            }
+                            if (!isNoScript(error)) {
+                                return CompletableFuture.<List<Object>>failedFuture(error);
+                            }
+                            // First use after a restart or SCRIPT FLUSH: send the body once, it is cached from then on
+                            return async.<List<Object>>eval(PAGE_SCRIPT.getBytes(StandardCharsets.UTF_8), ScriptOutputType.MULTI, keys, args)
+                                    .toCompletableFuture();
+                        })
+                        .thenCompose(stage -> stage));
+        return result
+                .whenComplete((value, error) -> {
+                    if (trace != null) {
+                        trace.exit(span);
+                    }
+                    if (error == null) {
+                        redisCircuitBreaker.recordSuccess();
+                        return;
+                    }
+                    pageErrors.increment();
+                    if (CircuitBreakerRedisConnectionFactory.isOutage(error)) {
+                        redisCircuitBreaker.recordFailure();
+                    }
+                })
+                .thenApply(this::toPage)
+                .toCompletableFuture();
+    }
+
+    /**
+     * Current generation of a user's feed. Read before a rebuild's query and
+     * passed back to {@link #writeFeed}.
+     */
+    public String generation(Long userId) {
+        String generation = redisTemplate.opsForValue().get(GENERATION_KEY + userId);
+        return generation == null ? "0" : generation;
+    }
+
+    /**
+     * Replaces a user's cached feed with ranked posts (highest rank first)
+     * and refreshes the bodies of those posts, in one script call. Nothing is
+     * written if the feed was cleared since {@code generation} was read.
+     *
+     * @return false if the write was skipped because the feed was invalidated meanwhile
+     */
+    public boolean writeFeed(Long userId, List<FeedItem> ranked, String generation) {
+        String version = Long.toHexString(System.nanoTime()) + Integer.toHexString(ranked.hashCode());
+        Object[] args = new Object[5 + ranked.size() * 2];
+        args[0] = generation;
+        args[1] = String.valueOf(feedTtlSeconds);
+        args[2] = String.valueOf(postTtlSeconds);
+        args[3] = version;
+        args[4] = POST_KEY;
+        for (int i = 0; i < ranked.size(); i++) {
+            FeedItem item = ranked.get(i);
+            args[5 + i * 2] = String.valueOf(item.postId());
+            args[6 + i * 2] = toJson(item);
+        }
+        Long written = redisTemplate.execute(WRITE_FEED_SCRIPT,
+                List.of(FEED_KEY + userId, ETAG_KEY + userId, GENERATION_KEY + userId), args);
+        return written != null && written == 1;
+    }
+
+    /**
+     * Drops a user's cached feed and advances its generation, voiding rebuilds in flight.
+     */
+    public void clearFeed(Long userId) {
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            redis.del(FEED_KEY + userId, ETAG_KEY + userId);
+            redis.incr(GENERATION_KEY + userId);
+            redis.expire(GENERATION_KEY + userId, GENERATION_TTL_SECONDS);
+            return null;
+        });
+    }
+
+    /**
+     * Re-caches bodies hydrated from the database after a miss.
+     */
+    public void writePosts(List<FeedItem> items) {
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            for (FeedItem item : items) {
+                redis.setEx(POST_KEY + item.postId(), postTtlSeconds, toJson(item));
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Drops a user's cached feed once the current transaction commits,
+     * so their next read sees their own write. Buffered for replay if Redis is down.
+     */
+    public void invalidateAfterCommit(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    invalidate(userId);
+                } catch (Exception e) {
+                    logger.warn("Failed to invalidate feed cache for user {}: {}", userId, e.getMessage());
+                }
+            }
+        });
+    }
+
+    private void invalidate(Long userId) {
+        replayBuffer.runOrBuffer(replayKey(userId), () -> clearFeed(userId));
+    }
+
+    public void evictPost(Long postId) {
+        replayBuffer.runOrBuffer(POST_KEY + postId, () -> redisTemplate.delete(POST_KEY + postId));
+    }
+
+    /**
+     * Evicts many post bodies, e.g. every post repointed at a processed image,
+     * in deletes of up to EVICT_BATCH_SIZE keys.
+     */
+    public void evictPosts(Collection<Long> postIds) {
+        List<Long> sorted = postIds.stream().sorted().toList();
+        for (int from = 0; from < sorted.size(); from += EVICT_BATCH_SIZE) {
+            List<Long> batch = sorted.subList(from, Math.min(from + EVICT_BATCH_SIZE, sorted.size()));
+            if (batch.size() == 1) {
+                evictPost(batch.get(0));
+                continue;
+            }
+            List<String> keys = batch.stream().map(id -> POST_KEY + id).toList();
+            // Keyed by the ID range so a replay of the same batch collapses into one
+            replayBuffer.runOrBuffer(POST_KEY + batch.get(0) + ".." + batch.get(batch.size() - 1),
+                    () -> redisTemplate.delete(keys));
+        }
+    }
+
+    /**
+     * Whether Redis is currently believed reachable (circuit not open).
+     */
+    public boolean isAvailable() {
+        return redisCircuitBreaker.getState() != CircuitBreaker.State.OPEN;
+    }
+
+    /**
+     * Replay-buffer key for writes to a user's feed; a later clear or rebuild
+     * of the same feed supersedes an earlier one.
+     */
+    public static String replayKey(Long userId) {
+        return FEED_KEY + userId;
+    }
+
+    private static String sha1Hex(String script) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-1").digest(script.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 not available", e);
+        }
+    }
+
+    private static boolean isNoScript(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause.getMessage() != null && cause.getMessage().startsWith("NOSCRIPT");
+    }
+
+    // Package-private, with toJson, for the serialization benchmarks
+    @SuppressWarnings("unchecked")
+    CachedPage toPage(List<Object> result) {
+        long total = ((Number) result.get(1)).longValue();
+        if (total == 0) {
+            pageMisses.increment();
+            return null;
+        }
+        pageHits.increment();
+        String etag = (String) result.get(0);
+        List<Object> ids = (List<Object>) result.get(2);
+        List<Object> bodies = (List<Object>) result.get(3);
+
+        List<Long> postIds = new ArrayList<>(ids.size());
+        List<FeedItem> items = new ArrayList<>(ids.size());
+        List<Long> missing = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Long postId = Long.valueOf((String) ids.get(i));
+            FeedItem item = fromJson((String) bodies.get(i));
+            postIds.add(postId);
+            items.add(item);
+            if (item == null) {
+                missing.add(postId);
+            }
+        }
+        postHits.increment(postIds.size() - missing.size());
+        postMisses.increment(missing.size());
+        return new CachedPage(etag, total, postIds, items, missing);
+    }
+
+    String toJson(FeedItem item) {
+        try {
+            return objectMapper.writeValueAsString(item);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize feed item " + item.postId(), e);
+        }
+    }
+
+    private FeedItem fromJson(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, FeedItem.class);
+        } catch (JsonProcessingException e) {
+            logger.debug("Discarding unreadable cached post: {}", e.getMessage());
+            return null;
+        }
+    }
+}
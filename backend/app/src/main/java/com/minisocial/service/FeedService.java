@@ -0,0 +1,22 @@
+package com.minisocial.service;
+
+import com.minisocial.dto.FeedResponse;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface FeedService {
+    FeedResponse getFeed(Long userId, Integer page, Integer size);
+
+    /**
+     * Reads a feed page from the Redis feed cache without blocking the calling
+     * thread, falling back to the database on a miss or a Redis failure.
+     */
+    CompletableFuture<FeedPage> getFeedAsync(Long userId, Integer page, Integer size);
+
+    /**
+     * A feed page plus the cached feed version it was served from
+     * ({@code null} when it came from the database).
+     */
+    record FeedPage(FeedResponse response, String version) {
+    }
+}
@@ -0,0 +1,297 @@
+package com.minisocial.service;
+
+import com.minisocial.config.CircuitBreakerRedisConnectionFactory;
+import com.minisocial.dto.FeedItem;
+import com.minisocial.dto.FeedResponse;
+import com.minisocial.exception.ServiceUnavailableException;
+import com.minisocial.repository.PostRepository;
+import com.minisocial.util.RequestTrace;
+import com.minisocial.util.SingleFlight;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutor;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Service
+public class FeedServiceImpl implements FeedService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FeedServiceImpl.class);
+
+    private final PostRepository postRepository;
+    private final FeedCache feedCache;
+    private final FeedBuilder feedBuilder;
+    private final Executor taskExecutor;
+    private final TransactionTemplate readOnlyTransaction;
+    private final SingleFlight<PageKey, FeedPage> pageReads;
+    private final SingleFlight<Long, FeedItem> postHydration;
+    private final ConcurrencyLimits concurrencyLimits;
+
+    private final Timer readSuccessTimer;
+    private final Timer readErrorTimer;
+    private final Timer rankedQueryTimer;
+    private final Timer degradedQueryTimer;
+    private final Timer hydrateQueryTimer;
+    private final Counter cacheHits;
+    private final Counter hydratedHits;
+    private final Counter cacheMisses;
+    private final Counter degradedReads;
+    private final Counter fallbackReads;
+    private final Counter deepReads;
+
+    @Value("${redisFallback.degradedMaxFollowees:500}")
+    private int degradedMaxFollowees;
+
+    // Identity of a feed read; identical concurrent reads share one computation
+    private record PageKey(Long userId, int page, int size) {
+    }
+
+    public FeedServiceImpl(PostRepository postRepository,
+                           FeedCache feedCache,
+                           FeedBuilder feedBuilder,
+                           @Qualifier("taskExecutor") Executor taskExecutor,
+                           PlatformTransactionManager transactionManager,
+                           RequestCoalescing requestCoalescing,
+                           ConcurrencyLimits concurrencyLimits,
+                           MeterRegistry meterRegistry) {
+        this.postRepository = postRepository;
+        this.feedCache = feedCache;
+        this.feedBuilder = feedBuilder;
+        this.taskExecutor = taskExecutor;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.concurrencyLimits = concurrencyLimits;
+        this.pageReads = requestCoalescing.create("feed.page");
+        this.postHydration = requestCoalescing.create("feed.postHydration");
+
+        this.readSuccessTimer = readTimer(meterRegistry, "success");
+        this.readErrorTimer = readTimer(meterRegistry, "error");
+        this.rankedQueryTimer = queryTimer(meterRegistry, "ranked");
+        this.degradedQueryTimer = queryTimer(meterRegistry, "degraded");
+        this.hydrateQueryTimer = queryTimer(meterRegistry, "hydrate");
+        this.cacheHits = sourceCounter(meterRegistry, "cache");
+        this.hydratedHits = sourceCounter(meterRegistry, "cache_hydrated");
+        this.cacheMisses = sourceCounter(meterRegistry, "cache_miss");
+        this.degradedReads = sourceCounter(meterRegistry, "degraded");
+        this.fallbackReads = sourceCounter(meterRegistry, "cache_error");
+        this.deepReads = sourceCounter(meterRegistry, "deep_page");
+    }
+
+    private static Timer readTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("feed.read")
+                .description("Feed page reads, end to end (cache, fallback and hydration)")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static Timer queryTimer(MeterRegistry meterRegistry, String query) {
+        return Timer.builder("feed.query")
+                .description("Feed database queries including entity mapping")
+                .tag("query", query)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static Counter sourceCounter(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("feed.read.source")
+                .description("Where feed pages were served from")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Transactional(readOnly = true)  // Read from replica for better performance
+    public FeedResponse getFeed(Long userId, Integer page, Integer size) {
+        int p = normalizePage(page);
+        int s = normalizeSize(size);
+
+        Pageable pageable = PageRequest.of(p, s);
+
+        long span = RequestTrace.start("feed.query");
+        try {
+            List<FeedItem> items = rankedQueryTimer.record(() -> postRepository.findFeedForUser(userId, pageable).stream()
+                    .map(FeedItem::from)
+                    .toList());
+
+            return new FeedResponse(items, p, s);
+        } finally {
+            RequestTrace.end(span);
+        }
+    }
+
+    @Override
+    public CompletableFuture<FeedPage> getFeedAsync(Long userId, Integer page, Integer size) {
+        int p = normalizePage(page);
+        int s = normalizeSize(size);
+
+        long start = System.nanoTime();
+
+        // Retries and double-fired requests for the same page share one read
+        return pageReads.execute(new PageKey(userId, p, s), () -> readPage(userId, p, s))
+                .whenComplete((value, error) -> (error == null ? readSuccessTimer : readErrorTimer)
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS))
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof TimeoutException) {
+                        throw new ServiceUnavailableException("Feed is temporarily unavailable, please retry");
+                    }
+                    throw e instanceof CompletionException ce ? ce : new CompletionException(cause);
+                });
+    }
+
+    private CompletableFuture<FeedPage> readPage(Long userId, int p, int s) {
+        // Database work runs on the task executor as the caller, so replica routing
+        // still sees who is reading (read-your-writes pinning), and in the caller's trace
+        SecurityContext readerContext = SecurityContextHolder.getContext();
+        Executor executor = RequestTrace.propagating(new DelegatingSecurityContextExecutor(taskExecutor, readerContext));
+
+        if ((long) (p + 1) * s > FeedBuilder.FEED_SIZE) {
+            // Deep pages are beyond the cached window
+            deepReads.increment();
+            return fromDatabase(() -> getFeed(userId, p, s), executor);
+        }
+
+        return feedCache.readPage(userId, p * s, s)
+                .handle((cached, error) -> {
+                    if (error != null) {
+                        if (CircuitBreakerRedisConnectionFactory.isOutage(error)) {
+                            // Redis down or circuit open: bounded query, no cache fill
+                            logger.debug("Feed cache unavailable for user {}, serving degraded feed", userId);
+                            degradedReads.increment();
+                            return fromDatabase(() -> getDegradedFeed(userId, p, s), executor);
+                        }
+                        logger.warn("Feed cache read failed for user {}, using database: {}", userId, error.getMessage());
+                        fallbackReads.increment();
+                        return fromDatabase(() -> getFeed(userId, p, s), executor);
+                    }
+                    if (cached == null) {
+                        cacheMisses.increment();
+                        feedBuilder.fillFeed(userId, readerContext);
+                        return fromDatabase(() -> getFeed(userId, p, s), executor);
+                    }
+                    if (cached.missingIds().isEmpty()) {
+                        cacheHits.increment();
+                        return CompletableFuture.completedFuture(
+                                new FeedPage(new FeedResponse(cached.items(), p, s), cached.etag()));
+                    }
+                    hydratedHits.increment();
+                    return CompletableFuture.supplyAsync(() -> hydrate(cached, p, s), executor);
+                })
+                .thenCompose(page -> page);
+    }
+
+    /**
+     * Feed without Redis: newest posts from the user's most recent followees and
+     * their own posts, with strict limits. Cheaper than the ranked feed query,
+     * at the cost of leaving out other users' posts.
+     */
+    private FeedResponse getDegradedFeed(Long userId, int page, int size) {
+        int end = Math.min((page + 1) * size, FeedBuilder.FEED_SIZE);
+        long span = RequestTrace.start("feed.degradedQuery");
+        try {
+            List<FeedItem> items = degradedQueryTimer.record(() ->
+                    postRepository.findRecentFromFollowees(userId, degradedMaxFollowees, end).stream()
+                            .skip((long) page * size)
+                            .map(FeedItem::from)
+                            .toList());
+            return new FeedResponse(items, page, size);
+        } finally {
+            RequestTrace.end(span);
+        }
+    }
+
+    private CompletableFuture<FeedPage> fromDatabase(Supplier<FeedResponse> query, Executor executor) {
+        // Shed database fallbacks first so cache hits keep flowing when Postgres is slow
+        long slot = concurrencyLimits.acquireFeedDatabase();
+        boolean submitted = false;
+        try {
+            CompletableFuture<FeedPage> result = CompletableFuture.supplyAsync(() -> new FeedPage(
+                    readOnlyTransaction.execute(status -> query.get()), null), executor);
+            submitted = true;
+            return result.whenComplete((value, error) -> concurrencyLimits.releaseFeedDatabase(slot, error == null));
+        } finally {
+            if (!submitted) {
+                // Executor rejected the task
+                concurrencyLimits.releaseFeedDatabase(slot, false);
+            }
+        }
+    }
+
+    /**
+     * Fills in post bodies that expired from the cache and re-caches them.
+     * A post missing from many feeds at once is loaded and re-cached once.
+     * Posts deleted since the feed was built are dropped from the page.
+     */
+    private FeedPage hydrate(FeedCache.CachedPage cached, int page, int size) {
+        Map<Long, FeedItem> loaded = postHydration.executeAll(cached.missingIds(), this::loadPosts);
+
+        List<FeedItem> items = new ArrayList<>(cached.items().size());
+        for (int i = 0; i < cached.postIds().size(); i++) {
+            FeedItem item = cached.items().get(i);
+            if (item == null) {
+                item = loaded.get(cached.postIds().get(i));
+            }
+            if (item != null) {
+                items.add(item);
+            }
+        }
+
+        return new FeedPage(new FeedResponse(items, page, size), cached.etag());
+    }
+
+    private Map<Long, FeedItem> loadPosts(List<Long> postIds) {
+        long span = RequestTrace.start("feed.hydrate");
+        try {
+            return doLoadPosts(postIds);
+        } finally {
+            RequestTrace.end(span);
+        }
+    }
+
+    private Map<Long, FeedItem> doLoadPosts(List<Long> postIds) {
+        Map<Long, FeedItem> loaded = hydrateQueryTimer.record(() -> readOnlyTransaction.execute(status ->
+                postRepository.findAllById(postIds).stream()
+                        .map(FeedItem::from)
+                        .collect(Collectors.toMap(FeedItem::postId, Function.identity()))));
+        if (!loaded.isEmpty()) {
+            try {
+                feedCache.writePosts(List.copyOf(loaded.values()));
+            } catch (Exception e) {
+                logger.debug("Failed to re-cache hydrated posts: {}", e.getMessage());
+            }
+        }
+        return loaded;
+    }
+
+    private static int normalizePage(Integer page) {
+        return (page == null || page < 0) ? 0 : page;
+    }
+
+    private static int normalizeSize(Integer size) {
+        return (size == null || size <= 0) ? 20 : Math.min(size, 100);
+    }
+}
@@ -0,0 +1,25 @@
+package com.minisocial.service;
+
+/**
+ * Published when a follow edge is created or removed.
+ * Listeners that must only see committed state should use
+ * {@code @TransactionalEventListener}.
+ *
+ * @param followerId user who follows
+ * @param followingId user being followed
+ * @param followed true for follow, false for unfollow
+ */
+public record FollowChangedEvent(Long followerId, Long followingId, boolean followed) {
+
+    /**
+     * Compact wire form for cross-instance broadcast, e.g. "+:12:34" or "-:12:34".
+     */
+    public String encode() {
+        return (followed ? "+" : "-") + ":" + followerId + ":" + followingId;
+    }
+
+    public static FollowChangedEvent decode(String encoded) {
+        String[] parts = encoded.split(":", 3);
+        return new FollowChangedEvent(Long.valueOf(parts[1]), Long.valueOf(parts[2]), "+".equals(parts[0]));
+    }
+}
@@ -0,0 +1,325 @@
+package com.minisocial.service;
+
+import com.minisocial.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Write-behind follower/following counters.
+ * 
+ * Follow transactions no longer UPDATE the users row; committed deltas are
+ * accumulated with HINCRBY in a Redis hash and flushed periodically as one
+ * batched UPDATE per user, in ID order to avoid lock-order deadlocks.
+ * A trending account followed by thousands of users at once therefore takes
+ * one row lock per flush instead of one per follow.
+ * 
+ * Each batch carries an ID that is recorded in follow_counter_flushes in the
+ * same transaction as its updates, so a batch whose Redis cleanup failed after
+ * commit is recognised on retry and not applied twice.
+ * 
+ * If Redis is unavailable the delta is written straight to the database.
+ */
+@Component
+public class FollowCounters {
+
+    private static final Logger logger = LoggerFactory.getLogger(FollowCounters.class);
+
+    static final String PENDING_KEY = "counters:follows:pending";
+    static final String FLUSHING_KEY = "counters:follows:flushing";
+    private static final String LOCK_KEY = "counters:follows:lock";
+    // Hash field naming the batch in FLUSHING_KEY; user fields always contain ':'
+    private static final String BATCH_FIELD = "batch";
+    private static final String FOLLOWERS = ":followers";
+    private static final String FOLLOWING = ":following";
+
+    // Releases the lock only if it still holds our token, not a later flush's
+    private static final RedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    // Applies all of a change's deltas or none, so the direct-write fallback never
+    // repeats a side that already reached Redis. ARGV: (field, delta) pairs
+    private static final RedisScript<Long> INCREMENT_SCRIPT = new DefaultRedisScript<>("""
+            for i = 1, #ARGV, 2 do
+                redis.call('HINCRBY', KEYS[1], ARGV[i], ARGV[i + 1])
+            end
+            return 1
+            """, Long.class);
+
+    // Reads a user's pending and in-flight deltas and the in-flight batch ID at one instant, so a
+    // flush renaming PENDING_KEY between two reads cannot hide or repeat them.
+    // Returns {pending followers, pending following, flushing followers, flushing following, batch ID}
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> READ_DELTAS_SCRIPT = new DefaultRedisScript<>("""
+            local pending = redis.call('HMGET', KEYS[1], ARGV[1], ARGV[2])
+            local flushing = redis.call('HMGET', KEYS[2], ARGV[1], ARGV[2], ARGV[3])
+            return {pending[1], pending[2], flushing[1], flushing[2], flushing[3]}
+            """, List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${followCounters.writeBehind:true}")
+    private boolean writeBehind;
+
+    /**
+     * Persisted counts plus deltas not yet flushed.
+     */
+    public record Counts(long followers, long following) {
+    }
+
+    public FollowCounters(StringRedisTemplate redisTemplate,
+                          UserRepository userRepository,
+                          JdbcTemplate jdbcTemplate,
+                          PlatformTransactionManager transactionManager) {
+        this.redisTemplate = redisTemplate;
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        // REQUIRES_NEW: the fallback write runs from an afterCommit callback of the follow transaction
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Records a follow (delta = 1) or unfollow (delta = -1) between two users.
+     * Inside a transaction the deltas are recorded only after commit.
+     */
+    public void recordFollow(Long followerId, Long followingId, int delta) {
+        if (!writeBehind) {
+            applyDirect(followerId, followingId, delta);
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recordPending(followerId, followingId, delta);
+                }
+            });
+        } else {
+            recordPending(followerId, followingId, delta);
+        }
+    }
+
+    /**
+     * Records one follower following (delta = 1) or unfollowing (delta = -1) many
+     * users, e.g. a bulk onboarding follow. Write-behind mode applies the deltas
+     * in one script call; direct mode issues one grouped UPDATE per side.
+     */
+    public void recordFollows(Long followerId, List<Long> followingIds, int delta) {
+        if (followingIds.isEmpty()) {
+            return;
+        }
+        if (!writeBehind) {
+            applyDirect(followerId, followingIds, delta);
+            return;
+        }
+        Runnable record = () -> {
+            try {
+                Object[] args = new Object[2 + followingIds.size() * 2];
+                args[0] = followerId + FOLLOWING;
+                args[1] = String.valueOf(followingIds.size() * delta);
+                for (int i = 0; i < followingIds.size(); i++) {
+                    args[2 + i * 2] = followingIds.get(i) + FOLLOWERS;
+                    args[3 + i * 2] = String.valueOf(delta);
+                }
+                redisTemplate.execute(INCREMENT_SCRIPT, List.of(PENDING_KEY), args);
+            } catch (Exception e) {
+                logger.warn("Redis unavailable for follow counters, writing directly: {}", e.getMessage());
+                transactionTemplate.executeWithoutResult(status -> applyDirect(followerId, followingIds, delta));
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record.run();
+                }
+            });
+        } else {
+            record.run();
+        }
+    }
+
+    /**
+     * Returns a user's counts including deltas that have not been flushed yet.
+     * 
+     * The deltas are read first and the row afterwards, in one statement that
+     * also checks whether the in-flight batch has committed; its deltas are
+     * added only if the row does not include them yet. A batch that commits
+     * between the two reads is therefore counted exactly once.
+     *
+     * @return empty if the user does not exist
+     */
+    public Optional<Counts> getCounts(Long userId) {
+        List<?> deltas = null;
+        try {
+            deltas = redisTemplate.execute(READ_DELTAS_SCRIPT, List.of(PENDING_KEY, FLUSHING_KEY),
+                    userId + FOLLOWERS, userId + FOLLOWING, BATCH_FIELD);
+        } catch (Exception e) {
+            logger.debug("Pending follow counts unavailable for user {}: {}", userId, e.getMessage());
+        }
+        Object batchId = deltas == null ? null : deltas.get(4);
+
+        List<long[]> rows = jdbcTemplate.query("""
+                SELECT u.follower_count, u.following_count,
+                       EXISTS (SELECT 1 FROM follow_counter_flushes f WHERE f.batch_id = ?) AS applied
+                  FROM users u
+                 WHERE u.id = ?
+                """,
+                (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2), rs.getBoolean(3) ? 1 : 0},
+                batchId == null ? null : batchId.toString(), userId);
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        long[] row = rows.get(0);
+        long followers = row[0];
+        long following = row[1];
+        if (deltas != null) {
+            followers += parse(deltas.get(0));
+            following += parse(deltas.get(1));
+            if (row[2] == 0) {
+                followers += parse(deltas.get(2));
+                following += parse(deltas.get(3));
+            }
+        }
+        return Optional.of(new Counts(Math.max(0, followers), Math.max(0, following)));
+    }
+
+    /**
+     * Flushes accumulated deltas. Pending deltas are atomically renamed aside so
+     * new follows keep accumulating while the batch is written. A batch left
+     * behind by a failed flush is retried first.
+     */
+    @Scheduled(fixedDelayString = "${followCounters.flushIntervalMs:5000}")
+    public void flush() {
+        if (!writeBehind) {
+            return;
+        }
+        try {
+            // A flush outliving the lock must not release the next holder's lock
+            String token = UUID.randomUUID().toString();
+            Boolean locked = redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, token, Duration.ofMinutes(1));
+            if (!Boolean.TRUE.equals(locked)) {
+                return;
+            }
+            try {
+                if (!Boolean.TRUE.equals(redisTemplate.hasKey(FLUSHING_KEY))) {
+                    if (!Boolean.TRUE.equals(redisTemplate.hasKey(PENDING_KEY))) {
+                        return;
+                    }
+                    redisTemplate.renameIfAbsent(PENDING_KEY, FLUSHING_KEY);
+                }
+                // Kept on retries of the same batch, so the batch is applied at most once
+                redisTemplate.opsForHash().putIfAbsent(FLUSHING_KEY, BATCH_FIELD, UUID.randomUUID().toString());
+                Map<Object, Object> deltas = redisTemplate.opsForHash().entries(FLUSHING_KEY);
+                String batchId = String.valueOf(deltas.remove(BATCH_FIELD));
+                int users = writeBatch(batchId, deltas);
+                redisTemplate.delete(FLUSHING_KEY);
+                logger.debug("Flushed follow counters for {} users", users);
+            } finally {
+                redisTemplate.execute(UNLOCK_SCRIPT, List.of(LOCK_KEY), token);
+            }
+        } catch (Exception e) {
+            logger.warn("Follow counter flush failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    private int writeBatch(String batchId, Map<Object, Object> deltas) {
+        // userId -> {followersDelta, followingDelta}, sorted so row locks are taken in a fixed order
+        TreeMap<Long, long[]> byUser = new TreeMap<>();
+        deltas.forEach((field, value) -> {
+            String name = field.toString();
+            int separator = name.indexOf(':');
+            long userId = Long.parseLong(name.substring(0, separator));
+            long[] pair = byUser.computeIfAbsent(userId, id -> new long[2]);
+            pair[name.endsWith(FOLLOWERS) ? 0 : 1] += parse(value);
+        });
+        byUser.values().removeIf(pair -> pair[0] == 0 && pair[1] == 0);
+        if (byUser.isEmpty()) {
+            return 0;
+        }
+
+        List<Object[]> args = new ArrayList<>(byUser.size());
+        byUser.forEach((userId, pair) -> args.add(new Object[]{pair[0], pair[1], userId}));
+        Integer applied = transactionTemplate.execute(status -> {
+            int marked = jdbcTemplate.update("""
+                    INSERT INTO follow_counter_flushes (batch_id, applied_at) VALUES (?, now())
+                    ON CONFLICT (batch_id) DO NOTHING
+                    """, batchId);
+            if (marked == 0) {
+                logger.info("Follow counter batch {} was already applied, discarding it", batchId);
+                return 0;
+            }
+            jdbcTemplate.batchUpdate("""
+                    UPDATE users
+                       SET follower_count = GREATEST(follower_count + ?, 0),
+                           following_count = GREATEST(following_count + ?, 0)
+                     WHERE id = ?
+                    """, args);
+            // Markers only need to outlive a retry of their batch
+            jdbcTemplate.update("DELETE FROM follow_counter_flushes WHERE applied_at < now() - interval '1 day'");
+            return byUser.size();
+        });
+        return applied == null ? 0 : applied;
+    }
+
+    private void recordPending(Long followerId, Long followingId, int delta) {
+        try {
+            redisTemplate.execute(INCREMENT_SCRIPT, List.of(PENDING_KEY),
+                    followerId + FOLLOWING, String.valueOf(delta), followingId + FOLLOWERS, String.valueOf(delta));
+        } catch (Exception e) {
+            logger.warn("Redis unavailable for follow counters, writing directly: {}", e.getMessage());
+            transactionTemplate.executeWithoutResult(status -> applyDirect(followerId, followingId, delta));
+        }
+    }
+
+    private void applyDirect(Long followerId, Long followingId, int delta) {
+        if (delta > 0) {
+            userRepository.incFollowing(followerId);
+            userRepository.incFollowers(followingId);
+        } else {
+            userRepository.decFollowing(followerId);
+            userRepository.decFollowers(followingId);
+        }
+    }
+
+    private void applyDirect(Long followerId, List<Long> followingIds, int delta) {
+        if (delta > 0) {
+            userRepository.incFollowingBy(followerId, followingIds.size());
+            userRepository.incFollowersIn(followingIds);
+        } else {
+            userRepository.decFollowingBy(followerId, followingIds.size());
+            userRepository.decFollowersIn(followingIds);
+        }
+    }
+
+    private static long parse(Object value) {
+        return value == null ? 0 : Long.parseLong(value.toString());
+    }
+}
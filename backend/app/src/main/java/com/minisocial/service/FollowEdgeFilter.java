@@ -0,0 +1,134 @@
+package com.minisocial.service;
+
+import com.minisocial.repository.FollowRepository;
+import com.minisocial.util.CountingBloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Probabilistic membership filter over follow edges.
+ * 
+ * Lets the follow path skip its existence checks: a negative means the edge
+ * almost certainly does not exist, so the insert can go straight to the database
+ * and the unique/foreign-key constraints settle the rare miss. Only positives
+ * need the exact lookup.
+ * 
+ * Built in memory from the follows table and kept current from locally committed
+ * follow/unfollow events. Changes made on other instances are picked up by the
+ * periodic rebuild, which also resizes the filter as the graph grows. Every
+ * inaccuracy (stale or double-applied events) is safe because the database
+ * remains the source of truth.
+ */
+@Component
+public class FollowEdgeFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(FollowEdgeFilter.class);
+
+    private final FollowRepository followRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private volatile CountingBloomFilter filter;
+    private final Queue<FollowChangedEvent> pendingDuringBuild = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean building = new AtomicBoolean();
+
+    @Value("${followEdgeFilter.enabled:true}")
+    private boolean enabled;
+
+    @Value("${followEdgeFilter.falsePositiveRate:0.01}")
+    private double falsePositiveRate;
+
+    // Headroom so the filter stays within its false-positive target between rebuilds
+    @Value("${followEdgeFilter.growthFactor:1.5}")
+    private double growthFactor;
+
+    public FollowEdgeFilter(FollowRepository followRepository, PlatformTransactionManager transactionManager) {
+        this.followRepository = followRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Returns false only when the edge is almost certainly absent.
+     * Until the first build completes every edge is reported as possibly present.
+     */
+    public boolean mightFollow(long followerId, long followingId) {
+        CountingBloomFilter current = filter;
+        return current == null || current.mightContain(followerId, followingId);
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        rebuild();
+    }
+
+    /**
+     * Rebuilds the filter from the follows table and swaps it in.
+     */
+    @Scheduled(fixedDelayString = "${followEdgeFilter.rebuildIntervalMs:900000}",
+            initialDelayString = "${followEdgeFilter.rebuildIntervalMs:900000}")
+    public void rebuild() {
+        if (!enabled || !building.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long start = System.nanoTime();
+            CountingBloomFilter next = readOnlyTransaction.execute(status -> {
+                long expected = (long) (followRepository.count() * growthFactor) + 1024;
+                CountingBloomFilter built = new CountingBloomFilter(expected, falsePositiveRate);
+                try (Stream<Object[]> rows = followRepository.streamAllEdges()) {
+                    rows.forEach(row -> built.add(((Number) row[0]).longValue(), ((Number) row[1]).longValue()));
+                }
+                return built;
+            });
+
+            filter = next;
+            building.set(false);
+            // Replay changes that raced with the snapshot; duplicates only add false positives
+            FollowChangedEvent event;
+            while ((event = pendingDuringBuild.poll()) != null) {
+                apply(next, event);
+            }
+            logger.info("Follow edge filter built: {} KB in {} ms",
+                    next.sizeInBytes() / 1024, (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            logger.error("Failed to build follow edge filter, keeping previous one. Error: {}", e.getMessage(), e);
+            pendingDuringBuild.clear();
+        } finally {
+            building.set(false);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onFollowChanged(FollowChangedEvent event) {
+        if (building.get()) {
+            pendingDuringBuild.add(event);
+        }
+        CountingBloomFilter current = filter;
+        if (current != null) {
+            apply(current, event);
+        }
+    }
+
+    private static void apply(CountingBloomFilter target, FollowChangedEvent event) {
+        if (event.followed()) {
+            target.add(event.followerId(), event.followingId());
+        } else {
+            target.remove(event.followerId(), event.followingId());
+        }
+    }
+}
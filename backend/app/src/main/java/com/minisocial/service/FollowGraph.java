@@ -0,0 +1,300 @@
+package com.minisocial.service;
+
+import com.minisocial.repository.FollowRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * In-process index of the follow graph.
+ * 
+ * Forward (following) and reverse (followers) adjacency are kept as sorted
+ * primitive long arrays per user, replaced copy-on-write on every change, so
+ * readers never lock and lookups are binary searches over contiguous memory.
+ * 
+ * The index is loaded at startup by streaming the follows table and kept current
+ * from committed follow/unfollow events, which are also broadcast over Redis so
+ * every instance applies them. Until loading finishes {@link #isReady()} is false
+ * and callers should fall back to the database.
+ * 
+ * Redis pub/sub is at-most-once: an instance that is disconnected, restarting its
+ * subscription or too slow to keep up silently misses events. The graph is therefore
+ * reloaded from the database every followGraph.reloadIntervalMs, which bounds how
+ * long a missed event can leave it diverged. A reload briefly holds two copies.
+ */
+@Component
+public class FollowGraph implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(FollowGraph.class);
+    private static final String CHANNEL = "follows:events";
+    private static final long[] EMPTY = new long[0];
+
+    private final FollowRepository followRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private volatile Map<Long, long[]> following = new ConcurrentHashMap<>();
+    private volatile Map<Long, long[]> followers = new ConcurrentHashMap<>();
+    private final Queue<FollowChangedEvent> pendingDuringLoad = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean loading = new AtomicBoolean();
+    private volatile boolean ready;
+
+    @Value("${followGraph.enabled:true}")
+    private boolean enabled;
+
+    public FollowGraph(FollowRepository followRepository,
+                       StringRedisTemplate redisTemplate,
+                       RedisMessageListenerContainer listenerContainer,
+                       PlatformTransactionManager transactionManager) {
+        this.followRepository = followRepository;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Subscribes to changes from other instances and loads the graph.
+     * Runs in the background so a large graph does not delay startup.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (!enabled) {
+            return;
+        }
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+        load();
+    }
+
+    /**
+     * Loads the graph by streaming the follows table and swaps it in. On failure
+     * the previous graph, if any, keeps serving.
+     */
+    @Scheduled(fixedDelayString = "${followGraph.reloadIntervalMs:900000}",
+            initialDelayString = "${followGraph.reloadIntervalMs:900000}")
+    public void load() {
+        if (!enabled || !loading.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long start = System.nanoTime();
+            Map<Long, LongList> forward = new HashMap<>();
+            Map<Long, LongList> reverse = new HashMap<>();
+            long edges = readOnlyTransaction.execute(status -> {
+                long count = 0;
+                try (Stream<Object[]> rows = followRepository.streamAllEdges()) {
+                    for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+                        long followerId = ((Number) row[0]).longValue();
+                        long followingId = ((Number) row[1]).longValue();
+                        forward.computeIfAbsent(followerId, id -> new LongList()).add(followingId);
+                        reverse.computeIfAbsent(followingId, id -> new LongList()).add(followerId);
+                        count++;
+                    }
+                }
+                return count;
+            });
+
+            following = freeze(forward);
+            followers = freeze(reverse);
+            ready = true;
+            logger.info("Follow graph loaded: {} users, {} edges in {} ms",
+                    following.size(), edges, (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            logger.error("Failed to load follow graph{}. Error: {}",
+                    ready ? ", keeping previous one" : ", falling back to database lookups", e.getMessage(), e);
+        } finally {
+            loading.set(false);
+            // Replay changes that raced with the snapshot; apply is idempotent
+            FollowChangedEvent event;
+            while ((event = pendingDuringLoad.poll()) != null) {
+                apply(event);
+            }
+        }
+    }
+
+    /**
+     * Applies a committed follow change locally and broadcasts it to other instances.
+     */
+    @TransactionalEventListener
+    public void onFollowChanged(FollowChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        apply(event);
+        try {
+            redisTemplate.convertAndSend(CHANNEL, event.encode());
+        } catch (Exception e) {
+            logger.warn("Failed to broadcast follow change {}: {}", event.encode(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        apply(FollowChangedEvent.decode(new String(message.getBody(), StandardCharsets.UTF_8)));
+    }
+
+    private void apply(FollowChangedEvent event) {
+        if (loading.get()) {
+            pendingDuringLoad.add(event);
+        }
+        long followerId = event.followerId();
+        long followingId = event.followingId();
+        if (event.followed()) {
+            following.compute(followerId, (id, ids) -> insert(ids, followingId));
+            followers.compute(followingId, (id, ids) -> insert(ids, followerId));
+        } else {
+            following.computeIfPresent(followerId, (id, ids) -> remove(ids, followingId));
+            followers.computeIfPresent(followingId, (id, ids) -> remove(ids, followerId));
+        }
+    }
+
+    // Lookups
+
+    public boolean follows(long followerId, long followingId) {
+        return Arrays.binarySearch(following(followerId), followingId) >= 0;
+    }
+
+    /**
+     * Returns the sorted IDs the user follows. The array is shared; do not modify it.
+     */
+    public long[] following(long userId) {
+        return following.getOrDefault(userId, EMPTY);
+    }
+
+    /**
+     * Returns the sorted IDs following the user. The array is shared; do not modify it.
+     */
+    public long[] followers(long userId) {
+        return followers.getOrDefault(userId, EMPTY);
+    }
+
+    /**
+     * Intersects two sorted ID arrays, galloping through the larger one when
+     * their sizes differ a lot (e.g. a regular user against a celebrity).
+     */
+    public static long[] intersect(long[] a, long[] b) {
+        if (a.length > b.length) {
+            long[] swap = a;
+            a = b;
+            b = swap;
+        }
+        long[] result = new long[a.length];
+        int size = 0;
+        if (b.length > a.length * 16L) {
+            int from = 0;
+            for (long value : a) {
+                int index = Arrays.binarySearch(b, from, b.length, value);
+                if (index >= 0) {
+                    result[size++] = value;
+                    from = index + 1;
+                } else {
+                    from = -index - 1;
+                }
+                if (from >= b.length) {
+                    break;
+                }
+            }
+        } else {
+            int i = 0;
+            int j = 0;
+            while (i < a.length && j < b.length) {
+                if (a[i] < b[j]) {
+                    i++;
+                } else if (a[i] > b[j]) {
+                    j++;
+                } else {
+                    result[size++] = a[i];
+                    i++;
+                    j++;
+                }
+            }
+        }
+        return size == result.length ? result : Arrays.copyOf(result, size);
+    }
+
+    private static long[] insert(long[] ids, long value) {
+        if (ids == null) {
+            return new long[]{value};
+        }
+        int index = Arrays.binarySearch(ids, value);
+        if (index >= 0) {
+            return ids;
+        }
+        int at = -index - 1;
+        long[] updated = new long[ids.length + 1];
+        System.arraycopy(ids, 0, updated, 0, at);
+        updated[at] = value;
+        System.arraycopy(ids, at, updated, at + 1, ids.length - at);
+        return updated;
+    }
+
+    private static long[] remove(long[] ids, long value) {
+        int index = Arrays.binarySearch(ids, value);
+        if (index < 0) {
+            return ids;
+        }
+        if (ids.length == 1) {
+            return null; // drops the map entry
+        }
+        long[] updated = new long[ids.length - 1];
+        System.arraycopy(ids, 0, updated, 0, index);
+        System.arraycopy(ids, index + 1, updated, index, ids.length - index - 1);
+        return updated;
+    }
+
+    private static Map<Long, long[]> freeze(Map<Long, LongList> lists) {
+        Map<Long, long[]> frozen = new ConcurrentHashMap<>(lists.size() * 4 / 3 + 1);
+        lists.forEach((id, list) -> frozen.put(id, list.toSortedArray()));
+        return frozen;
+    }
+
+    /**
+     * Minimal growable primitive list used only while loading.
+     */
+    private static final class LongList {
+        private long[] values = new long[4];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toSortedArray() {
+            long[] sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+}
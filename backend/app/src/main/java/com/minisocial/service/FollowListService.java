@@ -0,0 +1,39 @@
+package com.minisocial.service;
+
+import com.minisocial.dto.FollowCountsResponse;
+import com.minisocial.dto.FollowListResponse;
+
+/**
+ * Service interface for paginated follower/following lists.
+ */
+public interface FollowListService {
+
+    /**
+     * Lists users following the given user, newest first.
+     * 
+     * @param userId The user whose followers to list
+     * @param cursor Opaque cursor from the previous page, or null for the first page
+     * @param size Page size
+     * @return FollowListResponse with the page and the cursor for the next one
+     */
+    FollowListResponse getFollowers(Long userId, String cursor, Integer size);
+
+    /**
+     * Lists users the given user follows, most recently followed first.
+     * 
+     * @param userId The user whose followees to list
+     * @param cursor Opaque cursor from the previous page, or null for the first page
+     * @param size Page size
+     * @return FollowListResponse with the page and the cursor for the next one
+     */
+    FollowListResponse getFollowing(Long userId, String cursor, Integer size);
+
+    /**
+     * Returns how many users follow the given user and how many it follows,
+     * including write-behind deltas not yet flushed to the database.
+     * 
+     * @param userId The user whose counts to return
+     * @return FollowCountsResponse with both counts
+     */
+    FollowCountsResponse getCounts(Long userId);
+}
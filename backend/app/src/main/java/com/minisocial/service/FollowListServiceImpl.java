@@ -0,0 +1,255 @@
+package com.minisocial.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.minisocial.dto.FollowCountsResponse;
+import com.minisocial.dto.FollowListItem;
+import com.minisocial.dto.FollowListResponse;
+import com.minisocial.exception.InvalidRequestException;
+import com.minisocial.exception.ResourceNotFoundException;
+import com.minisocial.repository.FollowListRow;
+import com.minisocial.repository.FollowRepository;
+import com.minisocial.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Keyset-paginated follower/following lists.
+ * 
+ * Pages are read with (created_at, id) cursors over composite indexes, so every
+ * page costs one index range scan no matter how deep the client has paged.
+ * The first page (at maximum size) is cached per user in Redis and dropped on
+ * any follow change touching that user. Counts come from the users row plus
+ * the write-behind deltas held by {@link FollowCounters}.
+ * 
+ * Each cached page has a generation (&lt;key&gt;:gen) bumped by every drop. A fill
+ * reads it before its query and writes only if it is unchanged, so a page read
+ * from the database before a follow change cannot be cached after it, as with
+ * {@link FeedCache#writeFeed}.
+ */
+@Service
+public class FollowListServiceImpl implements FollowListService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FollowListServiceImpl.class);
+    private static final String FOLLOWERS_KEY = "follows:followers:";
+    private static final String FOLLOWING_KEY = "follows:following:";
+    private static final String GENERATION_SUFFIX = ":gen";
+    private static final int MAX_SIZE = 100;
+    // Far longer than any fill; an expired generation reads as "0" and only voids fills in flight
+    private static final long GENERATION_TTL_SECONDS = 86_400;
+
+    // Writes the page unless its generation moved since the fill read it; returns 1 if written.
+    // ARGV: expected generation, page TTL, page JSON
+    private static final RedisScript<Long> WRITE_PAGE_SCRIPT = new DefaultRedisScript<>("""
+            if (redis.call('GET', KEYS[2]) or '0') ~= ARGV[1] then
+                return 0
+            end
+            redis.call('SET', KEYS[1], ARGV[3], 'EX', ARGV[2])
+            return 1
+            """, Long.class);
+
+    // Drops the page and advances its generation, voiding fills in flight. ARGV: generation TTL
+    private static final RedisScript<Long> DROP_PAGE_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('DEL', KEYS[1])
+            redis.call('INCR', KEYS[2])
+            redis.call('EXPIRE', KEYS[2], ARGV[1])
+            return 1
+            """, Long.class);
+
+    private final FollowRepository followRepository;
+    private final UserRepository userRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final RedisReplayBuffer replayBuffer;
+    private final FollowCounters followCounters;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+
+    @Value("${followLists.firstPageTtlSeconds:600}")
+    private long firstPageTtlSeconds;
+
+    // Cached form keeps the follow ID needed to build cursors
+    record Row(Long followId, Long userId, Instant createdAt) {
+    }
+
+    private interface PageQuery {
+        List<FollowListRow> fetch(Long userId, Instant createdAt, Long followId, PageRequest pageRequest);
+    }
+
+    public FollowListServiceImpl(
+            FollowRepository followRepository,
+            UserRepository userRepository,
+            StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper,
+            RedisReplayBuffer replayBuffer,
+            FollowCounters followCounters,
+            MeterRegistry meterRegistry) {
+        this.followRepository = followRepository;
+        this.userRepository = userRepository;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.replayBuffer = replayBuffer;
+        this.followCounters = followCounters;
+        this.cacheHits = meterRegistry.counter("cache.requests", "cache", "follow.list", "result", "hit");
+        this.cacheMisses = meterRegistry.counter("cache.requests", "cache", "follow.list", "result", "miss");
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public FollowListResponse getFollowers(Long userId, String cursor, Integer size) {
+        return page(FOLLOWERS_KEY + userId, userId, cursor, size,
+                (id, createdAt, followId, pageRequest) -> createdAt == null
+                        ? followRepository.findFollowersFirstPage(id, pageRequest)
+                        : followRepository.findFollowersAfter(id, createdAt, followId, pageRequest));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public FollowListResponse getFollowing(Long userId, String cursor, Integer size) {
+        return page(FOLLOWING_KEY + userId, userId, cursor, size,
+                (id, createdAt, followId, pageRequest) -> createdAt == null
+                        ? followRepository.findFollowingFirstPage(id, pageRequest)
+                        : followRepository.findFollowingAfter(id, createdAt, followId, pageRequest));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public FollowCountsResponse getCounts(Long userId) {
+        FollowCounters.Counts counts = followCounters.getCounts(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
+        return new FollowCountsResponse(userId, counts.followers(), counts.following());
+    }
+
+    /**
+     * Drops cached first pages of both users once a follow change commits
+     * (after Redis recovers, if it is down).
+     */
+    @TransactionalEventListener
+    public void onFollowChanged(FollowChangedEvent event) {
+        try {
+            replayBuffer.runOrBuffer(FOLLOWERS_KEY + event.followingId(),
+                    () -> dropFirstPage(FOLLOWERS_KEY + event.followingId()));
+            replayBuffer.runOrBuffer(FOLLOWING_KEY + event.followerId(),
+                    () -> dropFirstPage(FOLLOWING_KEY + event.followerId()));
+        } catch (Exception e) {
+            logger.warn("Failed to invalidate follow list cache for {}: {}", event.encode(), e.getMessage());
+        }
+    }
+
+    private FollowListResponse page(String cacheKey, Long userId, String cursor, Integer size, PageQuery query) {
+        int s = (size == null || size <= 0) ? 20 : Math.min(size, MAX_SIZE);
+
+        List<Row> rows;
+        if (cursor == null || cursor.isEmpty()) {
+            rows = readFirstPage(cacheKey);
+            (rows == null ? cacheMisses : cacheHits).increment();
+            if (rows == null) {
+                if (!userRepository.existsById(userId)) {
+                    throw new ResourceNotFoundException("User not found with ID: " + userId);
+                }
+                String generation = readGeneration(cacheKey);
+                rows = toRows(query.fetch(userId, null, null, PageRequest.of(0, MAX_SIZE)));
+                if (generation != null) {
+                    writeFirstPage(cacheKey, rows, generation);
+                }
+            }
+            // Full first page is cached; serve any requested size from it
+            boolean more = rows.size() > s || rows.size() == MAX_SIZE;
+            rows = rows.subList(0, Math.min(s, rows.size()));
+            return toResponse(rows, more && !rows.isEmpty());
+        }
+
+        Row after = decodeCursor(cursor);
+        rows = toRows(query.fetch(userId, after.createdAt(), after.followId(), PageRequest.of(0, s)));
+        return toResponse(rows, rows.size() == s);
+    }
+
+    private FollowListResponse toResponse(List<Row> rows, boolean more) {
+        List<FollowListItem> items = rows.stream()
+                .map(row -> new FollowListItem(row.userId(), row.createdAt()))
+                .toList();
+        String nextCursor = more ? encodeCursor(rows.get(rows.size() - 1)) : null;
+        return new FollowListResponse(items, nextCursor);
+    }
+
+    private static List<Row> toRows(List<FollowListRow> rows) {
+        return rows.stream()
+                .map(row -> new Row(row.getFollowId(), row.getUserId(), row.getCreatedAt()))
+                .toList();
+    }
+
+    // Cursor: base64url("<epochSecond>.<nanos>:<followId>")
+    private static String encodeCursor(Row row) {
+        String raw = row.createdAt().getEpochSecond() + "." + row.createdAt().getNano() + ":" + row.followId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Row decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int dot = raw.indexOf('.');
+            int colon = raw.indexOf(':');
+            Instant createdAt = Instant.ofEpochSecond(
+                    Long.parseLong(raw.substring(0, dot)), Long.parseLong(raw.substring(dot + 1, colon)));
+            return new Row(Long.valueOf(raw.substring(colon + 1)), null, createdAt);
+        } catch (RuntimeException e) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+    }
+
+    private List<Row> readFirstPage(String cacheKey) {
+        try {
+            String json = redisTemplate.opsForValue().get(cacheKey);
+            return json == null ? null : objectMapper.readValue(json, new TypeReference<List<Row>>() { });
+        } catch (Exception e) {
+            logger.debug("Follow list cache read failed for {}: {}", cacheKey, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @return the page's generation, or null if Redis is unreachable and the fill should not be cached
+     */
+    private String readGeneration(String cacheKey) {
+        try {
+            String generation = redisTemplate.opsForValue().get(cacheKey + GENERATION_SUFFIX);
+            return generation == null ? "0" : generation;
+        } catch (Exception e) {
+            logger.debug("Follow list generation read failed for {}: {}", cacheKey, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeFirstPage(String cacheKey, List<Row> rows, String generation) {
+        try {
+            Long written = redisTemplate.execute(WRITE_PAGE_SCRIPT,
+                    List.of(cacheKey, cacheKey + GENERATION_SUFFIX),
+                    generation, String.valueOf(firstPageTtlSeconds), objectMapper.writeValueAsString(rows));
+            if (written == null || written == 0) {
+                logger.debug("Skipped caching {}: follows changed during the read", cacheKey);
+            }
+        } catch (Exception e) {
+            logger.debug("Follow list cache write failed for {}: {}", cacheKey, e.getMessage());
+        }
+    }
+
+    private void dropFirstPage(String cacheKey) {
+        redisTemplate.execute(DROP_PAGE_SCRIPT, List.of(cacheKey, cacheKey + GENERATION_SUFFIX),
+                String.valueOf(GENERATION_TTL_SECONDS));
+    }
+}
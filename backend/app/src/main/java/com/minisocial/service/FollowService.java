@@ -0,0 +1,42 @@
+package com.minisocial.service;
+
+import com.minisocial.dto.BatchFollowResponse;
+import com.minisocial.dto.BatchUnfollowResponse;
+import com.minisocial.dto.FollowResponse;
+
+import java.util.List;
+
+/**
+ * Service interface for follow-related operations.
+ */
+public interface FollowService {
+
+    /**
+     * Creates a follow relationship between two users.
+     * 
+     * @param followerId The ID of the user who is following
+     * @param targetUserId The ID of the user to be followed
+     * @return FollowResponse containing the follow relationship details
+     */
+    FollowResponse followUser(Long followerId, Long targetUserId);
+
+    void unfollowUser(Long followerId, Long targetUserId);
+
+    /**
+     * Follows many users at once with batched writes and a single feed rebuild.
+     * 
+     * @param followerId The ID of the user who is following
+     * @param targetUserIds The IDs of the users to be followed
+     * @return BatchFollowResponse listing followed, already-followed and unknown IDs
+     */
+    BatchFollowResponse followUsers(Long followerId, List<Long> targetUserIds);
+
+    /**
+     * Unfollows many users at once with one DELETE and a single feed rebuild.
+     * 
+     * @param followerId The ID of the user who is unfollowing
+     * @param targetUserIds The IDs of the users to be unfollowed
+     * @return BatchUnfollowResponse listing unfollowed and not-followed IDs
+     */
+    BatchUnfollowResponse unfollowUsers(Long followerId, List<Long> targetUserIds);
+}
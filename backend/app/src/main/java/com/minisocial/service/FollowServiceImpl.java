@@ -0,0 +1,241 @@
+package com.minisocial.service;
+
+import com.minisocial.dto.BatchFollowResponse;
+import com.minisocial.dto.BatchUnfollowResponse;
+import com.minisocial.dto.FollowResponse;
+import com.minisocial.exception.ResourceConflictException;
+import com.minisocial.exception.ResourceNotFoundException;
+import com.minisocial.model.Follow;
+import com.minisocial.model.User;
+import com.minisocial.repository.FollowRepository;
+import com.minisocial.repository.UserRepository;
+import com.minisocial.util.RequestTrace;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Implementation of FollowService for managing follow relationships.
+ */
+@Service
+public class FollowServiceImpl implements FollowService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FollowServiceImpl.class);
+
+    private final FollowRepository followRepository;
+    private final UserRepository userRepository;
+    private final FeedBuilder feedBuilder;
+    private final FollowCounters followCounters;
+    private final FollowEdgeFilter followEdgeFilter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Timer followTimer;
+    private final Timer batchFollowTimer;
+    private final Timer unfollowTimer;
+    private final Timer batchUnfollowTimer;
+
+    public FollowServiceImpl(
+            FollowRepository followRepository,
+            UserRepository userRepository,
+            FeedBuilder feedBuilder,
+            FollowCounters followCounters,
+            FollowEdgeFilter followEdgeFilter,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry) {
+        this.followRepository = followRepository;
+        this.userRepository = userRepository;
+        this.feedBuilder = feedBuilder;
+        this.followCounters = followCounters;
+        this.followEdgeFilter = followEdgeFilter;
+        this.eventPublisher = eventPublisher;
+        this.followTimer = operationTimer(meterRegistry, "follow");
+        this.batchFollowTimer = operationTimer(meterRegistry, "batchFollow");
+        this.unfollowTimer = operationTimer(meterRegistry, "unfollow");
+        this.batchUnfollowTimer = operationTimer(meterRegistry, "batchUnfollow");
+    }
+
+    private static Timer operationTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("follows.operation")
+                .description("Follow graph writes, including commit")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    // Stops once the surrounding transaction completes, so commit (or rollback) time is included
+    private static void timeTransaction(Timer timer, String spanName) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Timer.Sample sample = Timer.start();
+        long span = RequestTrace.start(spanName);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                RequestTrace.end(span);
+                sample.stop(timer);
+            }
+        });
+    }
+
+    @Override
+    @Transactional
+    public FollowResponse followUser(Long followerId, Long targetUserId) {
+        timeTransaction(followTimer, "follows.follow");
+        if (followerId.equals(targetUserId)) {
+            throw new IllegalArgumentException("You can't follow yourself");
+        }
+
+        User targetUser;
+        User follower;
+        if (followEdgeFilter.mightFollow(followerId, targetUserId)) {
+            // Possible duplicate: do the exact checks for precise errors
+            targetUser = userRepository.findById(targetUserId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Target user not found with ID: " + targetUserId));
+            follower = userRepository.findById(followerId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Follower user not found with ID: " + followerId));
+
+            if (followRepository.existsByFollower_IdAndFollowing_Id(followerId, targetUserId)) {
+                throw new ResourceConflictException("You are already following this user");
+            }
+        } else {
+            // Edge is almost certainly new: insert through proxies and let the FK/unique constraints decide
+            targetUser = userRepository.getReferenceById(targetUserId);
+            follower = userRepository.getReferenceById(followerId);
+        }
+
+        try {
+            Follow saved = followRepository.save(new Follow(follower, targetUser));
+
+            // Counters are write-behind so hot accounts don't serialize on their users row
+            followCounters.recordFollow(followerId, targetUserId, 1);
+
+            eventPublisher.publishEvent(new FollowChangedEvent(followerId, targetUserId, true));
+            feedBuilder.rebuildFeed(followerId);
+
+            return new FollowResponse(
+                    followerId,
+                    targetUserId,
+                    saved.getCreatedAt()
+            );
+        } catch (org.springframework.dao.DataIntegrityViolationException e) {
+            if (isForeignKeyViolation(e)) {
+                throw new ResourceNotFoundException("Target user not found with ID: " + targetUserId);
+            }
+            // if 2 requests hit at the same time (or the filter missed), unique constraint triggers here
+            throw new ResourceConflictException("You are already following this user");
+        }
+    }
+
+    @Override
+    @Transactional
+    public BatchFollowResponse followUsers(Long followerId, List<Long> targetUserIds) {
+        timeTransaction(batchFollowTimer, "follows.batchFollow");
+        // Dedupe, drop self, keep request order
+        List<Long> requested = targetUserIds.stream()
+                .distinct()
+                .filter(id -> !id.equals(followerId))
+                .toList();
+
+        // One IN query validates every target (and the follower) at once
+        List<Long> lookup = new ArrayList<>(requested);
+        lookup.add(followerId);
+        Set<Long> existing = new HashSet<>(userRepository.findExistingIds(lookup));
+        if (!existing.contains(followerId)) {
+            throw new ResourceNotFoundException("Follower user not found with ID: " + followerId);
+        }
+        List<Long> notFound = requested.stream().filter(id -> !existing.contains(id)).toList();
+        List<Long> candidates = requested.stream().filter(existing::contains).toList();
+
+        // Single multi-row insert; rows that already exist are skipped by the unique constraint
+        List<Long> inserted = followRepository.insertIgnoringDuplicates(followerId, candidates);
+        Set<Long> insertedSet = new HashSet<>(inserted);
+        List<Long> followed = candidates.stream().filter(insertedSet::contains).toList();
+        List<Long> alreadyFollowing = candidates.stream().filter(id -> !insertedSet.contains(id)).toList();
+
+        followCounters.recordFollows(followerId, followed, 1);
+        for (Long targetUserId : followed) {
+            eventPublisher.publishEvent(new FollowChangedEvent(followerId, targetUserId, true));
+        }
+
+        // One rebuild for the whole batch
+        if (!followed.isEmpty()) {
+            feedBuilder.rebuildFeed(followerId);
+        }
+
+        logger.info("Batch follow by {}: {} followed, {} already following, {} not found",
+                followerId, followed.size(), alreadyFollowing.size(), notFound.size());
+        return new BatchFollowResponse(followerId, followed, alreadyFollowing, notFound);
+    }
+
+    @Override
+    @Transactional
+    public void unfollowUser(Long followerId, Long targetUserId) {
+        timeTransaction(unfollowTimer, "follows.unfollow");
+        if (followerId.equals(targetUserId)) {
+            throw new IllegalArgumentException("You can't unfollow yourself");
+        }
+
+        // delete row
+        int deleted = followRepository.deleteByFollowerIdAndFollowingId(followerId, targetUserId);
+        if (deleted == 0) {
+            throw new ResourceNotFoundException("Follow relationship not found");
+        }
+
+        followCounters.recordFollow(followerId, targetUserId, -1);
+
+        eventPublisher.publishEvent(new FollowChangedEvent(followerId, targetUserId, false));
+        feedBuilder.rebuildFeed(followerId);
+    }
+
+    @Override
+    @Transactional
+    public BatchUnfollowResponse unfollowUsers(Long followerId, List<Long> targetUserIds) {
+        timeTransaction(batchUnfollowTimer, "follows.batchUnfollow");
+        List<Long> requested = targetUserIds.stream()
+                .distinct()
+                .filter(id -> !id.equals(followerId))
+                .toList();
+
+        // Single DELETE ... RETURNING; IDs not returned had no edge to delete
+        List<Long> deleted = followRepository.deleteFollowing(followerId, requested);
+        Set<Long> deletedSet = new HashSet<>(deleted);
+        List<Long> unfollowed = requested.stream().filter(deletedSet::contains).toList();
+        List<Long> notFollowing = requested.stream().filter(id -> !deletedSet.contains(id)).toList();
+
+        followCounters.recordFollows(followerId, unfollowed, -1);
+        for (Long targetUserId : unfollowed) {
+            eventPublisher.publishEvent(new FollowChangedEvent(followerId, targetUserId, false));
+        }
+
+        // One rebuild for the whole batch
+        if (!unfollowed.isEmpty()) {
+            feedBuilder.rebuildFeed(followerId);
+        }
+
+        logger.info("Batch unfollow by {}: {} unfollowed, {} not following",
+                followerId, unfollowed.size(), notFollowing.size());
+        return new BatchUnfollowResponse(followerId, unfollowed, notFollowing);
+    }
+
+    // Postgres foreign_key_violation; the follower comes from a valid token, so it's the target
+    private static boolean isForeignKeyViolation(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && "23503".equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,93 @@
+package com.minisocial.service;
+
+import com.minisocial.util.LongIntCounter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.LongFunction;
+
+/**
+ * Scores second-degree neighbours by the number of the user's followees who follow them.
+ * 
+ * Work is hard-capped so high-degree users stay cheap: at most maxFirstDegree
+ * followees are expanded, at most maxFanOut edges are read from each of them,
+ * and scanning stops after maxScanned edges in total. Oversized adjacency lists
+ * are sampled with a fixed stride rather than truncated, so the sample is not
+ * biased towards low IDs (older accounts).
+ */
+public class FriendsOfFriendsScorer {
+
+    private final int maxFirstDegree;
+    private final int maxFanOut;
+    private final int maxScanned;
+
+    /**
+     * A suggested user and how many of the requester's followees follow them.
+     */
+    public record Candidate(long userId, int mutualCount) {
+    }
+
+    public FriendsOfFriendsScorer(int maxFirstDegree, int maxFanOut, int maxScanned) {
+        this.maxFirstDegree = maxFirstDegree;
+        this.maxFanOut = maxFanOut;
+        this.maxScanned = maxScanned;
+    }
+
+    /**
+     * Returns the top candidates ordered by mutual count, then by ID.
+     *
+     * @param userId User to compute suggestions for
+     * @param following Sorted followee IDs of any user
+     * @param limit Maximum number of candidates to return
+     * @return Suggestions, excluding the user and users already followed
+     */
+    public List<Candidate> suggest(long userId, LongFunction<long[]> following, int limit) {
+        long[] firstDegree = following.apply(userId);
+        if (firstDegree.length == 0 || limit <= 0) {
+            return List.of();
+        }
+
+        LongIntCounter counts = new LongIntCounter(Math.min(maxScanned, 1024));
+        int scanned = 0;
+        int firstStride = stride(firstDegree.length, maxFirstDegree);
+        outer:
+        for (int i = 0; i < firstDegree.length; i += firstStride) {
+            long[] secondDegree = following.apply(firstDegree[i]);
+            int secondStride = stride(secondDegree.length, maxFanOut);
+            for (int j = 0; j < secondDegree.length; j += secondStride) {
+                long candidate = secondDegree[j];
+                if (candidate != userId && Arrays.binarySearch(firstDegree, candidate) < 0) {
+                    counts.increment(candidate);
+                }
+                if (++scanned >= maxScanned) {
+                    break outer;
+                }
+            }
+        }
+
+        // Bounded min-heap keeps only the best `limit` candidates
+        Comparator<Candidate> order = Comparator.comparingInt(Candidate::mutualCount)
+                .thenComparing(Comparator.comparingLong(Candidate::userId).reversed());
+        PriorityQueue<Candidate> top = new PriorityQueue<>(limit + 1, order);
+        counts.forEach((candidate, count) -> {
+            if (top.size() < limit) {
+                top.add(new Candidate(candidate, count));
+            } else if (count > top.peek().mutualCount()
+                    || (count == top.peek().mutualCount() && candidate < top.peek().userId())) {
+                top.poll();
+                top.add(new Candidate(candidate, count));
+            }
+        });
+
+        List<Candidate> result = new ArrayList<>(top);
+        result.sort(order.reversed());
+        return result;
+    }
+
+    private static int stride(int length, int cap) {
+        return length <= cap ? 1 : (length + cap - 1) / cap;
+    }
+}
@@ -0,0 +1,8 @@
+package com.minisocial.service;
+
+/**
+ * Decoded upload bytes together with their SHA-256 digest (lowercase hex).
+ * The digest doubles as the content-addressed storage key.
+ */
+public record HashedContent(byte[] bytes, String sha256) {
+}
@@ -0,0 +1,147 @@
+package com.minisocial.service;
+
+import com.minisocial.model.ImageBlob;
+import com.minisocial.repository.ImageBlobRepository;
+import com.minisocial.repository.PostRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Deduplicates image uploads by content hash.
+ * A repost of known bytes costs one primary-key lookup and a ref-count bump
+ * instead of a decode, a resize and two uploads.
+ */
+@Service
+public class ImageDeduplicationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageDeduplicationService.class);
+
+    private final ImageBlobRepository imageBlobRepository;
+    private final PostRepository postRepository;
+    private final B2StorageService b2StorageService;
+    private final TransactionTemplate transactionTemplate;
+
+    public ImageDeduplicationService(
+            ImageBlobRepository imageBlobRepository,
+            PostRepository postRepository,
+            B2StorageService b2StorageService,
+            PlatformTransactionManager transactionManager) {
+        this.imageBlobRepository = imageBlobRepository;
+        this.postRepository = postRepository;
+        this.b2StorageService = b2StorageService;
+        // REQUIRES_NEW: releases run from an afterCommit callback of the deleting transaction
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * An original image that is in storage but not yet referenced.
+     *
+     * @param contentHash SHA-256 of the original bytes
+     * @param url URL the post should reference (processed variant when already available)
+     * @param uploaded whether the bytes were uploaded now rather than found in the index
+     */
+    public record StoredImage(String contentHash, String url, boolean uploaded) {
+    }
+
+    /**
+     * Makes sure an original image is in storage, reusing the existing object
+     * and its processed variant when the same bytes were uploaded before.
+     * Takes no reference and runs no transaction, so it belongs before the
+     * post's transaction; the upload never holds a database connection.
+     *
+     * @param content Decoded image bytes with their digest
+     * @param contentType MIME type of the image
+     * @return future completing once the bytes are stored
+     */
+    public CompletableFuture<StoredImage> storeOriginal(HashedContent content, String contentType) {
+        // Entries without references may already have been garbage-collected from storage
+        Optional<ImageBlob> existing = imageBlobRepository.findById(content.sha256())
+                .filter(blob -> blob.getRefCount() > 0);
+        if (existing.isPresent()) {
+            ImageBlob blob = existing.get();
+            String url = blob.getProcessedUrl() != null ? blob.getProcessedUrl() : blob.getOriginalUrl();
+            logger.info("Reusing stored image {} (refs: {})", blob.getContentHash(), blob.getRefCount());
+            return CompletableFuture.completedFuture(new StoredImage(blob.getContentHash(), url, false));
+        }
+        return b2StorageService.uploadContentAsync(content, contentType)
+                .thenApply(originalUrl -> new StoredImage(content.sha256(), originalUrl, true));
+    }
+
+    /**
+     * Takes a reference to a stored image for a new post. Call inside the
+     * post's transaction so the reference exists exactly when the post does.
+     *
+     * @param image result of {@link #storeOriginal}
+     * @return whether this post owns processing the image; false for reuses and
+     *         for the losers of concurrent first uploads of the same bytes
+     */
+    public boolean addReference(StoredImage image) {
+        if (!image.uploaded()) {
+            imageBlobRepository.incRefCount(image.contentHash());
+            return false;
+        }
+        // Concurrent first uploads both PUT the same content-addressed key, which is
+        // idempotent; the upsert decides which one of them enqueues processing
+        return imageBlobRepository.upsertReference(image.contentHash(), image.url());
+    }
+
+    /**
+     * Records the processed variant of an original and repoints every post that
+     * still references the original, including reposts made while processing ran.
+     *
+     * @param contentHash SHA-256 of the original bytes
+     * @param processedUrl URL of the processed variant
+     * @return IDs of the repointed posts, whose cached bodies are now stale,
+     *         or null if the original was not known to the index
+     */
+    public List<Long> recordProcessed(String contentHash, String processedUrl) {
+        Optional<ImageBlob> blob = imageBlobRepository.findById(contentHash);
+        if (blob.isEmpty()) {
+            return null;
+        }
+        imageBlobRepository.setProcessedUrl(contentHash, processedUrl);
+        List<Long> updated = postRepository.replaceImageUrl(blob.get().getOriginalUrl(), processedUrl);
+        logger.info("Recorded processed variant for {} on {} post(s)", contentHash, updated.size());
+        return updated;
+    }
+
+    /**
+     * Drops one reference to an image once the current transaction commits, so
+     * a rolled-back delete keeps its reference. Objects whose count reaches zero
+     * are safe to delete from storage.
+     *
+     * @param contentHash SHA-256 of the original bytes
+     */
+    public void releaseAfterCommit(String contentHash) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            release(contentHash);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    release(contentHash);
+                } catch (Exception e) {
+                    // Leaves the count high: the object is kept, never deleted early
+                    logger.warn("Failed to release image {}: {}", contentHash, e.getMessage());
+                }
+            }
+        });
+    }
+
+    private void release(String contentHash) {
+        transactionTemplate.executeWithoutResult(status -> imageBlobRepository.decRefCount(contentHash));
+    }
+}
@@ -0,0 +1,151 @@
+package com.minisocial.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+
+/**
+ * Encoder stage for processed images.
+ * Writes progressive JPEG (or WebP when an ImageIO WebP writer is on the classpath)
+ * at an explicit quality, binary-searching the quality to land under a byte budget.
+ * Only pixels are written, so EXIF and other source metadata are always stripped.
+ */
+@Component
+public class ImageEncoder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageEncoder.class);
+    private static final int SEARCH_STEPS = 6;
+
+    @Value("${imageEncoding.format:jpeg}")
+    private String preferredFormat;
+
+    @Value("${imageEncoding.progressive:true}")
+    private boolean progressive;
+
+    @Value("${imageEncoding.minQuality:0.5}")
+    private float minQuality;
+
+    @Value("${imageEncoding.maxQuality:0.85}")
+    private float maxQuality;
+
+    /**
+     * Encoded image bytes and the parameters that produced them.
+     *
+     * @param bytes Encoded image
+     * @param contentType MIME type of the encoding
+     * @param quality Quality factor used (0..1)
+     */
+    public record EncodedImage(byte[] bytes, String contentType, float quality) {
+    }
+
+    /**
+     * Encodes an image at the highest quality whose output fits the target size.
+     * If even the minimum quality exceeds the target, the minimum-quality output is returned.
+     *
+     * @param image Image to encode
+     * @param targetBytes Byte budget for this variant; 0 or less disables the search
+     * @return Encoded image
+     * @throws IOException if encoding fails
+     */
+    public EncodedImage encode(BufferedImage image, int targetBytes) throws IOException {
+        ImageWriter writer = findWriter();
+        try {
+            String contentType = writer.getOriginatingProvider().getMIMETypes()[0];
+            BufferedImage rgb = toRgb(image);
+
+            byte[] best = write(writer, rgb, maxQuality);
+            float bestQuality = maxQuality;
+            if (targetBytes <= 0 || best.length <= targetBytes) {
+                return new EncodedImage(best, contentType, bestQuality);
+            }
+
+            // Highest quality still under budget, falling back to the smallest output
+            float low = minQuality;
+            float high = maxQuality;
+            best = write(writer, rgb, low);
+            bestQuality = low;
+            if (best.length <= targetBytes) {
+                for (int step = 0; step < SEARCH_STEPS; step++) {
+                    float mid = (low + high) / 2;
+                    byte[] candidate = write(writer, rgb, mid);
+                    if (candidate.length <= targetBytes) {
+                        best = candidate;
+                        bestQuality = mid;
+                        low = mid;
+                    } else {
+                        high = mid;
+                    }
+                }
+            }
+
+            logger.debug("Encoded {}x{} as {} at quality {} ({} bytes, target {})",
+                    rgb.getWidth(), rgb.getHeight(), contentType, bestQuality, best.length, targetBytes);
+            return new EncodedImage(best, contentType, bestQuality);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private byte[] write(ImageWriter writer, BufferedImage image, float quality) throws IOException {
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        if (param.canWriteCompressed()) {
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            if (param.getCompressionType() == null && param.getCompressionTypes().length > 0) {
+                param.setCompressionType(param.getCompressionTypes()[0]);
+            }
+            param.setCompressionQuality(quality);
+        }
+        if (progressive && param.canWriteProgressive()) {
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(stream);
+            // No metadata is passed, so nothing from the source (EXIF, GPS, ICC) is carried over
+            writer.write(null, new IIOImage(image, null, null), param);
+        }
+        return out.toByteArray();
+    }
+
+    private ImageWriter findWriter() {
+        if ("webp".equalsIgnoreCase(preferredFormat)) {
+            Iterator<ImageWriter> webp = ImageIO.getImageWritersByMIMEType("image/webp");
+            if (webp.hasNext()) {
+                return webp.next();
+            }
+            logger.debug("No WebP ImageIO writer available, falling back to JPEG");
+        }
+        Iterator<ImageWriter> jpeg = ImageIO.getImageWritersByFormatName("jpeg");
+        if (!jpeg.hasNext()) {
+            throw new IllegalStateException("No JPEG ImageIO writer available");
+        }
+        return jpeg.next();
+    }
+
+    // JPEG has no alpha channel; flatten transparent sources onto white
+    private static BufferedImage toRgb(BufferedImage image) {
+        if (image.getType() == BufferedImage.TYPE_INT_RGB) {
+            return image;
+        }
+        BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = rgb.createGraphics();
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, image.getWidth(), image.getHeight());
+        graphics.drawImage(image, 0, 0, null);
+        graphics.dispose();
+        return rgb;
+    }
+}
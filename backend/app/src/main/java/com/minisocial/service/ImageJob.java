@@ -0,0 +1,49 @@
+package com.minisocial.service;
+
+import java.util.Map;
+
+/**
+ * Durable image-processing job. Only references the stored original by
+ * content hash, so queued jobs stay small and survive restarts.
+ *
+ * @param postId post that triggered processing
+ * @param contentHash SHA-256 of the stored original
+ * @param contentType MIME type the original was stored with
+ * @param attempt number of failed attempts so far
+ */
+public record ImageJob(Long postId, String contentHash, String contentType, int attempt) {
+
+    public ImageJob nextAttempt() {
+        return new ImageJob(postId, contentHash, contentType, attempt + 1);
+    }
+
+    public Map<String, String> toFields() {
+        return Map.of(
+                "postId", String.valueOf(postId),
+                "contentHash", contentHash,
+                "contentType", contentType,
+                "attempt", String.valueOf(attempt)
+        );
+    }
+
+    public static ImageJob fromFields(Map<?, ?> fields) {
+        return new ImageJob(
+                Long.valueOf(String.valueOf(fields.get("postId"))),
+                String.valueOf(fields.get("contentHash")),
+                String.valueOf(fields.get("contentType")),
+                Integer.parseInt(String.valueOf(fields.get("attempt")))
+        );
+    }
+
+    /**
+     * Compact single-string form used for the retry set and the dead-letter list.
+     */
+    public String encode() {
+        return postId + "|" + contentHash + "|" + contentType + "|" + attempt;
+    }
+
+    public static ImageJob decode(String encoded) {
+        String[] parts = encoded.split("\\|", 4);
+        return new ImageJob(Long.valueOf(parts[0]), parts[1], parts[2], Integer.parseInt(parts[3]));
+    }
+}
@@ -0,0 +1,168 @@
+package com.minisocial.service;
+
+import com.minisocial.model.PendingImageJob;
+import com.minisocial.repository.PendingImageJobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Durable queue of image-processing jobs backed by a Redis stream.
+ * 
+ * - pending_image_jobs  outbox table, one row per unfinished job, written with the post
+ * - jobs:images         stream consumed by the image-workers consumer group
+ * - jobs:images:retry   sorted set of failed jobs scored by their next due time
+ * - jobs:images:dead    list of jobs that exhausted their retries
+ * 
+ * The stream is the fast path; the outbox row is the durable record. A job whose
+ * publish failed, or whose stream or retry entry was lost, is republished from
+ * the outbox once it has been quiet for imageJobs.republishAfterMs. Processing is
+ * idempotent, so a republished job that was in fact still in flight is harmless.
+ */
+@Component
+public class ImageJobQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageJobQueue.class);
+
+    static final String STREAM_KEY = "jobs:images";
+    static final String RETRY_KEY = "jobs:images:retry";
+    static final String DEAD_LETTER_KEY = "jobs:images:dead";
+    static final String GROUP = "image-workers";
+
+    // Publishes a due retry and only then removes it from the retry set; atomic, so
+    // concurrent reapers never publish a retry twice and a failed publish keeps it
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>("""
+            if not redis.call('ZSCORE', KEYS[1], ARGV[1]) then
+                return 0
+            end
+            redis.call('XADD', KEYS[2], '*', 'postId', ARGV[2], 'contentHash', ARGV[3],
+                    'contentType', ARGV[4], 'attempt', ARGV[5])
+            redis.call('ZREM', KEYS[1], ARGV[1])
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final PendingImageJobRepository pendingImageJobRepository;
+
+    public ImageJobQueue(StringRedisTemplate redisTemplate,
+                         PendingImageJobRepository pendingImageJobRepository) {
+        this.redisTemplate = redisTemplate;
+        this.pendingImageJobRepository = pendingImageJobRepository;
+    }
+
+    /**
+     * Enqueues a job. The outbox row joins the caller's transaction; the stream
+     * entry is published only after commit, so workers never pick up a job for a
+     * post they cannot see yet and a failed publish is recovered from the outbox.
+     * 
+     * @param job The job to enqueue
+     */
+    public void enqueue(ImageJob job) {
+        pendingImageJobRepository.save(
+                new PendingImageJob(job.postId(), job.contentHash(), job.contentType(), Instant.now()));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publishQuietly(job);
+                }
+            });
+        } else {
+            publishQuietly(job);
+        }
+    }
+
+    void publish(ImageJob job) {
+        redisTemplate.opsForStream().add(StreamRecords.newRecord().in(STREAM_KEY).ofMap(job.toFields()));
+    }
+
+    void scheduleRetry(ImageJob job, long dueAtMillis) {
+        redisTemplate.opsForZSet().add(RETRY_KEY, job.encode(), dueAtMillis);
+    }
+
+    void deadLetter(ImageJob job, String error) {
+        redisTemplate.opsForList().leftPush(DEAD_LETTER_KEY, job.encode() + "\t" + error);
+        complete(job);
+        logger.error("Image job for post ID: {} moved to dead-letter list after {} attempts: {}",
+                job.postId(), job.attempt(), error);
+    }
+
+    /**
+     * Marks a job finished, so the outbox no longer republishes it.
+     * 
+     * @param job The job that succeeded or was dead-lettered
+     */
+    void complete(ImageJob job) {
+        pendingImageJobRepository.deleteByPostId(job.postId());
+    }
+
+    /**
+     * Moves retries whose backoff has elapsed back onto the stream.
+     * 
+     * @param limit Maximum number of retries to release
+     * @return number of retries released
+     */
+    int releaseDueRetries(int limit) {
+        Set<String> due = redisTemplate.opsForZSet()
+                .rangeByScore(RETRY_KEY, 0, System.currentTimeMillis(), 0, limit);
+        if (due == null) {
+            return 0;
+        }
+        int released = 0;
+        for (String encoded : due) {
+            ImageJob job = ImageJob.decode(encoded);
+            Long published = redisTemplate.execute(RELEASE_SCRIPT, List.of(RETRY_KEY, STREAM_KEY),
+                    encoded, String.valueOf(job.postId()), job.contentHash(), job.contentType(),
+                    String.valueOf(job.attempt()));
+            if (published != null && published > 0) {
+                released++;
+            }
+        }
+        return released;
+    }
+
+    /**
+     * Republishes outbox jobs that have not been published for a while: their
+     * publish failed, the process died before it, or Redis lost the entry.
+     * The publishedAt compare-and-set decides ownership across instances.
+     * 
+     * @param republishAfterMs How long a job may go unpublished before it is considered lost
+     * @param limit Maximum number of jobs to republish
+     * @return number of jobs republished
+     */
+    int republishStale(long republishAfterMs, int limit) {
+        Instant now = Instant.now();
+        List<PendingImageJob> stale = pendingImageJobRepository.findByPublishedAtBeforeOrderByPublishedAt(
+                now.minusMillis(republishAfterMs), PageRequest.of(0, limit));
+        int republished = 0;
+        for (PendingImageJob pending : stale) {
+            if (pendingImageJobRepository.claimForRepublish(pending.getPostId(), pending.getPublishedAt(), now) == 0) {
+                continue;
+            }
+            publish(new ImageJob(pending.getPostId(), pending.getContentHash(), pending.getContentType(), 0));
+            republished++;
+        }
+        return republished;
+    }
+
+    private void publishQuietly(ImageJob job) {
+        try {
+            publish(job);
+        } catch (Exception e) {
+            // The outbox row stays, so the reaper republishes it later
+            logger.error("Failed to publish image job for post ID: {}, left in outbox. Error: {}",
+                    job.postId(), e.getMessage(), e);
+        }
+    }
+}
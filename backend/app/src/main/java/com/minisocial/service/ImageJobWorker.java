@@ -0,0 +1,242 @@
+package com.minisocial.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Worker pool consuming {@link ImageJobQueue}.
+ * 
+ * Jobs are acknowledged only once their outcome is recorded: the outbox row
+ * cleared on success, or the retry or dead-letter entry written on failure.
+ * Entries left pending by a crashed worker, or by a failure to record the
+ * outcome, are reclaimed once they exceed the visibility timeout. Failures are
+ * retried with exponential backoff and end up in the dead-letter list after maxAttempts.
+ * Set imageJobs.worker.enabled=false on API-only instances so workers scale separately.
+ */
+@Component
+public class ImageJobWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageJobWorker.class);
+    private static final int REAP_BATCH_SIZE = 100;
+
+    private final StringRedisTemplate redisTemplate;
+    private final ImageJobQueue imageJobQueue;
+    private final ImageProcessor imageProcessor;
+    private final String consumerName = "worker-" + UUID.randomUUID().toString().substring(0, 8);
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    @Value("${imageJobs.worker.enabled:true}")
+    private boolean enabled;
+
+    @Value("${imageJobs.worker.threads:2}")
+    private int threads;
+
+    @Value("${imageJobs.maxAttempts:5}")
+    private int maxAttempts;
+
+    @Value("${imageJobs.visibilityTimeoutMs:300000}")
+    private long visibilityTimeoutMs;
+
+    @Value("${imageJobs.backoffBaseMs:2000}")
+    private long backoffBaseMs;
+
+    @Value("${imageJobs.backoffMaxMs:600000}")
+    private long backoffMaxMs;
+
+    @Value("${imageJobs.republishAfterMs:3600000}")
+    private long republishAfterMs;
+
+    public ImageJobWorker(StringRedisTemplate redisTemplate,
+                          ImageJobQueue imageJobQueue,
+                          ImageProcessor imageProcessor) {
+        this.redisTemplate = redisTemplate;
+        this.imageJobQueue = imageJobQueue;
+        this.imageProcessor = imageProcessor;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            logger.info("Image job worker disabled on this instance");
+            return;
+        }
+        running = true;
+        for (int i = 0; i < threads; i++) {
+            Thread worker = new Thread(this::pollLoop, "image-worker-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+        logger.info("Started {} image job worker(s) as consumer {}", threads, consumerName);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        for (Thread worker : workers) {
+            worker.join(Duration.ofSeconds(5).toMillis());
+        }
+    }
+
+    private void pollLoop() {
+        boolean groupReady = false;
+        while (running) {
+            try {
+                if (!groupReady) {
+                    ensureGroup();
+                    groupReady = true;
+                }
+                List<MapRecord<String, Object, Object>> records = streamOps().read(
+                        Consumer.from(ImageJobQueue.GROUP, consumerName),
+                        StreamReadOptions.empty().count(1).block(Duration.ofSeconds(1)),
+                        StreamOffset.create(ImageJobQueue.STREAM_KEY, ReadOffset.lastConsumed()));
+                if (records == null) {
+                    continue;
+                }
+                for (MapRecord<String, Object, Object> record : records) {
+                    handle(record);
+                }
+            } catch (Exception e) {
+                logger.warn("Image job polling failed: {}", e.getMessage());
+                sleepQuietly(1000);
+            }
+        }
+    }
+
+    private void handle(MapRecord<String, Object, Object> record) {
+        ImageJob job = ImageJob.fromFields(record.getValue());
+        try {
+            imageProcessor.process(job);
+            imageJobQueue.complete(job);
+        } catch (Exception e) {
+            try {
+                fail(job, e.getMessage());
+            } catch (Exception recordFailure) {
+                // Left unacknowledged; reclaimed as stalled after the visibility timeout
+                logger.warn("Could not record failure of image job for post ID: {}: {}",
+                        job.postId(), recordFailure.getMessage());
+                return;
+            }
+        }
+        acknowledge(record.getId());
+    }
+
+    /**
+     * Releases due retries, reclaims jobs whose worker died mid-processing and
+     * republishes outbox jobs whose stream entry was never written or was lost.
+     */
+    @Scheduled(fixedDelayString = "${imageJobs.reaperIntervalMs:5000}")
+    public void reap() {
+        if (!running) {
+            return;
+        }
+        try {
+            int released = imageJobQueue.releaseDueRetries(REAP_BATCH_SIZE);
+            if (released > 0) {
+                logger.info("Released {} image job retries", released);
+            }
+            reclaimStalled();
+            int republished = imageJobQueue.republishStale(republishAfterMs, REAP_BATCH_SIZE);
+            if (republished > 0) {
+                logger.warn("Republished {} image job(s) from the outbox", republished);
+            }
+        } catch (Exception e) {
+            logger.warn("Image job reaper failed: {}", e.getMessage());
+        }
+    }
+
+    private void reclaimStalled() {
+        PendingMessages pending = streamOps().pending(
+                ImageJobQueue.STREAM_KEY, ImageJobQueue.GROUP, Range.unbounded(), REAP_BATCH_SIZE);
+        Duration visibilityTimeout = Duration.ofMillis(visibilityTimeoutMs);
+        for (PendingMessage message : pending) {
+            if (message.getElapsedTimeSinceLastDelivery().compareTo(visibilityTimeout) < 0) {
+                continue;
+            }
+            // XCLAIM re-checks idle time, so only one reaper wins each stalled entry
+            List<MapRecord<String, Object, Object>> claimed = streamOps().claim(
+                    ImageJobQueue.STREAM_KEY, ImageJobQueue.GROUP, consumerName, visibilityTimeout, message.getId());
+            for (MapRecord<String, Object, Object> record : claimed) {
+                fail(ImageJob.fromFields(record.getValue()), "visibility timeout exceeded");
+                acknowledge(record.getId());
+            }
+        }
+    }
+
+    private void fail(ImageJob job, String error) {
+        ImageJob next = job.nextAttempt();
+        if (next.attempt() >= maxAttempts) {
+            imageJobQueue.deadLetter(next, error);
+            return;
+        }
+        long delay = backoffMillis(next.attempt());
+        imageJobQueue.scheduleRetry(next, System.currentTimeMillis() + delay);
+        logger.warn("Image job for post ID: {} failed (attempt {}), retrying in {} ms: {}",
+                job.postId(), next.attempt(), delay, error);
+    }
+
+    // Exponential backoff with up to 20% jitter so retries of a burst do not align
+    private long backoffMillis(int attempt) {
+        long base = Math.min(backoffMaxMs, backoffBaseMs << Math.min(attempt - 1, 30));
+        return base + ThreadLocalRandom.current().nextLong(base / 5 + 1);
+    }
+
+    private void acknowledge(RecordId id) {
+        streamOps().acknowledge(ImageJobQueue.STREAM_KEY, ImageJobQueue.GROUP, id);
+        streamOps().delete(ImageJobQueue.STREAM_KEY, id);
+    }
+
+    private void ensureGroup() {
+        try {
+            redisTemplate.execute((RedisCallback<String>) (RedisConnection connection) ->
+                    connection.streamCommands().xGroupCreate(
+                            ImageJobQueue.STREAM_KEY.getBytes(StandardCharsets.UTF_8),
+                            ImageJobQueue.GROUP,
+                            ReadOffset.from("0"),
+                            true));
+        } catch (Exception e) {
+            if (!String.valueOf(e.getMessage()).contains("BUSYGROUP")
+                    && (e.getCause() == null || !String.valueOf(e.getCause().getMessage()).contains("BUSYGROUP"))) {
+                throw e;
+            }
+        }
+    }
+
+    private StreamOperations<String, Object, Object> streamOps() {
+        return redisTemplate.opsForStream();
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
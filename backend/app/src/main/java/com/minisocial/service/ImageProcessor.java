@@ -0,0 +1,140 @@
+package com.minisocial.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.util.List;
+
+/**
+ * Processes uploaded images picked up from the durable job queue.
+ * Handles image resizing, compression, and format conversion.
+ */
+@Component
+public class ImageProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageProcessor.class);
+    private static final int MAX_WIDTH = 1200;
+    private static final int MAX_HEIGHT = 1200;
+
+    private final B2StorageService b2StorageService;
+    private final ImageDeduplicationService imageDeduplicationService;
+    private final ImageEncoder imageEncoder;
+    private final FeedCache feedCache;
+    private final Timer processTimer;
+
+    @Value("${imageEncoding.targetBytes:204800}")
+    private int targetBytes;
+
+    public ImageProcessor(B2StorageService b2StorageService,
+                          ImageDeduplicationService imageDeduplicationService,
+                          ImageEncoder imageEncoder,
+                          FeedCache feedCache,
+                          MeterRegistry meterRegistry) {
+        this.b2StorageService = b2StorageService;
+        this.imageDeduplicationService = imageDeduplicationService;
+        this.imageEncoder = imageEncoder;
+        this.feedCache = feedCache;
+        this.processTimer = Timer.builder("images.process")
+                .description("Image job processing: download, resize, encode, upload")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Processes a queued image: load the stored original, resize, compress, and upload.
+     * Updates every post sharing the original with the processed image URL.
+     * Processing is idempotent, so a job may safely run more than once.
+     * 
+     * @param job The job referencing the stored original
+     * @throws Exception if a transient step fails and the job should be retried
+     */
+    public void process(ImageJob job) throws Exception {
+        Timer.Sample sample = Timer.start();
+        try {
+            doProcess(job);
+        } finally {
+            sample.stop(processTimer);
+        }
+    }
+
+    private void doProcess(ImageJob job) throws Exception {
+        logger.info("Starting image processing for post ID: {} (attempt {})", job.postId(), job.attempt() + 1);
+
+        byte[] originalBytes = b2StorageService.downloadContent(job.contentHash(), job.contentType());
+        BufferedImage originalImage = ImageIO.read(new ByteArrayInputStream(originalBytes));
+
+        if (originalImage == null) {
+            // Not a decodable image; retrying cannot help
+            logger.error("Failed to read image for post ID: {}", job.postId());
+            return;
+        }
+
+        // Resize image if necessary
+        BufferedImage processedImage = resizeImage(originalImage);
+
+        // Compress to the variant's size target, stripping source metadata
+        ImageEncoder.EncodedImage encoded = imageEncoder.encode(processedImage, targetBytes);
+        HashedContent processed = b2StorageService.hash(encoded.bytes());
+
+        // Upload processed image to B2
+        String processedImageUrl = b2StorageService.uploadContent(processed, encoded.contentType());
+
+        // Repoint all posts sharing this original, including reposts made meanwhile
+        List<Long> repointed = imageDeduplicationService.recordProcessed(job.contentHash(), processedImageUrl);
+        if (repointed != null) {
+            // Every repointed post's cached body still has the original URL
+            feedCache.evictPosts(repointed);
+            logger.info("Successfully processed image for post ID: {}", job.postId());
+        } else {
+            logger.warn("Original {} missing from image index for post ID: {}", job.contentHash(), job.postId());
+        }
+    }
+
+    /**
+     * Resizes an image to fit within maximum dimensions while maintaining aspect ratio.
+     * Package-private and static so the benchmarks module can measure it directly.
+     * 
+     * @param originalImage The original image
+     * @return Resized image
+     */
+    static BufferedImage resizeImage(BufferedImage originalImage) {
+        int originalWidth = originalImage.getWidth();
+        int originalHeight = originalImage.getHeight();
+
+        // Check if resizing is needed
+        if (originalWidth <= MAX_WIDTH && originalHeight <= MAX_HEIGHT) {
+            return originalImage;
+        }
+
+        // Calculate new dimensions maintaining aspect ratio
+        double widthRatio = (double) MAX_WIDTH / originalWidth;
+        double heightRatio = (double) MAX_HEIGHT / originalHeight;
+        double ratio = Math.min(widthRatio, heightRatio);
+
+        int newWidth = (int) (originalWidth * ratio);
+        int newHeight = (int) (originalHeight * ratio);
+
+        // Create resized image
+        BufferedImage resizedImage = new BufferedImage(newWidth, newHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = resizedImage.createGraphics();
+        
+        // Set rendering hints for better quality
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        
+        graphics.drawImage(originalImage, 0, 0, newWidth, newHeight, null);
+        graphics.dispose();
+
+        logger.info("Resized image from {}x{} to {}x{}", originalWidth, originalHeight, newWidth, newHeight);
+        return resizedImage;
+    }
+}
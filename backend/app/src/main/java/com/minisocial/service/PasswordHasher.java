@@ -0,0 +1,115 @@
+package com.minisocial.service;
+
+import com.minisocial.exception.ServiceUnavailableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt on a dedicated, bounded executor instead of request threads.
+ * 
+ * A hash costs ~100 ms of CPU, so a login spike on servlet threads would starve
+ * every other endpoint. Here at most {@code passwordHashing.threads} hashes run
+ * at once; when the queue is full, or a task has already waited longer than
+ * its queue-time budget, callers get a 503 instead of piling up.
+ */
+@Component
+public class PasswordHasher {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHasher.class);
+
+    private final PasswordEncoder passwordEncoder;
+    private final Executor executor;
+
+    @Value("${passwordHashing.cost:10}")
+    private int cost;
+
+    // A task that waited longer than this is dropped before hashing
+    @Value("${passwordHashing.maxQueueWaitMs:500}")
+    private long maxQueueWaitMs;
+
+    @Value("${passwordHashing.timeoutMs:2000}")
+    private long timeoutMs;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          @Qualifier("passwordHashExecutor") Executor executor) {
+        this.passwordEncoder = passwordEncoder;
+        this.executor = executor;
+    }
+
+    public String hash(String rawPassword) {
+        return await(hashAsync(rawPassword));
+    }
+
+    public boolean matches(String rawPassword, String passwordHash) {
+        return await(submit(() -> passwordEncoder.matches(rawPassword, passwordHash)));
+    }
+
+    /**
+     * Hashes without blocking the caller.
+     *
+     * @throws ServiceUnavailableException if the executor is saturated
+     */
+    public CompletableFuture<String> hashAsync(String rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Whether a stored hash was made with a different cost than the configured one.
+     */
+    public boolean needsRehash(String passwordHash) {
+        // Format: $2a$10$<salt+hash>
+        if (passwordHash == null || passwordHash.length() < 7 || passwordHash.charAt(3) != '$') {
+            return false;
+        }
+        try {
+            return Integer.parseInt(passwordHash.substring(4, 6)) != cost;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> work) {
+        long enqueuedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                long waitedMs = (System.nanoTime() - enqueuedAt) / 1_000_000;
+                if (waitedMs > maxQueueWaitMs) {
+                    throw new ServiceUnavailableException("Authentication is busy, please retry shortly");
+                }
+                return work.get();
+            }, executor);
+        } catch (TaskRejectedException e) {
+            logger.warn("Password hashing executor saturated, rejecting request");
+            throw new ServiceUnavailableException("Authentication is busy, please retry shortly");
+        }
+    }
+
+    private <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            throw new ServiceUnavailableException("Authentication is busy, please retry shortly");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted while hashing password", e);
+        }
+    }
+}
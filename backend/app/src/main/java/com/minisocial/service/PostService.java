@@ -0,0 +1,29 @@
+package com.minisocial.service;
+
+import com.minisocial.dto.CreatePostRequest;
+import com.minisocial.dto.CreatePostResponse;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Service interface for post-related operations.
+ */
+public interface PostService {
+
+    /**
+     * Creates a new post for the specified user.
+     * 
+     * @param request The post creation request containing content and optional image data
+     * @param userId The ID of the user creating the post
+     * @return future completing with the created post details
+     */
+    CompletableFuture<CreatePostResponse> createPost(CreatePostRequest request, Long userId);
+
+    /**
+     * Deletes one of the user's posts and releases its image.
+     * 
+     * @param postId The ID of the post to delete
+     * @param userId The ID of the user deleting the post, who must be its author
+     */
+    void deletePost(Long postId, Long userId);
+}
@@ -0,0 +1,178 @@
+package com.minisocial.service;
+
+import com.minisocial.dto.CreatePostRequest;
+import com.minisocial.dto.CreatePostResponse;
+import com.minisocial.exception.ResourceNotFoundException;
+import com.minisocial.model.Post;
+import com.minisocial.model.User;
+import com.minisocial.repository.PostRepository;
+import com.minisocial.repository.UserRepository;
+import com.minisocial.util.RequestTrace;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutor;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Implementation of PostService for managing post operations.
+ */
+@Service
+public class PostServiceImpl implements PostService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostServiceImpl.class);
+
+    private final PostRepository postRepository;
+    private final UserRepository userRepository;
+    private final B2StorageService b2StorageService;
+    private final ImageDeduplicationService imageDeduplicationService;
+    private final ImageJobQueue imageJobQueue;
+    private final FeedCache feedCache;
+    private final Executor taskExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer createTimer;
+
+    public PostServiceImpl(
+            PostRepository postRepository,
+            UserRepository userRepository,
+            B2StorageService b2StorageService,
+            ImageDeduplicationService imageDeduplicationService,
+            ImageJobQueue imageJobQueue,
+            FeedCache feedCache,
+            @Qualifier("taskExecutor") Executor taskExecutor,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.postRepository = postRepository;
+        this.userRepository = userRepository;
+        this.b2StorageService = b2StorageService;
+        this.imageDeduplicationService = imageDeduplicationService;
+        this.imageJobQueue = imageJobQueue;
+        this.feedCache = feedCache;
+        this.taskExecutor = taskExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.createTimer = Timer.builder("posts.create")
+                .description("Post creation, including image upload and commit")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Override
+    public CompletableFuture<CreatePostResponse> createPost(CreatePostRequest request, Long userId) {
+        Timer.Sample sample = Timer.start();
+        RequestTrace trace = RequestTrace.current();
+        long span = trace == null ? RequestTrace.NONE : trace.enter("posts.create");
+        return doCreatePost(request, userId)
+                .whenComplete((response, error) -> {
+                    if (trace != null) {
+                        trace.exit(span);
+                    }
+                    sample.stop(createTimer);
+                });
+    }
+
+    private CompletableFuture<CreatePostResponse> doCreatePost(CreatePostRequest request, Long userId) {
+        logger.info("Creating post for user ID: {}", userId);
+
+        if (request.imageData() == null || request.imageData().isEmpty()) {
+            return CompletableFuture.completedFuture(savePost(request, userId, null));
+        }
+
+        // Upload (or find a known copy of) the image before any transaction is open,
+        // so a slow storage PUT never holds a database connection
+        CompletableFuture<ImageDeduplicationService.StoredImage> stored;
+        try {
+            HashedContent image = b2StorageService.decodeAndHash(request.imageData());
+            stored = imageDeduplicationService.storeOriginal(image, "image/jpeg");
+        } catch (Exception e) {
+            stored = CompletableFuture.failedFuture(e);
+        }
+
+        // The post row is written on the task executor as the caller, so replica
+        // routing records the write for read-your-writes, and in the caller's trace
+        Executor executor = RequestTrace.propagating(
+                new DelegatingSecurityContextExecutor(taskExecutor, SecurityContextHolder.getContext()));
+        return stored
+                .exceptionally(e -> {
+                    // Continue without image if upload fails
+                    logger.error("Failed to upload image, creating post without image", e);
+                    return null;
+                })
+                .thenApplyAsync(image -> savePost(request, userId, image), executor);
+    }
+
+    @Override
+    @Transactional
+    public void deletePost(Long postId, Long userId) {
+        Post post = postRepository.findById(postId)
+                .filter(p -> p.getAuthor().getId().equals(userId))
+                .orElseThrow(() -> new ResourceNotFoundException("Post not found with ID: " + postId));
+        postRepository.delete(post);
+        logger.info("Post deleted with ID: {}", postId);
+
+        // Other posts may share the image; storage is reclaimed once none do
+        if (post.getImageHash() != null) {
+            imageDeduplicationService.releaseAfterCommit(post.getImageHash());
+        }
+
+        // Followers' cached feeds drop the post when its body is found missing
+        feedCache.invalidateAfterCommit(userId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                feedCache.evictPost(postId);
+            }
+        });
+    }
+
+    /**
+     * Writes the post, its image reference and its processing job in one short
+     * transaction.
+     */
+    private CreatePostResponse savePost(CreatePostRequest request, Long userId,
+                                        ImageDeduplicationService.StoredImage image) {
+        return transactionTemplate.execute(status -> {
+            // Fetch the user
+            User user = userRepository.findById(userId)
+                    .orElseThrow(() -> new RuntimeException("User not found with ID: " + userId));
+
+            // Create post entity
+            Post post = new Post(user, request.content(), image != null ? image.url() : null);
+            if (image != null) {
+                post.setImageHash(image.contentHash());
+            }
+
+            // Save post to database
+            Post savedPost = postRepository.save(post);
+            logger.info("Post created with ID: {}", savedPost.getId());
+
+            // Queue image processing only for content not seen before; published after commit
+            if (image != null && imageDeduplicationService.addReference(image)) {
+                imageJobQueue.enqueue(new ImageJob(savedPost.getId(), image.contentHash(), "image/jpeg", 0));
+                logger.info("Queued image processing for post ID: {}", savedPost.getId());
+            }
+
+            // The author sees their own post on the next read; followers' cached feeds age out
+            feedCache.invalidateAfterCommit(userId);
+
+            // Return response
+            return new CreatePostResponse(
+                    savedPost.getId(),
+                    savedPost.getAuthor().getId(),
+                    savedPost.getContent(),
+                    savedPost.getImageUrl(),
+                    savedPost.getCreatedAt()
+            );
+        });
+    }
+}
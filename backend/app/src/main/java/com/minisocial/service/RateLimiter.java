@@ -0,0 +1,213 @@
+package com.minisocial.service;
+
+import com.minisocial.config.RateLimitProperties;
+import com.minisocial.config.RateLimitProperties.Rule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Distributed token-bucket rate limiter.
+ * 
+ * Buckets live in Redis and are refilled and drawn atomically by a Lua script
+ * using the Redis clock, so every instance sees the same budget. To keep Redis
+ * off the hot path each instance takes a small lease of permits per round trip
+ * and serves them from memory; a denial is cached locally until the bucket
+ * refills. Most requests therefore cost a map lookup and an atomic decrement.
+ * 
+ * Leasing trades precision for latency: across N instances a client can burst
+ * up to N * leaseSize over the configured capacity. Permits left on a lease
+ * when it expires are refunded to the bucket (with the next take, or by the
+ * cleanup sweep), so a client that sends one request per lease period still
+ * gets its whole budget. If Redis is unreachable the limiter fails open.
+ */
+@Component
+public class RateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimiter.class);
+    private static final String KEY_PREFIX = "ratelimit:";
+
+    // Returns {granted, retryAfterMs}; ARGV[4] permits from an expired lease are returned first
+    private static final RedisScript<List> TAKE_SCRIPT = new DefaultRedisScript<>("""
+            local capacity = tonumber(ARGV[1])
+            local rate = tonumber(ARGV[2])
+            local requested = tonumber(ARGV[3])
+            local refund = tonumber(ARGV[4])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(state[1]) or capacity
+            local ts = tonumber(state[2]) or now
+            tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate + refund)
+            local granted = math.min(requested, math.floor(tokens))
+            tokens = tokens - granted
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', now)
+            redis.call('PEXPIRE', KEYS[1], math.ceil(capacity / rate) + 1000)
+            local retry = 0
+            if granted == 0 and requested > 0 then
+                retry = math.ceil((1 - tokens) / rate)
+            end
+            return {granted, retry}
+            """, List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RateLimitProperties properties;
+    private final Map<String, Lease> leases = new ConcurrentHashMap<>();
+
+    /**
+     * Outcome of a rate limit check; retryAfterMs is 0 when allowed.
+     */
+    public record Decision(boolean allowed, long retryAfterMs) {
+
+        static final Decision ALLOWED = new Decision(true, 0);
+    }
+
+    private static final class Lease {
+        final AtomicInteger permits;
+        final long expiresAtMs;
+        final long blockedUntilMs;
+        final int capacity;
+        final double refillPerSecond;
+
+        Lease(int permits, long expiresAtMs, long blockedUntilMs, int capacity, double refillPerSecond) {
+            this.permits = new AtomicInteger(permits);
+            this.expiresAtMs = expiresAtMs;
+            this.blockedUntilMs = blockedUntilMs;
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+        }
+
+        // Claims whatever is left so it is refunded exactly once
+        int drain() {
+            return permits.getAndSet(0);
+        }
+
+        boolean tryTake() {
+            int current;
+            do {
+                current = permits.get();
+                if (current <= 0) {
+                    return false;
+                }
+            } while (!permits.compareAndSet(current, current - 1));
+            return true;
+        }
+    }
+
+    public RateLimiter(StringRedisTemplate redisTemplate, RateLimitProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+    }
+
+    /**
+     * Finds the rule for a request, or null when the endpoint is not limited.
+     */
+    public Rule ruleFor(String method, String path) {
+        if (!properties.isEnabled()) {
+            return null;
+        }
+        for (Rule rule : properties.getRules()) {
+            if (rule.matches(method, path)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks the per-user bucket (when authenticated) and the per-IP bucket of a rule.
+     *
+     * @param userId Authenticated user ID, or null for anonymous requests
+     */
+    public Decision check(Rule rule, Long userId, String clientIp) {
+        if (userId != null && rule.getCapacity() > 0 && rule.getRefillPerSecond() > 0) {
+            Decision decision = take(rule.getName() + ":u:" + userId, rule.getCapacity(), rule.getRefillPerSecond());
+            if (!decision.allowed()) {
+                return decision;
+            }
+        }
+        if (clientIp != null && rule.getIpCapacity() > 0 && rule.getIpRefillPerSecond() > 0) {
+            return take(rule.getName() + ":ip:" + clientIp, rule.getIpCapacity(), rule.getIpRefillPerSecond());
+        }
+        return Decision.ALLOWED;
+    }
+
+    private Decision take(String bucket, int capacity, double refillPerSecond) {
+        long now = System.currentTimeMillis();
+        Lease lease = leases.get(bucket);
+        int refund = 0;
+        if (lease != null) {
+            if (now < lease.blockedUntilMs) {
+                return new Decision(false, lease.blockedUntilMs - now);
+            }
+            if (now < lease.expiresAtMs) {
+                if (lease.tryTake()) {
+                    return Decision.ALLOWED;
+                }
+            } else {
+                // Expired with permits left: give them back in the same round trip
+                refund = lease.drain();
+            }
+        }
+
+        // Local lease exhausted: take another batch from the shared bucket
+        int requested = Math.max(1, Math.min(properties.getLeaseSize(), capacity));
+        List<?> result;
+        try {
+            result = callTakeScript(bucket, capacity, refillPerSecond, requested, refund);
+        } catch (Exception e) {
+            logger.debug("Rate limiter unavailable, allowing request: {}", e.getMessage());
+            return Decision.ALLOWED;
+        }
+        if (result == null || result.size() < 2) {
+            return Decision.ALLOWED;
+        }
+
+        int granted = ((Number) result.get(0)).intValue();
+        if (granted == 0) {
+            long retryAfterMs = Math.max(1, ((Number) result.get(1)).longValue());
+            leases.put(bucket, new Lease(0, 0, now + retryAfterMs, capacity, refillPerSecond));
+            return new Decision(false, retryAfterMs);
+        }
+        // One permit is used by this request, the rest are served locally
+        leases.put(bucket, new Lease(granted - 1, now + properties.getLeaseTtlMs(), 0, capacity, refillPerSecond));
+        return Decision.ALLOWED;
+    }
+
+    private List<?> callTakeScript(String bucket, int capacity, double refillPerSecond, int requested, int refund) {
+        return redisTemplate.execute(TAKE_SCRIPT, List.of(KEY_PREFIX + bucket),
+                String.valueOf(capacity), String.valueOf(refillPerSecond / 1000.0),
+                String.valueOf(requested), String.valueOf(refund));
+    }
+
+    /**
+     * Drops expired leases and denials so idle clients don't accumulate, and
+     * refunds permits their leases did not use.
+     */
+    @Scheduled(fixedDelayString = "${rateLimit.cleanupIntervalMs:10000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        leases.forEach((bucket, lease) -> {
+            if (now < lease.expiresAtMs || now < lease.blockedUntilMs || !leases.remove(bucket, lease)) {
+                return;
+            }
+            int refund = lease.drain();
+            if (refund > 0) {
+                try {
+                    callTakeScript(bucket, lease.capacity, lease.refillPerSecond, 0, refund);
+                } catch (Exception e) {
+                    logger.debug("Failed to refund {} rate limit permits for {}: {}", refund, bucket, e.getMessage());
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,161 @@
+package com.minisocial.service;
+
+import com.minisocial.config.CircuitBreakerRedisConnectionFactory;
+import com.minisocial.util.CircuitBreaker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds Redis writes that failed during an outage (cache invalidations, feed
+ * rebuilds, revocations) and replays them once Redis is reachable again.
+ * 
+ * Entries are keyed by what they affect, so repeated writes to the same key
+ * collapse into the latest one and a long outage costs one replay per key,
+ * not one per request. The buffer is bounded; when it overflows the oldest
+ * entries are dropped and those keys rely on their TTLs to converge.
+ */
+@Component
+public class RedisReplayBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisReplayBuffer.class);
+
+    private final CircuitBreaker redisCircuitBreaker;
+    private final int maxEntries;
+
+    // Insertion-ordered; guarded by this
+    private final LinkedHashMap<String, Runnable> pending = new LinkedHashMap<>();
+    private final AtomicLong buffered = new AtomicLong();
+    private final AtomicLong replayed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public record Snapshot(String breakerState, int pending, long buffered, long replayed, long dropped) {
+    }
+
+    public RedisReplayBuffer(CircuitBreaker redisCircuitBreaker,
+                             @Value("${redisFallback.replayBufferSize:10000}") int maxEntries) {
+        this.redisCircuitBreaker = redisCircuitBreaker;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Buffers a write that could not reach Redis. A later write for the same key replaces it.
+     *
+     * @param key   what the write affects, e.g. "feed:clear:42"
+     * @param write the Redis write; must throw on failure so it can be retried
+     */
+    public void submit(String key, Runnable write) {
+        synchronized (this) {
+            pending.remove(key);
+            pending.put(key, write);
+            if (pending.size() > maxEntries) {
+                Iterator<String> oldest = pending.keySet().iterator();
+                oldest.next();
+                oldest.remove();
+                dropped.incrementAndGet();
+            }
+        }
+        buffered.incrementAndGet();
+    }
+
+    /**
+     * Runs the wrapped Redis write now, buffering it for replay if Redis is unreachable.
+     * Non-outage errors are rethrown.
+     */
+    public void runOrBuffer(String key, Runnable write) {
+        try {
+            write.run();
+        } catch (RuntimeException e) {
+            if (!CircuitBreakerRedisConnectionFactory.isOutage(e)) {
+                throw e;
+            }
+            logger.debug("Redis unavailable, buffering {}", key);
+            submit(key, write);
+        }
+    }
+
+    /**
+     * Replays buffered writes in order while Redis accepts them. Stops at the
+     * first outage failure and keeps the rest for the next run. While the
+     * circuit is open the first write fails immediately; once it may close,
+     * that write is the breaker's trial call.
+     */
+    @Scheduled(fixedDelayString = "${redisFallback.replayIntervalMs:2000}")
+    public void replay() {
+        if (isEmpty()) {
+            return;
+        }
+
+        int count = 0;
+        while (true) {
+            Map.Entry<String, Runnable> next;
+            synchronized (this) {
+                Iterator<Map.Entry<String, Runnable>> it = pending.entrySet().iterator();
+                if (!it.hasNext()) {
+                    break;
+                }
+                next = it.next();
+                it.remove();
+            }
+            try {
+                next.getValue().run();
+                replayed.incrementAndGet();
+                count++;
+            } catch (RuntimeException e) {
+                if (CircuitBreakerRedisConnectionFactory.isOutage(e)) {
+                    synchronized (this) {
+                        // Back to the front unless a newer write for the key arrived meanwhile
+                        if (!pending.containsKey(next.getKey())) {
+                            LinkedHashMap<String, Runnable> rest = new LinkedHashMap<>(pending);
+                            pending.clear();
+                            pending.put(next.getKey(), next.getValue());
+                            pending.putAll(rest);
+                        }
+                    }
+                    logger.info("Redis still unavailable, {} buffered write(s) pending", size());
+                    return;
+                }
+                logger.warn("Dropping buffered Redis write {}: {}", next.getKey(), e.getMessage());
+                dropped.incrementAndGet();
+            }
+        }
+        if (count > 0) {
+            logger.info("Replayed {} buffered Redis write(s)", count);
+        }
+    }
+
+    private synchronized boolean isEmpty() {
+        return pending.isEmpty();
+    }
+
+    private synchronized int size() {
+        return pending.size();
+    }
+
+    public int getPending() {
+        return size();
+    }
+
+    public long getBuffered() {
+        return buffered.get();
+    }
+
+    public long getReplayed() {
+        return replayed.get();
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(redisCircuitBreaker.getState().name(), size(), buffered.get(), replayed.get(), dropped.get());
+    }
+}
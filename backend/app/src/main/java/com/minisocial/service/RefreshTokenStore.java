@@ -0,0 +1,122 @@
+package com.minisocial.service;
+
+import com.minisocial.exception.UnauthorizedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Opaque, single-use refresh tokens stored in Redis.
+ * 
+ * Only a SHA-256 of each token is stored. Every refresh consumes the presented
+ * token atomically (GETDEL) and issues a new one in the same family. A consumed
+ * token is remembered for the family's lifetime: presenting it again means it was
+ * stolen, so the family's current token is revoked too and the user must log in.
+ */
+@Component
+public class RefreshTokenStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenStore.class);
+    private static final String TOKEN_KEY = "auth:refresh:";
+    private static final String USED_KEY = "auth:refresh:used:";
+    private static final String FAMILY_KEY = "auth:refresh:family:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final SecureRandom random = new SecureRandom();
+
+    @Value("${jwt.refreshExpiration:1209600000}")
+    private long refreshLifetimeMs;
+
+    /**
+     * Owner of a refresh token and the token that replaced it.
+     */
+    public record Rotation(Long userId, String email, String refreshToken) {
+    }
+
+    public RefreshTokenStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * Issues a refresh token starting a new family (one per login).
+     */
+    public String issue(Long userId, String email) {
+        return issue(userId, email, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Consumes a refresh token and returns its owner with a replacement token.
+     *
+     * @throws UnauthorizedException if the token is unknown, expired or already used
+     */
+    public Rotation rotate(String refreshToken) {
+        String hash = hash(refreshToken);
+        String value = redisTemplate.opsForValue().getAndDelete(TOKEN_KEY + hash);
+        if (value == null) {
+            String reusedFamily = redisTemplate.opsForValue().get(USED_KEY + hash);
+            if (reusedFamily != null) {
+                logger.warn("Refresh token reuse detected, revoking family {}", reusedFamily);
+                revokeFamily(reusedFamily);
+            }
+            throw new UnauthorizedException("Invalid refresh token");
+        }
+
+        // Stored as <userId>:<familyId>:<email>
+        String[] parts = value.split(":", 3);
+        Long userId = Long.valueOf(parts[0]);
+        String familyId = parts[1];
+        String email = parts[2];
+
+        redisTemplate.opsForValue().set(USED_KEY + hash, familyId, Duration.ofMillis(refreshLifetimeMs));
+        return new Rotation(userId, email, issue(userId, email, familyId));
+    }
+
+    /**
+     * Revokes a refresh token and its whole family (logout).
+     */
+    public void revoke(String refreshToken) {
+        String value = redisTemplate.opsForValue().getAndDelete(TOKEN_KEY + hash(refreshToken));
+        if (value != null) {
+            revokeFamily(value.split(":", 3)[1]);
+        }
+    }
+
+    private String issue(Long userId, String email, String familyId) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        String hash = hash(token);
+
+        Duration ttl = Duration.ofMillis(refreshLifetimeMs);
+        redisTemplate.opsForValue().set(TOKEN_KEY + hash, userId + ":" + familyId + ":" + email, ttl);
+        redisTemplate.opsForValue().set(FAMILY_KEY + familyId, hash, ttl);
+        return token;
+    }
+
+    private void revokeFamily(String familyId) {
+        String current = redisTemplate.opsForValue().getAndDelete(FAMILY_KEY + familyId);
+        if (current != null) {
+            redisTemplate.delete(TOKEN_KEY + current);
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.minisocial.service;
+
+import com.minisocial.util.SingleFlight;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Creates and tracks the single-flight groups used on read paths, so their
+ * coalesced-request ratios can be reported in one place.
+ */
+@Component
+public class RequestCoalescing {
+
+    private final long timeoutMs;
+    private final List<SingleFlight<?, ?>> groups = new CopyOnWriteArrayList<>();
+
+    public RequestCoalescing(@Value("${coalescing.timeoutMs:5000}") long timeoutMs) {
+        this.timeoutMs = timeoutMs;
+    }
+
+    public <K, V> SingleFlight<K, V> create(String name) {
+        SingleFlight<K, V> group = new SingleFlight<>(name, timeoutMs);
+        groups.add(group);
+        return group;
+    }
+
+    public List<SingleFlight<?, ?>> groups() {
+        return List.copyOf(groups);
+    }
+
+    public List<SingleFlight.Snapshot> snapshot() {
+        return groups.stream().map(SingleFlight::snapshot).toList();
+    }
+}
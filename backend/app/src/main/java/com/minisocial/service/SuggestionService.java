@@ -0,0 +1,18 @@
+package com.minisocial.service;
+
+import com.minisocial.dto.SuggestionsResponse;
+
+/**
+ * Service interface for follow suggestions.
+ */
+public interface SuggestionService {
+
+    /**
+     * Suggests users to follow, ranked by mutual follows.
+     * 
+     * @param userId The ID of the user to compute suggestions for
+     * @param limit Maximum number of suggestions
+     * @return SuggestionsResponse with the ranked suggestions
+     */
+    SuggestionsResponse getSuggestions(Long userId, Integer limit);
+}
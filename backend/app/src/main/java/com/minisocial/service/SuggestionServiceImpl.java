@@ -0,0 +1,151 @@
+package com.minisocial.service;
+
+import com.minisocial.dto.SuggestionItem;
+import com.minisocial.dto.SuggestionsResponse;
+import com.minisocial.repository.FollowRepository;
+import com.minisocial.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Friends-of-friends follow suggestions.
+ * 
+ * Scoring runs over the in-memory {@link FollowGraph} with hard fan-out caps,
+ * falling back to a bounded SQL aggregation until the graph is loaded. Users
+ * who follow nobody get the most-followed accounts instead. Results are cached
+ * per user with a TTL; users followed since caching are filtered out on read.
+ */
+@Service
+public class SuggestionServiceImpl implements SuggestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SuggestionServiceImpl.class);
+    private static final String CACHE_PREFIX = "suggestions:";
+    private static final String POPULAR_KEY = "suggestions:popular";
+    private static final int MAX_LIMIT = 50;
+
+    private final FollowGraph followGraph;
+    private final FollowRepository followRepository;
+    private final UserRepository userRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final FriendsOfFriendsScorer scorer;
+
+    @Value("${suggestions.cacheTtlSeconds:900}")
+    private long cacheTtlSeconds;
+
+    public SuggestionServiceImpl(
+            FollowGraph followGraph,
+            FollowRepository followRepository,
+            UserRepository userRepository,
+            StringRedisTemplate redisTemplate,
+            @Value("${suggestions.maxFirstDegree:500}") int maxFirstDegree,
+            @Value("${suggestions.maxFanOut:1000}") int maxFanOut,
+            @Value("${suggestions.maxScanned:100000}") int maxScanned) {
+        this.followGraph = followGraph;
+        this.followRepository = followRepository;
+        this.userRepository = userRepository;
+        this.redisTemplate = redisTemplate;
+        this.scorer = new FriendsOfFriendsScorer(maxFirstDegree, maxFanOut, maxScanned);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SuggestionsResponse getSuggestions(Long userId, Integer limit) {
+        int n = (limit == null || limit <= 0) ? 20 : Math.min(limit, MAX_LIMIT);
+
+        List<SuggestionItem> suggestions = readCache(CACHE_PREFIX + userId);
+        if (suggestions == null) {
+            suggestions = compute(userId);
+            writeCache(CACHE_PREFIX + userId, suggestions);
+        }
+        if (suggestions.isEmpty()) {
+            suggestions = popular();
+        }
+
+        List<SuggestionItem> visible = suggestions.stream()
+                .filter(item -> !item.userId().equals(userId) && !alreadyFollows(userId, item.userId()))
+                .limit(n)
+                .toList();
+        return new SuggestionsResponse(visible);
+    }
+
+    private List<SuggestionItem> compute(Long userId) {
+        long start = System.nanoTime();
+        List<SuggestionItem> items;
+        if (followGraph.isReady()) {
+            items = scorer.suggest(userId, followGraph::following, MAX_LIMIT).stream()
+                    .map(c -> new SuggestionItem(c.userId(), c.mutualCount()))
+                    .toList();
+        } else {
+            items = followRepository.findSecondDegreeByMutualCount(userId, MAX_LIMIT).stream()
+                    .map(row -> new SuggestionItem(((Number) row[0]).longValue(), ((Number) row[1]).intValue()))
+                    .toList();
+        }
+        logger.debug("Computed {} suggestions for user {} in {} us",
+                items.size(), userId, (System.nanoTime() - start) / 1_000);
+        return items;
+    }
+
+    private List<SuggestionItem> popular() {
+        List<SuggestionItem> cached = readCache(POPULAR_KEY);
+        if (cached != null) {
+            return cached;
+        }
+        List<SuggestionItem> items = userRepository.findMostFollowedIds(PageRequest.of(0, MAX_LIMIT)).stream()
+                .map(id -> new SuggestionItem(id, 0))
+                .toList();
+        writeCache(POPULAR_KEY, items);
+        return items;
+    }
+
+    private boolean alreadyFollows(Long userId, Long candidateId) {
+        return followGraph.isReady()
+                ? followGraph.follows(userId, candidateId)
+                : followRepository.existsByFollower_IdAndFollowing_Id(userId, candidateId);
+    }
+
+    // Cached as "id:count,id:count"; an empty string caches "no suggestions"
+    private List<SuggestionItem> readCache(String key) {
+        try {
+            String value = redisTemplate.opsForValue().get(key);
+            if (value == null) {
+                return null;
+            }
+            if (value.isEmpty()) {
+                return List.of();
+            }
+            List<SuggestionItem> items = new ArrayList<>();
+            for (String entry : value.split(",")) {
+                int separator = entry.indexOf(':');
+                items.add(new SuggestionItem(
+                        Long.valueOf(entry.substring(0, separator)),
+                        Integer.valueOf(entry.substring(separator + 1))));
+            }
+            return items;
+        } catch (Exception e) {
+            logger.debug("Suggestion cache read failed for {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeCache(String key, List<SuggestionItem> items) {
+        try {
+            String value = items.stream()
+                    .map(item -> item.userId() + ":" + item.mutualCount())
+                    .collect(Collectors.joining(","));
+            redisTemplate.opsForValue().set(key, value, Duration.ofSeconds(cacheTtlSeconds));
+        } catch (Exception e) {
+            logger.debug("Suggestion cache write failed for {}: {}", key, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.minisocial.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Set of revoked access-token IDs (jti), shared through Redis and mirrored in memory.
+ * 
+ * Redis holds a sorted set of jti scored by revocation time. Each instance pulls
+ * only entries newer than its watermark, so {@link #isRevoked(String)} on the
+ * request path is a local map lookup. An entry is useful only until the token it
+ * names expires, so both copies drop entries older than the access-token
+ * lifetime and the set stays small.
+ * 
+ * A revocation made on another instance is visible here within one sync interval.
+ */
+@Component
+public class TokenRevocationList {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationList.class);
+    private static final String REVOKED_KEY = "auth:revoked";
+
+    // Re-read this much before the watermark to tolerate clock skew between instances
+    private static final long OVERLAP_MS = 5000;
+
+    private final StringRedisTemplate redisTemplate;
+
+    // jti -> revocation time
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private volatile long watermark;
+
+    @Value("${jwt.expiration}")
+    private long accessTokenLifetimeMs;
+
+    private final RedisReplayBuffer replayBuffer;
+
+    public TokenRevocationList(StringRedisTemplate redisTemplate, RedisReplayBuffer replayBuffer) {
+        this.redisTemplate = redisTemplate;
+        this.replayBuffer = replayBuffer;
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && revoked.containsKey(tokenId);
+    }
+
+    /**
+     * Revokes an access token on this instance immediately and on others at their next sync
+     * (after Redis recovers, if it is down).
+     */
+    public void revoke(String tokenId) {
+        long now = System.currentTimeMillis();
+        revoked.put(tokenId, now);
+        try {
+            // Scored when actually written: a replay after an outage must land above
+            // the other instances' watermarks, or they would never pull it
+            replayBuffer.runOrBuffer(REVOKED_KEY + ":" + tokenId,
+                    () -> redisTemplate.opsForZSet().add(REVOKED_KEY, tokenId, System.currentTimeMillis()));
+        } catch (Exception e) {
+            logger.warn("Failed to publish token revocation: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Pulls revocations newer than the watermark and prunes expired entries.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocationSyncIntervalMs:1000}")
+    public void sync() {
+        long now = System.currentTimeMillis();
+        long horizon = now - accessTokenLifetimeMs - OVERLAP_MS;
+        try {
+            long from = Math.max(horizon, watermark - OVERLAP_MS);
+            Set<ZSetOperations.TypedTuple<String>> entries =
+                    redisTemplate.opsForZSet().rangeByScoreWithScores(REVOKED_KEY, from, Double.POSITIVE_INFINITY);
+            if (entries != null) {
+                long latest = watermark;
+                for (ZSetOperations.TypedTuple<String> entry : entries) {
+                    long revokedAt = entry.getScore().longValue();
+                    revoked.put(entry.getValue(), revokedAt);
+                    latest = Math.max(latest, revokedAt);
+                }
+                watermark = latest;
+            }
+            redisTemplate.opsForZSet().removeRangeByScore(REVOKED_KEY, 0, horizon);
+        } catch (Exception e) {
+            logger.debug("Token revocation sync failed: {}", e.getMessage());
+        }
+        revoked.values().removeIf(revokedAt -> revokedAt < horizon);
+    }
+}
@@ -0,0 +1,49 @@
+package com.minisocial.storage;
+
+import com.minisocial.util.RequestTrace;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Base class recording latency and throughput for every write,
+ * so each backend only implements the transfer itself. Writes made inside a
+ * traced request also get a "storage.put" span.
+ */
+public abstract class AbstractBlobStore implements BlobStore {
+
+    protected final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final BlobStoreStats stats = new BlobStoreStats();
+
+    @Override
+    public final CompletableFuture<Void> put(String key, byte[] data, String contentType) {
+        long start = System.nanoTime();
+        RequestTrace trace = RequestTrace.current();
+        long span = trace == null ? RequestTrace.NONE : trace.enter("storage.put");
+        CompletableFuture<Void> result;
+        try {
+            result = doPut(key, data, contentType);
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        return result.whenComplete((ignored, error) -> {
+            long elapsed = System.nanoTime() - start;
+            if (trace != null) {
+                trace.exit(span);
+            }
+            stats.record(data.length, elapsed, error == null);
+            if (error == null) {
+                logger.debug("Stored {} ({} bytes) in {} ms", key, data.length, elapsed / 1_000_000);
+            }
+        });
+    }
+
+    @Override
+    public BlobStoreStats stats() {
+        return stats;
+    }
+
+    protected abstract CompletableFuture<Void> doPut(String key, byte[] data, String contentType);
+}
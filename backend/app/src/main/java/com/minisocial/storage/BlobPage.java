@@ -0,0 +1,23 @@
+package com.minisocial.storage;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One page of a key-ordered object listing.
+ *
+ * @param blobs Objects on this page
+ * @param nextToken Token for the following page, or null when the listing is complete
+ */
+public record BlobPage(List<Entry> blobs, String nextToken) {
+
+    /**
+     * A listed object.
+     *
+     * @param key Object key within the store
+     * @param size Object size in bytes
+     * @param lastModified Time the object was last written
+     */
+    public record Entry(String key, long size, Instant lastModified) {
+    }
+}
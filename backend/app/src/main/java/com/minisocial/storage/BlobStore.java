@@ -0,0 +1,63 @@
+package com.minisocial.storage;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Abstraction over the object store holding uploaded media.
+ * Implementations: S3-compatible (Backblaze B2), local filesystem, and in-memory.
+ */
+public interface BlobStore {
+
+    /**
+     * Stores an object. The returned future completes once the object is durable;
+     * callers never block on network I/O unless they choose to join.
+     *
+     * @param key Object key within the store
+     * @param data Object content
+     * @param contentType MIME type of the content
+     * @return future completing when the object has been written
+     */
+    CompletableFuture<Void> put(String key, byte[] data, String contentType);
+
+    /**
+     * Reads an object back, e.g. so background workers can process an original
+     * without the upload request holding it in memory.
+     *
+     * @param key Object key within the store
+     * @return future completing with the object content, or exceptionally
+     *         with {@link java.util.NoSuchElementException} if it does not exist
+     */
+    CompletableFuture<byte[]> get(String key);
+
+    /**
+     * Lists one page of objects under a prefix, in key order.
+     *
+     * @param prefix Key prefix to list
+     * @param pageToken Token from the previous page, or null for the first page
+     * @param maxKeys Maximum number of objects to return
+     * @return The page and the token for the next one
+     */
+    BlobPage list(String prefix, String pageToken, int maxKeys);
+
+    /**
+     * Deletes a batch of objects. Missing keys are ignored.
+     *
+     * @param keys Keys to delete (at most 1000, the S3 batch limit)
+     * @return future completing once the objects are gone
+     */
+    CompletableFuture<Void> delete(List<String> keys);
+
+    /**
+     * Returns the public URL under which an object is served.
+     *
+     * @param key Object key within the store
+     * @return Public URL
+     */
+    String publicUrl(String key);
+
+    /**
+     * Returns latency and throughput counters for this store.
+     */
+    BlobStoreStats stats();
+}
@@ -0,0 +1,51 @@
+package com.minisocial.storage;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency and throughput counters for a {@link BlobStore}.
+ */
+public final class BlobStoreStats {
+
+    private final LongAdder operations = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+
+    /**
+     * Point-in-time view of the counters.
+     *
+     * @param operations completed writes
+     * @param failures failed writes
+     * @param bytes bytes written successfully
+     * @param avgLatencyMillis mean write latency
+     * @param throughputBytesPerSecond bytes written per second of write time
+     */
+    public record Snapshot(
+            long operations,
+            long failures,
+            long bytes,
+            double avgLatencyMillis,
+            double throughputBytesPerSecond
+    ) {
+    }
+
+    void record(long byteCount, long elapsedNanos, boolean success) {
+        operations.increment();
+        nanos.add(elapsedNanos);
+        if (success) {
+            bytes.add(byteCount);
+        } else {
+            failures.increment();
+        }
+    }
+
+    public Snapshot snapshot() {
+        long ops = operations.sum();
+        long totalNanos = nanos.sum();
+        long totalBytes = bytes.sum();
+        double avgMillis = ops == 0 ? 0 : totalNanos / 1_000_000.0 / ops;
+        double throughput = totalNanos == 0 ? 0 : totalBytes / (totalNanos / 1_000_000_000.0);
+        return new Snapshot(ops, failures.sum(), totalBytes, avgMillis, throughput);
+    }
+}
@@ -0,0 +1,68 @@
+package com.minisocial.storage;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory fake for tests and offline load testing of the storage path.
+ */
+public class InMemoryBlobStore extends AbstractBlobStore {
+
+    private record StoredObject(byte[] data, Instant lastModified) {
+    }
+
+    private final ConcurrentNavigableMap<String, StoredObject> objects = new ConcurrentSkipListMap<>();
+
+    @Override
+    protected CompletableFuture<Void> doPut(String key, byte[] data, String contentType) {
+        objects.put(key, new StoredObject(data.clone(), Instant.now()));
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public String publicUrl(String key) {
+        return "memory://" + key;
+    }
+
+    @Override
+    public CompletableFuture<byte[]> get(String key) {
+        StoredObject object = objects.get(key);
+        if (object == null) {
+            return CompletableFuture.failedFuture(new NoSuchElementException("No such object: " + key));
+        }
+        return CompletableFuture.completedFuture(object.data().clone());
+    }
+
+    @Override
+    public BlobPage list(String prefix, String pageToken, int maxKeys) {
+        List<BlobPage.Entry> page = new ArrayList<>(maxKeys);
+        Map<String, StoredObject> tail = pageToken == null
+                ? objects.tailMap(prefix, true)
+                : objects.tailMap(pageToken, false);
+        for (Map.Entry<String, StoredObject> entry : tail.entrySet()) {
+            if (!entry.getKey().startsWith(prefix) || page.size() == maxKeys) {
+                break;
+            }
+            StoredObject object = entry.getValue();
+            page.add(new BlobPage.Entry(entry.getKey(), object.data().length, object.lastModified()));
+        }
+        String nextToken = page.size() == maxKeys ? page.get(page.size() - 1).key() : null;
+        return new BlobPage(page, nextToken);
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(List<String> keys) {
+        keys.forEach(objects::remove);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    public int size() {
+        return objects.size();
+    }
+}
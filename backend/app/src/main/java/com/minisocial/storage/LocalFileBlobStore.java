@@ -0,0 +1,140 @@
+package com.minisocial.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+/**
+ * Local filesystem backend for development and tests.
+ * Objects are written to a temp file through a {@link FileChannel} transfer
+ * and atomically moved into place, so readers never see partial files.
+ */
+public class LocalFileBlobStore extends AbstractBlobStore {
+
+    private final Path root;
+    private final String baseUrl;
+
+    public LocalFileBlobStore(Path root, String baseUrl) {
+        this.root = root.toAbsolutePath().normalize();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        logger.info("LocalFileBlobStore initialized at: {}", this.root);
+    }
+
+    @Override
+    protected CompletableFuture<Void> doPut(String key, byte[] data, String contentType) {
+        Path target = resolve(key);
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE);
+                 ReadableByteChannel in = Channels.newChannel(new ByteArrayInputStream(data))) {
+                long position = 0;
+                while (position < data.length) {
+                    position += out.transferFrom(in, position, data.length - position);
+                }
+                out.force(false);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return CompletableFuture.completedFuture(null);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write " + key, e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<byte[]> get(String key) {
+        Path source = resolve(key);
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(in.size()));
+            while (buffer.hasRemaining() && in.read(buffer) >= 0) {
+                // keep reading until the buffer is full
+            }
+            return CompletableFuture.completedFuture(buffer.array());
+        } catch (NoSuchFileException e) {
+            return CompletableFuture.failedFuture(new NoSuchElementException("No such object: " + key));
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(new UncheckedIOException("Failed to read " + key, e));
+        }
+    }
+
+    /**
+     * Lists files in key order. Only the current page is held in memory, but each
+     * page walks the directory tree, so this is meant for development-sized stores.
+     */
+    @Override
+    public BlobPage list(String prefix, String pageToken, int maxKeys) {
+        TreeMap<String, Path> page = new TreeMap<>();
+        try (Stream<Path> files = Files.walk(root)) {
+            files.filter(Files::isRegularFile)
+                    .filter(path -> !path.getFileName().toString().startsWith(".upload-"))
+                    .forEach(path -> {
+                        String key = root.relativize(path).toString().replace('\\', '/');
+                        if (key.startsWith(prefix) && (pageToken == null || key.compareTo(pageToken) > 0)) {
+                            page.put(key, path);
+                            if (page.size() > maxKeys) {
+                                page.pollLastEntry();
+                            }
+                        }
+                    });
+        } catch (NoSuchFileException e) {
+            return new BlobPage(List.of(), null);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list " + prefix, e);
+        }
+
+        List<BlobPage.Entry> entries = new ArrayList<>(page.size());
+        for (Map.Entry<String, Path> entry : page.entrySet()) {
+            try {
+                entries.add(new BlobPage.Entry(entry.getKey(), Files.size(entry.getValue()),
+                        Files.getLastModifiedTime(entry.getValue()).toInstant()));
+            } catch (NoSuchFileException e) {
+                // deleted while listing
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to stat " + entry.getKey(), e);
+            }
+        }
+        String nextToken = page.size() == maxKeys ? page.lastKey() : null;
+        return new BlobPage(entries, nextToken);
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(List<String> keys) {
+        try {
+            for (String key : keys) {
+                Files.deleteIfExists(resolve(key));
+            }
+            return CompletableFuture.completedFuture(null);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(new UncheckedIOException("Failed to delete objects", e));
+        }
+    }
+
+    @Override
+    public String publicUrl(String key) {
+        return baseUrl + "/" + key;
+    }
+
+    private Path resolve(String key) {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root)) {
+            throw new IllegalArgumentException("Key escapes storage root: " + key);
+        }
+        return path;
+    }
+}
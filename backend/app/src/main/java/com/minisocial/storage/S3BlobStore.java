@@ -0,0 +1,152 @@
+package com.minisocial.storage;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.S3Object;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * S3-compatible backend (Backblaze B2).
+ * Transfers run on a dedicated upload executor so request and async worker
+ * threads never block on network I/O. Objects above the multipart threshold
+ * are split into parts that are uploaded in parallel.
+ */
+public class S3BlobStore extends AbstractBlobStore {
+
+    private final AmazonS3 s3Client;
+    private final Executor transferExecutor;
+    private final String bucketName;
+    private final String endpoint;
+    private final long multipartThreshold;
+    private final int partSize;
+
+    public S3BlobStore(AmazonS3 s3Client,
+                       Executor transferExecutor,
+                       String endpoint,
+                       String bucketName,
+                       long multipartThreshold,
+                       int partSize) {
+        this.s3Client = s3Client;
+        this.transferExecutor = transferExecutor;
+        this.endpoint = endpoint;
+        this.bucketName = bucketName;
+        this.multipartThreshold = multipartThreshold;
+        this.partSize = partSize;
+        logger.info("S3BlobStore initialized with endpoint: {}", endpoint);
+    }
+
+    @Override
+    protected CompletableFuture<Void> doPut(String key, byte[] data, String contentType) {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentType(contentType);
+
+        if (data.length < multipartThreshold) {
+            metadata.setContentLength(data.length);
+            return CompletableFuture.runAsync(() -> s3Client.putObject(
+                    new PutObjectRequest(bucketName, key, new ByteArrayInputStream(data), metadata)), transferExecutor);
+        }
+
+        return CompletableFuture
+                .supplyAsync(() -> s3Client.initiateMultipartUpload(
+                        new InitiateMultipartUploadRequest(bucketName, key, metadata)).getUploadId(), transferExecutor)
+                .thenCompose(uploadId -> uploadParts(key, data, uploadId)
+                        .thenAccept(etags -> s3Client.completeMultipartUpload(
+                                new CompleteMultipartUploadRequest(bucketName, key, uploadId, etags)))
+                        .whenComplete((ignored, error) -> {
+                            if (error != null) {
+                                abortQuietly(key, uploadId);
+                            }
+                        }));
+    }
+
+    @Override
+    public CompletableFuture<byte[]> get(String key) {
+        return CompletableFuture.supplyAsync(() -> {
+            try (S3Object object = s3Client.getObject(bucketName, key)) {
+                return object.getObjectContent().readAllBytes();
+            } catch (AmazonS3Exception e) {
+                if (e.getStatusCode() == 404) {
+                    throw new NoSuchElementException("No such object: " + key);
+                }
+                throw e;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read " + key, e);
+            }
+        }, transferExecutor);
+    }
+
+    @Override
+    public BlobPage list(String prefix, String pageToken, int maxKeys) {
+        ListObjectsV2Result result = s3Client.listObjectsV2(new ListObjectsV2Request()
+                .withBucketName(bucketName)
+                .withPrefix(prefix)
+                .withContinuationToken(pageToken)
+                .withMaxKeys(maxKeys));
+        List<BlobPage.Entry> entries = result.getObjectSummaries().stream()
+                .map(summary -> new BlobPage.Entry(
+                        summary.getKey(), summary.getSize(), summary.getLastModified().toInstant()))
+                .toList();
+        return new BlobPage(entries, result.isTruncated() ? result.getNextContinuationToken() : null);
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(List<String> keys) {
+        if (keys.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        DeleteObjectsRequest request = new DeleteObjectsRequest(bucketName)
+                .withKeys(keys.toArray(String[]::new))
+                .withQuiet(true);
+        return CompletableFuture.runAsync(() -> s3Client.deleteObjects(request), transferExecutor);
+    }
+
+    private CompletableFuture<List<PartETag>> uploadParts(String key, byte[] data, String uploadId) {
+        List<CompletableFuture<PartETag>> parts = new ArrayList<>();
+        int partNumber = 1;
+        for (int offset = 0; offset < data.length; offset += partSize, partNumber++) {
+            int length = Math.min(partSize, data.length - offset);
+            UploadPartRequest request = new UploadPartRequest()
+                    .withBucketName(bucketName)
+                    .withKey(key)
+                    .withUploadId(uploadId)
+                    .withPartNumber(partNumber)
+                    .withInputStream(new ByteArrayInputStream(data, offset, length))
+                    .withPartSize(length);
+            parts.add(CompletableFuture.supplyAsync(() -> s3Client.uploadPart(request).getPartETag(), transferExecutor));
+        }
+        return CompletableFuture.allOf(parts.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> parts.stream().map(CompletableFuture::join).toList());
+    }
+
+    private void abortQuietly(String key, String uploadId) {
+        try {
+            s3Client.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, key, uploadId));
+        } catch (Exception e) {
+            logger.warn("Failed to abort multipart upload {} for {}: {}", uploadId, key, e.getMessage());
+        }
+    }
+
+    @Override
+    public String publicUrl(String key) {
+        // Backblaze B2 public URL format: {endpoint}/file/{bucketName}/{fileKey}
+        return String.format("%s/file/%s/%s", endpoint, bucketName, key);
+    }
+}
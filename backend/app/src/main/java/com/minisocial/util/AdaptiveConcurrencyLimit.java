@@ -0,0 +1,166 @@
+package com.minisocial.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit that adapts to observed latency (gradient algorithm with
+ * multiplicative backoff).
+ * 
+ * Latency is sampled in short windows. A long-term average of window latency
+ * is the no-queueing baseline; when the current window runs slower than
+ * baseline * tolerance the limit shrinks in proportion, otherwise it grows by
+ * about sqrt(limit) per window. Failed requests (5xx, timeouts) cut the limit by
+ * a fixed ratio. Requests over the limit are rejected immediately rather than
+ * queued, so a slow dependency turns into fast rejections, not a pile-up.
+ * 
+ * The acquire/release path allocates nothing and takes no lock; sampling
+ * takes a short lock once per completed request.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    public enum Outcome {
+        /** Completed normally; latency is sampled. */
+        SUCCESS,
+        /** Failed in a way that signals overload; the limit backs off. */
+        DROPPED,
+        /** Completed without telling us anything about capacity (e.g. shed further in). */
+        IGNORED
+    }
+
+    private static final int MIN_WINDOW_SAMPLES = 10;
+    private static final long MIN_WINDOW_NANOS = 100_000_000L;
+    private static final int LONG_WINDOW = 600;
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private volatile int limit;
+
+    // Sampling state, guarded by this
+    private double estimatedLimit;
+    private double longRttNanos;
+    private double lastShortRttNanos;
+    private long windowStart = System.nanoTime();
+    private long windowRttSum;
+    private int windowSamples;
+    private int windowMaxInFlight;
+    private boolean windowDropped;
+
+    public record Snapshot(String name, int limit, int inFlight, long rejected, double shortRttMs, double longRttMs) {
+    }
+
+    public AdaptiveConcurrencyLimit(String name, int initialLimit, int minLimit, int maxLimit,
+                                    double tolerance, double smoothing) {
+        this.name = name;
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.tolerance = Math.max(1.0, tolerance);
+        this.smoothing = Math.min(1.0, Math.max(0.01, smoothing));
+        this.estimatedLimit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        this.limit = (int) estimatedLimit;
+    }
+
+    /**
+     * Claims a slot if the limit allows.
+     *
+     * @return the start timestamp to pass to {@link #release}, or -1 if rejected
+     */
+    public long tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return -1;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return System.nanoTime();
+    }
+
+    /**
+     * Returns a slot claimed by {@link #tryAcquire()}; call exactly once per successful acquire.
+     */
+    public void release(long startNanos, Outcome outcome) {
+        int inFlightAtRelease = inFlight.getAndDecrement();
+        if (outcome == Outcome.IGNORED) {
+            return;
+        }
+        long now = System.nanoTime();
+        sample(now - startNanos, inFlightAtRelease, outcome == Outcome.DROPPED, now);
+    }
+
+    private synchronized void sample(long rttNanos, int inFlightAtRelease, boolean dropped, long now) {
+        windowRttSum += rttNanos;
+        windowSamples++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlightAtRelease);
+        windowDropped |= dropped;
+
+        if (windowSamples < MIN_WINDOW_SAMPLES || now - windowStart < MIN_WINDOW_NANOS) {
+            return;
+        }
+
+        double shortRtt = (double) windowRttSum / windowSamples;
+        boolean appLimited = windowMaxInFlight < estimatedLimit / 2;
+        double newLimit;
+
+        if (windowDropped) {
+            newLimit = estimatedLimit * BACKOFF_RATIO;
+        } else {
+            if (longRttNanos == 0) {
+                longRttNanos = shortRtt;
+            } else {
+                longRttNanos += (shortRtt - longRttNanos) / LONG_WINDOW;
+            }
+            // Load fell away: let the baseline catch up instead of holding an inflated limit
+            if (longRttNanos / shortRtt > 2) {
+                longRttNanos *= 0.95;
+            }
+
+            double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / shortRtt));
+            newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+            // Never grow on a window that did not come close to the limit
+            if (appLimited && newLimit > estimatedLimit) {
+                newLimit = estimatedLimit;
+            }
+        }
+
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit,
+                estimatedLimit * (1 - smoothing) + newLimit * smoothing));
+        limit = (int) estimatedLimit;
+        lastShortRttNanos = shortRtt;
+
+        windowStart = now;
+        windowRttSum = 0;
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+        windowDropped = false;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public synchronized Snapshot snapshot() {
+        return new Snapshot(name, limit, inFlight.get(), rejected.sum(),
+                lastShortRttNanos / 1_000_000.0, longRttNanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,83 @@
+package com.minisocial.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Minimal thread-safe circuit breaker.
+ * 
+ * CLOSED lets everything through and counts consecutive failures; reaching the
+ * threshold opens the circuit. OPEN rejects until the open duration has passed,
+ * then admits a single trial call (HALF_OPEN). A successful trial closes the
+ * circuit, a failed one opens it again. A trial that never reports back is
+ * replaced by a new one after another open duration.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openDurationMs;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile long stateChangedAt = System.currentTimeMillis();
+
+    public CircuitBreaker(String name, int failureThreshold, long openDurationMs) {
+        this.name = name;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openDurationMs = openDurationMs;
+    }
+
+    /**
+     * Whether a call may proceed. In OPEN state this may claim the single trial slot.
+     */
+    public boolean allowRequest() {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (System.currentTimeMillis() - stateChangedAt < openDurationMs) {
+            return false;
+        }
+        // OPEN past its duration, or a HALF_OPEN trial that never reported
+        if (state.compareAndSet(current, State.HALF_OPEN)) {
+            stateChangedAt = System.currentTimeMillis();
+            return true;
+        }
+        return false;
+    }
+
+    public void recordSuccess() {
+        // Read before writing: on hot paths this is called per operation and is almost always a no-op
+        if (consecutiveFailures.get() != 0) {
+            consecutiveFailures.set(0);
+        }
+        if (state.get() != State.CLOSED && state.getAndSet(State.CLOSED) != State.CLOSED) {
+            stateChangedAt = System.currentTimeMillis();
+        }
+    }
+
+    public void recordFailure() {
+        if (state.compareAndSet(State.HALF_OPEN, State.OPEN)) {
+            stateChangedAt = System.currentTimeMillis();
+            return;
+        }
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold && state.compareAndSet(State.CLOSED, State.OPEN)) {
+            stateChangedAt = System.currentTimeMillis();
+        }
+    }
+
+    public boolean isClosed() {
+        return state.get() == State.CLOSED;
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,99 @@
+package com.minisocial.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe counting Bloom filter over pairs of longs.
+ * 
+ * Each slot is a 4-bit counter packed sixteen to a long and updated with CAS,
+ * so entries can be removed as well as added. A counter that reaches 15 sticks
+ * there and is never decremented, which can only cause extra false positives.
+ * False negatives are possible only if removals are applied for pairs that were
+ * never added; callers must treat a negative as a hint, not a guarantee.
+ */
+public class CountingBloomFilter {
+
+    private static final int MAX_COUNT = 15;
+
+    private final AtomicLongArray counters;
+    private final long slotCount;
+    private final int hashCount;
+
+    /**
+     * Creates a filter sized for the expected number of entries.
+     *
+     * @param expectedEntries Expected number of distinct entries
+     * @param falsePositiveRate Target false-positive probability, e.g. 0.01
+     */
+    public CountingBloomFilter(long expectedEntries, double falsePositiveRate) {
+        long n = Math.max(1, expectedEntries);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.slotCount = Math.max(16, m);
+        this.counters = new AtomicLongArray(Math.toIntExact((slotCount + 15) / 16));
+        this.hashCount = Math.max(1, (int) Math.round((double) slotCount / n * Math.log(2)));
+    }
+
+    public void add(long a, long b) {
+        long hash = hash(a, b);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            update(Integer.toUnsignedLong(h1 + i * h2) % slotCount, 1);
+        }
+    }
+
+    public void remove(long a, long b) {
+        long hash = hash(a, b);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            update(Integer.toUnsignedLong(h1 + i * h2) % slotCount, -1);
+        }
+    }
+
+    public boolean mightContain(long a, long b) {
+        long hash = hash(a, b);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long slot = Integer.toUnsignedLong(h1 + i * h2) % slotCount;
+            long word = counters.get((int) (slot >>> 4));
+            if (((word >>> ((slot & 15) << 2)) & 0xF) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long sizeInBytes() {
+        return counters.length() * 8L;
+    }
+
+    private void update(long slot, int delta) {
+        int index = (int) (slot >>> 4);
+        int shift = (int) ((slot & 15) << 2);
+        while (true) {
+            long word = counters.get(index);
+            int count = (int) ((word >>> shift) & 0xF);
+            // Saturated counters stick; empty ones never go negative
+            if (count == MAX_COUNT || (delta < 0 && count == 0)) {
+                return;
+            }
+            long updated = (word & ~(0xFL << shift)) | ((long) (count + delta) << shift);
+            if (counters.compareAndSet(index, word, updated)) {
+                return;
+            }
+        }
+    }
+
+    private static long hash(long a, long b) {
+        // Murmur3 fmix64 over a mix of both values
+        long hash = a * 0x9e3779b97f4a7c15L ^ b;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,164 @@
+package com.minisocial.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+@Component
+public class JwtUtil {
+
+    @Value("${jwt.secret}")
+    private String secret;
+
+    // Access token lifetime; kept short because access tokens are only revocable via the revocation list
+    @Value("${jwt.expiration}")
+    private Long expiration;
+
+    // Upper bound on cached verified tokens; beyond it tokens are verified without caching
+    @Value("${jwt.verifiedCacheSize:10000}")
+    private int verifiedCacheSize;
+
+    // Key and parser are immutable and thread-safe, so build them once
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    // Verified claims keyed by a digest of the token, so raw tokens are not retained.
+    // Expired entries are swept on a schedule, never on the request path.
+    private final Map<TokenDigest, VerifiedToken> verifiedCache = new ConcurrentHashMap<>();
+
+    private record TokenDigest(long high, long low) {
+    }
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser().verifyWith(signingKey).build();
+    }
+
+    public String generateToken(String username, Long userId) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("userId", userId);
+        return createToken(claims, username);
+    }
+
+    private String createToken(Map<String, Object> claims, String subject) {
+        Date now = new Date();
+        Date expirationDate = new Date(now.getTime() + expiration);
+
+        return Jwts.builder()
+                .claims(claims)
+                .subject(subject)
+                .id(UUID.randomUUID().toString())
+                .issuedAt(now)
+                .expiration(expirationDate)
+                .signWith(signingKey)
+                .compact();
+    }
+
+    /**
+     * Verifies the token once and returns its claims.
+     * Repeat calls for the same token are served from a bounded cache until it expires.
+     *
+     * @param token The compact JWT
+     * @return The verified claims
+     * @throws JwtException if the signature is invalid, the token has expired or claims are missing
+     */
+    public VerifiedToken verify(String token) {
+        long now = System.currentTimeMillis();
+        TokenDigest digest = digest(token);
+        VerifiedToken cached = verifiedCache.get(digest);
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                return cached;
+            }
+            verifiedCache.remove(digest);
+        }
+
+        Claims claims = extractAllClaims(token);
+        Long userId = claims.get("userId", Long.class);
+        if (claims.getId() == null || claims.getSubject() == null || userId == null || claims.getExpiration() == null) {
+            throw new JwtException("Token is missing required claims");
+        }
+        VerifiedToken verified = new VerifiedToken(
+                claims.getId(), userId, claims.getSubject(), claims.getExpiration().getTime());
+        cache(digest, verified);
+        return verified;
+    }
+
+    /**
+     * Drops expired tokens from the verified cache, making room for new ones.
+     */
+    @Scheduled(fixedDelayString = "${jwt.verifiedCacheSweepMs:60000}")
+    public void sweepVerifiedCache() {
+        long now = System.currentTimeMillis();
+        verifiedCache.values().removeIf(entry -> entry.isExpired(now));
+    }
+
+    public long getExpirationMillis() {
+        return expiration;
+    }
+
+    public boolean validateToken(String token, String username) {
+        try {
+            return verify(token).email().equals(username);
+        } catch (JwtException e) {
+            return false;
+        }
+    }
+
+    public String extractUsername(String token) {
+        return verify(token).email();
+    }
+
+    public Long extractUserId(String token) {
+        return verify(token).userId();
+    }
+
+    public Date extractExpiration(String token) {
+        return new Date(verify(token).expiresAtMillis());
+    }
+
+    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
+        final Claims claims = extractAllClaims(token);
+        return claimsResolver.apply(claims);
+    }
+
+    private Claims extractAllClaims(String token) {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    // When full, the token is simply not cached until the next sweep frees space
+    private void cache(TokenDigest digest, VerifiedToken verified) {
+        if (verifiedCache.size() < verifiedCacheSize) {
+            verifiedCache.put(digest, verified);
+        }
+    }
+
+    private static TokenDigest digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            ByteBuffer buffer = ByteBuffer.wrap(hash);
+            return new TokenDigest(buffer.getLong(), buffer.getLong());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
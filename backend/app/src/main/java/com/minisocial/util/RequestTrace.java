@@ -0,0 +1,212 @@
+package com.minisocial.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Span buffer for one traced request, reused across requests by
+ * {@link RequestTracer}.
+ *
+ * Spans are written into preallocated arrays, so recording a span allocates
+ * nothing; only a request that is kept (slow or sampled) is copied out. The
+ * static {@link #start}/{@link #end} pair works against the trace bound to the
+ * current thread and returns immediately when there is none, which is the
+ * case for untraced requests, scheduled jobs and queue workers.
+ *
+ * Span handles carry the buffer's generation, so work that outlives its
+ * request (a timed-out Redis call, say) cannot close spans of the request that
+ * reused the buffer. A straggler opening a new span in that window can at
+ * worst leave one stray span in the next request.
+ */
+public final class RequestTrace {
+
+    /** Returned by {@link #start} when nothing is traced; {@link #end} ignores it. */
+    public static final long NONE = -1L;
+
+    private static final ThreadLocal<RequestTrace> CURRENT = new ThreadLocal<>();
+
+    private final String[] names;
+    private final long[] starts;
+    private final long[] ends;
+    private final AtomicInteger size = new AtomicInteger();
+
+    private volatile int generation;
+    private String method;
+    private String route;
+    private long startNanos;
+    private long startMillis;
+
+    public record Span(String name, double offsetMs, double durationMs, boolean unfinished) {
+    }
+
+    RequestTrace(int maxSpans) {
+        this.names = new String[maxSpans];
+        this.starts = new long[maxSpans];
+        this.ends = new long[maxSpans];
+    }
+
+    /**
+     * @return the trace bound to this thread, or null when the current work is not traced
+     */
+    public static RequestTrace current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Opens a span on the current thread's trace.
+     *
+     * @param name a constant; it is stored by reference
+     * @return handle for {@link #end}, or {@link #NONE} when nothing is traced
+     */
+    public static long start(String name) {
+        RequestTrace trace = CURRENT.get();
+        return trace == null ? NONE : trace.enter(name);
+    }
+
+    /**
+     * Closes a span opened by {@link #start} on the same thread.
+     */
+    public static void end(long handle) {
+        if (handle != NONE) {
+            RequestTrace trace = CURRENT.get();
+            if (trace != null) {
+                trace.exit(handle);
+            }
+        }
+    }
+
+    /**
+     * Runs tasks on the given executor with the current trace bound, so spans
+     * recorded there land in the calling request. Returns the executor itself
+     * when nothing is traced.
+     */
+    public static Executor propagating(Executor executor) {
+        RequestTrace trace = CURRENT.get();
+        if (trace == null) {
+            return executor;
+        }
+        int expected = trace.generation;
+        return task -> executor.execute(() -> {
+            RequestTrace previous = trace.attach(expected);
+            try {
+                task.run();
+            } finally {
+                detach(previous);
+            }
+        });
+    }
+
+    /**
+     * Binds this trace to the current thread if it still belongs to the same
+     * request.
+     *
+     * @return the previously bound trace, to pass to {@link #detach}
+     */
+    public RequestTrace attach(int expectedGeneration) {
+        RequestTrace previous = CURRENT.get();
+        if (generation == expectedGeneration) {
+            CURRENT.set(this);
+        }
+        return previous;
+    }
+
+    public static void detach(RequestTrace previous) {
+        CURRENT.set(previous);
+    }
+
+    /**
+     * Opens a span. Safe to call from any thread holding a reference to this
+     * trace; use it when a span ends on a different thread than it started.
+     */
+    public long enter(String name) {
+        int index = size.getAndIncrement();
+        if (index >= names.length) {
+            return NONE;
+        }
+        names[index] = name;
+        ends[index] = 0L;
+        starts[index] = System.nanoTime();
+        return ((long) generation << 32) | index;
+    }
+
+    public void exit(long handle) {
+        if (handle == NONE || (int) (handle >>> 32) != generation) {
+            return;
+        }
+        ends[(int) handle] = System.nanoTime();
+    }
+
+    public int generation() {
+        return generation;
+    }
+
+    /**
+     * Names the request once routing has resolved it, e.g. to the matched
+     * path pattern instead of the raw URI.
+     */
+    public void setRoute(String route) {
+        this.route = route;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getRoute() {
+        return route;
+    }
+
+    public long getStartMillis() {
+        return startMillis;
+    }
+
+    long getStartNanos() {
+        return startNanos;
+    }
+
+    int getDroppedSpans() {
+        return Math.max(0, size.get() - names.length);
+    }
+
+    void begin(String method, String route) {
+        this.method = method;
+        this.route = route;
+        this.startMillis = System.currentTimeMillis();
+        this.startNanos = System.nanoTime();
+        CURRENT.set(this);
+    }
+
+    /**
+     * Invalidates outstanding handles and clears the spans for reuse.
+     */
+    void reset() {
+        generation++;
+        Arrays.fill(names, 0, Math.min(size.get(), names.length), null);
+        size.set(0);
+        method = null;
+        route = null;
+    }
+
+    /**
+     * Copies the recorded spans out; spans still open are cut at {@code endNanos}.
+     */
+    List<Span> copySpans(long endNanos) {
+        int count = Math.min(size.get(), names.length);
+        List<Span> spans = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            if (names[i] == null) {
+                continue;
+            }
+            long end = ends[i];
+            boolean unfinished = end == 0L;
+            spans.add(new Span(names[i],
+                    (starts[i] - startNanos) / 1_000_000.0,
+                    ((unfinished ? endNanos : end) - starts[i]) / 1_000_000.0,
+                    unfinished));
+        }
+        return spans;
+    }
+}
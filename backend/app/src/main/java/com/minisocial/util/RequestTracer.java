@@ -0,0 +1,125 @@
+package com.minisocial.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process request tracing with slow-request capture.
+ *
+ * Each request borrows a {@link RequestTrace} from a fixed pool of span
+ * buffers. When it finishes, requests over the latency threshold, plus a small
+ * random sample of the rest, are copied into a bounded ring buffer with their
+ * full span breakdown; everything else is simply returned to the pool. The
+ * begin/finish path and span recording allocate nothing. When the pool is
+ * exhausted the request runs untraced rather than waiting.
+ */
+public class RequestTracer {
+
+    private final boolean enabled;
+    private final long slowThresholdNanos;
+    private final double sampleRate;
+
+    private final ArrayBlockingQueue<RequestTrace> pool;
+    private final AtomicReferenceArray<Captured> ring;
+    private final AtomicLong cursor = new AtomicLong();
+
+    private final LongAdder traced = new LongAdder();
+    private final LongAdder slow = new LongAdder();
+    private final LongAdder sampled = new LongAdder();
+    private final LongAdder untraced = new LongAdder();
+
+    public record Captured(String method, String route, int status, long startedAt, double durationMs,
+                           boolean slow, int droppedSpans, List<RequestTrace.Span> spans) {
+    }
+
+    public record Snapshot(boolean enabled, double slowThresholdMs, double sampleRate,
+                           long traced, long slow, long sampled, long untraced, List<Captured> recent) {
+    }
+
+    public RequestTracer(boolean enabled, long slowThresholdMs, double sampleRate,
+                         int capacity, int poolSize, int maxSpans) {
+        this.enabled = enabled;
+        this.slowThresholdNanos = Math.max(0, slowThresholdMs) * 1_000_000L;
+        this.sampleRate = Math.min(1.0, Math.max(0.0, sampleRate));
+        this.ring = new AtomicReferenceArray<>(Math.max(1, capacity));
+        this.pool = new ArrayBlockingQueue<>(Math.max(1, poolSize));
+        for (int i = 0; i < Math.max(1, poolSize); i++) {
+            pool.offer(new RequestTrace(Math.max(1, maxSpans)));
+        }
+    }
+
+    /**
+     * Starts tracing a request and binds the trace to the current thread.
+     *
+     * @return the trace to pass to {@link #finish}, or null when the request is not traced
+     */
+    public RequestTrace begin(String method, String route) {
+        if (!enabled) {
+            return null;
+        }
+        RequestTrace trace = pool.poll();
+        if (trace == null) {
+            untraced.increment();
+            return null;
+        }
+        traced.increment();
+        trace.begin(method, route);
+        return trace;
+    }
+
+    /**
+     * Records the request if it was slow or sampled and returns its buffer to
+     * the pool. Call once per {@link #begin}; the trace must not be used after.
+     */
+    public void finish(RequestTrace trace, int status) {
+        long end = System.nanoTime();
+        long elapsed = end - trace.getStartNanos();
+        boolean isSlow = elapsed >= slowThresholdNanos;
+        if (isSlow || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate)) {
+            (isSlow ? slow : sampled).increment();
+            Captured captured = new Captured(trace.getMethod(), trace.getRoute(), status, trace.getStartMillis(),
+                    elapsed / 1_000_000.0, isSlow, trace.getDroppedSpans(), trace.copySpans(end));
+            ring.set((int) (cursor.getAndIncrement() % ring.length()), captured);
+        }
+        trace.reset();
+        pool.offer(trace);
+    }
+
+    /**
+     * @return counters and captured requests, newest first
+     */
+    public Snapshot snapshot() {
+        long next = cursor.get();
+        int count = (int) Math.min(next, ring.length());
+        List<Captured> recent = new ArrayList<>(count);
+        for (long i = next - 1; i >= next - count; i--) {
+            Captured captured = ring.get((int) (i % ring.length()));
+            if (captured != null) {
+                recent.add(captured);
+            }
+        }
+        return new Snapshot(enabled, slowThresholdNanos / 1_000_000.0, sampleRate,
+                traced.sum(), slow.sum(), sampled.sum(), untraced.sum(), recent);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getSlowCount() {
+        return slow.sum();
+    }
+
+    public long getSampledCount() {
+        return sampled.sum();
+    }
+
+    public long getUntracedCount() {
+        return untraced.sum();
+    }
+}
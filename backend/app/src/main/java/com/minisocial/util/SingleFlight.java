@@ -0,0 +1,165 @@
+package com.minisocial.util;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical computations.
+ * 
+ * The first caller for a key (the leader) runs the work; callers arriving while
+ * it is in flight share its result, including its failure. The key is released
+ * as soon as the flight completes, so later callers start a fresh computation
+ * and never see results older than their own request.
+ * 
+ * Every flight has a deadline: when it passes, all waiters fail with a
+ * {@link TimeoutException} and the key is released, so a stuck leader cannot
+ * hold callers indefinitely.
+ */
+public class SingleFlight<K, V> {
+
+    private final String name;
+    private final long timeoutMs;
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder leaders = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public record Snapshot(String name, long leaders, long coalesced, double coalescedRatio, int inFlight) {
+    }
+
+    public SingleFlight(String name, long timeoutMs) {
+        this.name = name;
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * Runs (or joins) the asynchronous computation for a key.
+     *
+     * @param work started only by the leader
+     * @return a future private to this caller; cancelling it does not affect other waiters
+     */
+    public CompletableFuture<V> execute(K key, Supplier<? extends CompletionStage<V>> work) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalesced.increment();
+            return existing.copy();
+        }
+
+        leaders.increment();
+        flight.orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .whenComplete((value, error) -> inFlight.remove(key, flight));
+        try {
+            work.get().whenComplete((value, error) -> {
+                if (error != null) {
+                    flight.completeExceptionally(error);
+                } else {
+                    flight.complete(value);
+                }
+            });
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+        }
+        return flight.copy();
+    }
+
+    /**
+     * Batch form for keyed loads (e.g. hydrating posts by ID). Keys already in
+     * flight are joined; the rest are claimed and loaded by this caller in one
+     * call, on the calling thread. Blocks until every key resolves.
+     *
+     * @param loader loads the claimed keys; keys absent from its result resolve to null
+     * @return values for all requested keys (null for keys the loader did not return)
+     * @throws CompletionException wrapping the loader's failure or a {@link TimeoutException}
+     */
+    public Map<K, V> executeAll(Collection<K> keys, Function<List<K>, Map<K, V>> loader) {
+        Map<K, CompletableFuture<V>> waiting = new LinkedHashMap<>();
+        Map<K, CompletableFuture<V>> claimed = new LinkedHashMap<>();
+        for (K key : keys) {
+            if (waiting.containsKey(key)) {
+                continue;
+            }
+            CompletableFuture<V> flight = new CompletableFuture<>();
+            CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+            if (existing != null) {
+                coalesced.increment();
+                waiting.put(key, existing);
+            } else {
+                leaders.increment();
+                claimed.put(key, flight);
+                waiting.put(key, flight);
+            }
+        }
+
+        if (!claimed.isEmpty()) {
+            try {
+                Map<K, V> loaded = loader.apply(List.copyOf(claimed.keySet()));
+                claimed.forEach((key, flight) -> {
+                    inFlight.remove(key, flight);
+                    flight.complete(loaded.get(key));
+                });
+            } catch (RuntimeException e) {
+                claimed.forEach((key, flight) -> {
+                    inFlight.remove(key, flight);
+                    flight.completeExceptionally(e);
+                });
+                throw new CompletionException(e);
+            }
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        Map<K, V> result = new HashMap<>();
+        for (Map.Entry<K, CompletableFuture<V>> entry : waiting.entrySet()) {
+            result.put(entry.getKey(), await(entry.getValue(), deadline));
+        }
+        return result;
+    }
+
+    private V await(CompletableFuture<V> flight, long deadlineNanos) {
+        try {
+            return flight.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            throw new CompletionException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new CompletionException(new TimeoutException(name + " did not complete within " + timeoutMs + "ms"));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getLeaders() {
+        return leaders.sum();
+    }
+
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    public int getInFlight() {
+        return inFlight.size();
+    }
+
+    public Snapshot snapshot() {
+        long led = leaders.sum();
+        long joined = coalesced.sum();
+        long total = led + joined;
+        return new Snapshot(name, led, joined, total == 0 ? 0.0 : (double) joined / total, inFlight.size());
+    }
+}
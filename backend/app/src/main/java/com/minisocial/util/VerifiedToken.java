@@ -0,0 +1,16 @@
+package com.minisocial.util;
+
+/**
+ * Claims of a JWT whose signature and expiry have been checked.
+ *
+ * @param tokenId The jti claim, used for revocation
+ * @param userId The userId claim
+ * @param email The subject
+ * @param expiresAtMillis Expiry as epoch millis
+ */
+public record VerifiedToken(String tokenId, Long userId, String email, long expiresAtMillis) {
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+}
@@ -0,0 +1,68 @@
+package com.minisocial.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FriendsOfFriendsScorerTest {
+
+    @Test
+    void ranksSecondDegreeByMutualCountExcludingSelfAndFollowed() {
+        Map<Long, long[]> graph = new HashMap<>();
+        graph.put(1L, new long[]{2, 3, 4});
+        graph.put(2L, new long[]{1, 3, 5, 6});
+        graph.put(3L, new long[]{5, 6});
+        graph.put(4L, new long[]{5, 7});
+
+        List<FriendsOfFriendsScorer.Candidate> result =
+                new FriendsOfFriendsScorer(100, 100, 1000).suggest(1L, id -> graph.getOrDefault(id, new long[0]), 10);
+
+        assertEquals(List.of(
+                new FriendsOfFriendsScorer.Candidate(5, 3),
+                new FriendsOfFriendsScorer.Candidate(6, 2),
+                new FriendsOfFriendsScorer.Candidate(7, 1)), result);
+    }
+
+    @Test
+    void capsWorkForHighDegreeUsers() {
+        // Hub follows 10k users who each follow 5k others: 50M edges if fully expanded
+        long hub = 0;
+        long[] hubFollowing = ids(1, 10_000);
+        long[] fanOut = ids(100_000, 5_000);
+        List<Long> expanded = new ArrayList<>();
+        LongFunction<long[]> following = id -> {
+            if (id == hub) {
+                return hubFollowing;
+            }
+            expanded.add(id);
+            return fanOut;
+        };
+
+        List<FriendsOfFriendsScorer.Candidate> result =
+                new FriendsOfFriendsScorer(500, 1000, 100_000).suggest(hub, following, 10_000);
+
+        assertTrue(expanded.size() <= 500, "expanded " + expanded.size() + " followees");
+        // Every scanned edge adds at most one to one candidate's count
+        long counted = result.stream().mapToLong(FriendsOfFriendsScorer.Candidate::mutualCount).sum();
+        assertTrue(counted <= 100_000, "counted " + counted + " edges");
+        // Oversized lists are strided (10k followees / 500 = every 20th), not truncated
+        assertEquals(20, expanded.get(1) - expanded.get(0));
+        // Stride sampling of the 5k fan-out reaches candidates beyond the first 1k
+        assertTrue(result.stream().anyMatch(c -> c.userId() >= 104_000));
+    }
+
+    private static long[] ids(long first, int count) {
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = first + i;
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,93 @@
+package com.minisocial.service;
+
+import com.minisocial.config.RateLimitProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTest {
+
+    private static final long LEASE_TTL_MS = 20;
+
+    @Test
+    void slowClientGetsWholeCapacity() throws InterruptedException {
+        BucketStub redis = new BucketStub();
+        RateLimiter limiter = new RateLimiter(redis, properties());
+        RateLimitProperties.Rule rule = rule(10);
+
+        // Each request comes after the previous lease expired, so every one is a fresh lease
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.check(rule, 1L, null).allowed(), "request " + (i + 1) + " of 10");
+            Thread.sleep(LEASE_TTL_MS + 10);
+        }
+        assertFalse(limiter.check(rule, 1L, null).allowed());
+    }
+
+    @Test
+    void sweepRefundsUnusedLease() throws InterruptedException {
+        BucketStub redis = new BucketStub();
+        RateLimiter limiter = new RateLimiter(redis, properties());
+
+        assertTrue(limiter.check(rule(10), 1L, null).allowed());
+        assertEquals(5, redis.tokens("ratelimit:posts:u:1"), 0.01);
+
+        Thread.sleep(LEASE_TTL_MS + 10);
+        limiter.evictExpired();
+        assertEquals(9, redis.tokens("ratelimit:posts:u:1"), 0.01);
+    }
+
+    private static RateLimitProperties properties() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setLeaseSize(5);
+        properties.setLeaseTtlMs(LEASE_TTL_MS);
+        return properties;
+    }
+
+    private static RateLimitProperties.Rule rule(int capacity) {
+        RateLimitProperties.Rule rule = new RateLimitProperties.Rule();
+        rule.setName("posts");
+        rule.setMethod("POST");
+        rule.setPathPrefix("/posts");
+        rule.setCapacity(capacity);
+        rule.setRefillPerSecond(0.000_001); // effectively no refill during the test
+        return rule;
+    }
+
+    /**
+     * Evaluates the take script's arithmetic in memory instead of in Redis.
+     */
+    private static final class BucketStub extends StringRedisTemplate {
+
+        private final Map<String, double[]> buckets = new HashMap<>(); // {tokens, ts}
+
+        double tokens(String key) {
+            return buckets.get(key)[0];
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public synchronized <T> T execute(RedisScript<T> script, List<String> keys, Object... args) {
+            double capacity = Double.parseDouble((String) args[0]);
+            double rate = Double.parseDouble((String) args[1]);
+            int requested = Integer.parseInt((String) args[2]);
+            int refund = Integer.parseInt((String) args[3]);
+            long now = System.currentTimeMillis();
+
+            double[] state = buckets.computeIfAbsent(keys.get(0), key -> new double[]{capacity, now});
+            double tokens = Math.min(capacity, state[0] + Math.max(0, now - state[1]) * rate + refund);
+            long granted = Math.min(requested, (long) Math.floor(tokens));
+            state[0] = tokens - granted;
+            state[1] = now;
+            long retry = granted == 0 && requested > 0 ? (long) Math.ceil((1 - state[0]) / rate) : 0;
+            return (T) List.of(granted, retry);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.minisocial.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestTracerTest {
+
+    @Test
+    void slowRequestIsCapturedWithSpans() {
+        RequestTracer tracer = new RequestTracer(true, 0, 0.0, 10, 2, 8);
+
+        RequestTrace trace = tracer.begin("GET", "/feed");
+        long outer = RequestTrace.start("outer");
+        RequestTrace.end(RequestTrace.start("inner"));
+        RequestTrace.end(outer);
+        RequestTrace.start("leftOpen");
+        RequestTrace.detach(null);
+        tracer.finish(trace, 200);
+
+        RequestTracer.Snapshot snapshot = tracer.snapshot();
+        assertEquals(1, snapshot.slow());
+        RequestTracer.Captured captured = snapshot.recent().get(0);
+        assertEquals("/feed", captured.route());
+        assertEquals(3, captured.spans().size());
+        assertEquals("inner", captured.spans().get(1).name());
+        assertTrue(captured.spans().get(2).unfinished());
+    }
+
+    @Test
+    void fastUnsampledRequestIsNotKept() {
+        RequestTracer tracer = new RequestTracer(true, 60_000, 0.0, 10, 1, 8);
+
+        RequestTrace trace = tracer.begin("GET", "/feed");
+        RequestTrace.end(RequestTrace.start("work"));
+        RequestTrace.detach(null);
+        tracer.finish(trace, 200);
+
+        assertEquals(0, tracer.snapshot().recent().size());
+        assertNull(RequestTrace.current());
+        assertEquals(RequestTrace.NONE, RequestTrace.start("untraced"));
+    }
+
+    @Test
+    void exhaustedPoolRunsUntraced() {
+        RequestTracer tracer = new RequestTracer(true, 0, 0.0, 10, 1, 8);
+
+        RequestTrace first = tracer.begin("GET", "/a");
+        assertNotNull(first);
+        assertNull(tracer.begin("GET", "/b"));
+        assertEquals(1, tracer.snapshot().untraced());
+        RequestTrace.detach(null);
+        tracer.finish(first, 200);
+    }
+
+    @Test
+    void staleHandleDoesNotTouchReusedBuffer() {
+        RequestTracer tracer = new RequestTracer(true, 0, 0.0, 10, 1, 8);
+
+        RequestTrace trace = tracer.begin("GET", "/a");
+        long stale = trace.enter("straggler");
+        RequestTrace.detach(null);
+        tracer.finish(trace, 503);
+
+        RequestTrace reused = tracer.begin("GET", "/b");
+        reused.enter("fresh");
+        trace.exit(stale);
+        RequestTrace.detach(null);
+        tracer.finish(reused, 200);
+
+        assertTrue(tracer.snapshot().recent().get(0).spans().get(0).unfinished());
+    }
+
+    @Test
+    void propagatingExecutorRecordsIntoCallerTrace() throws Exception {
+        RequestTracer tracer = new RequestTracer(true, 0, 0.0, 10, 1, 8);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            RequestTrace trace = tracer.begin("GET", "/feed");
+            RequestTrace.propagating(pool).execute(() -> RequestTrace.end(RequestTrace.start("async")));
+            pool.submit(() -> { }).get(1, TimeUnit.SECONDS);
+            RequestTrace.detach(null);
+            tracer.finish(trace, 200);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals("async", tracer.snapshot().recent().get(0).spans().get(0).name());
+    }
+}
@@ -0,0 +1,73 @@
+package com.minisocial.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SingleFlightTest {
+
+    @Test
+    void concurrentCallersShareOneComputation() {
+        SingleFlight<String, Integer> flight = new SingleFlight<>("test", 1_000);
+        CompletableFuture<Integer> work = new CompletableFuture<>();
+        AtomicInteger started = new AtomicInteger();
+
+        CompletableFuture<Integer> first = flight.execute("k", () -> { started.incrementAndGet(); return work; });
+        CompletableFuture<Integer> second = flight.execute("k", () -> { started.incrementAndGet(); return work; });
+        work.complete(42);
+
+        assertEquals(42, first.join());
+        assertEquals(42, second.join());
+        assertEquals(1, started.get());
+        assertEquals(0.5, flight.snapshot().coalescedRatio());
+        assertEquals(0, flight.snapshot().inFlight());
+    }
+
+    @Test
+    void failureReachesEveryWaiter() {
+        SingleFlight<String, Integer> flight = new SingleFlight<>("test", 1_000);
+        CompletableFuture<Integer> work = new CompletableFuture<>();
+        CompletableFuture<Integer> first = flight.execute("k", () -> work);
+        CompletableFuture<Integer> second = flight.execute("k", () -> work);
+        IllegalStateException failure = new IllegalStateException("boom");
+        work.completeExceptionally(failure);
+
+        assertSame(failure, assertThrows(ExecutionException.class, first::get).getCause());
+        assertSame(failure, assertThrows(ExecutionException.class, second::get).getCause());
+    }
+
+    @Test
+    void stuckFlightTimesOutAndReleasesKey() {
+        SingleFlight<String, Integer> flight = new SingleFlight<>("test", 50);
+        CompletableFuture<Integer> waiter = flight.execute("k", CompletableFuture::new);
+
+        assertInstanceOf(TimeoutException.class, assertThrows(ExecutionException.class, waiter::get).getCause());
+        assertEquals(7, flight.execute("k", () -> CompletableFuture.completedFuture(7)).join());
+    }
+
+    @Test
+    void batchLoadsOnlyUnclaimedKeys() {
+        SingleFlight<Long, String> flight = new SingleFlight<>("test", 1_000);
+        Map<Long, String> result = flight.executeAll(List.of(1L, 2L, 2L), keys -> {
+            assertEquals(List.of(1L, 2L), keys);
+            return Map.of(1L, "one");
+        });
+
+        assertEquals("one", result.get(1L));
+        assertEquals(null, result.get(2L));
+        assertThrows(CompletionException.class, () -> flight.executeAll(List.of(3L), keys -> {
+            throw new IllegalStateException("db down");
+        }));
+    }
+}
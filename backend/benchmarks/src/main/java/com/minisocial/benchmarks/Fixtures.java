@@ -0,0 +1,69 @@
+package com.minisocial.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.minisocial.dto.FeedItem;
+import com.minisocial.model.Post;
+import com.minisocial.model.User;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic test data shared by the benchmark suites.
+ */
+public final class Fixtures {
+
+    private static final String WORDS = "lorem ipsum dolor sit amet consectetur adipiscing elit sed do eiusmod "
+            + "tempor incididunt ut labore et dolore magna aliqua";
+
+    private Fixtures() {
+    }
+
+    /**
+     * ObjectMapper configured the way Spring Boot configures the application's
+     * (Java time module, ISO-8601 dates rather than timestamps).
+     */
+    public static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    /**
+     * Posts as the feed query returns them: author attached, around 140
+     * characters of content, every third post with an image.
+     */
+    public static List<Post> posts(int count) {
+        SplittableRandom random = new SplittableRandom(42);
+        Instant now = Instant.parse("2024-06-01T12:00:00Z");
+        List<Post> posts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User author = new User("user" + (i % 50) + "@example.com", "hash");
+            author.setId(1_000L + i % 50);
+            Post post = new Post(author, content(random), i % 3 == 0
+                    ? "https://cdn.example.com/images/" + Long.toHexString(random.nextLong()) + ".jpg"
+                    : null);
+            post.setId(100_000L + i);
+            post.setCreatedAt(now.minusSeconds(i * 97L));
+            posts.add(post);
+        }
+        return posts;
+    }
+
+    public static List<FeedItem> feedItems(int count) {
+        return posts(count).stream().map(FeedItem::from).toList();
+    }
+
+    private static String content(SplittableRandom random) {
+        StringBuilder text = new StringBuilder(160);
+        String[] words = WORDS.split(" ");
+        while (text.length() < 140) {
+            text.append(words[random.nextInt(words.length)]).append(' ');
+        }
+        return text.toString().trim();
+    }
+}
@@ -0,0 +1,108 @@
+package com.minisocial.config;
+
+import com.minisocial.util.Bulkhead;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Platform-thread against virtual-thread request handling on a simulated feed
+ * request: a short database call behind a {@link Bulkhead}, then a longer
+ * remote call that holds no pooled resource. Each invocation pushes a burst of
+ * requests through the executor; the score is wall time per request.
+ *
+ * Virtual threads need Java 21+. On older JVMs the "virtual" run fails in
+ * setup, so pass {@code -p mode=platform} there.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ThreadingModeBenchmark {
+
+    private static final int REQUESTS = 5_000;
+    // Same as Tomcat's default server.tomcat.threads.max
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final long DB_MILLIS = 2;
+    private static final long REMOTE_MILLIS = 20;
+
+    @Param({"platform", "virtual"})
+    public String mode;
+
+    private ExecutorService executor;
+    private Bulkhead database;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        if ("virtual".equals(mode)) {
+            if (Runtime.version().feature() < 21) {
+                throw new IllegalStateException("Virtual threads need Java 21+; run with -p mode=platform");
+            }
+            // Reflective so the module still compiles for Java 17
+            executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } else {
+            executor = Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+        }
+        database = new Bulkhead("database", 40, 10_000);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public int burst() throws InterruptedException {
+        AtomicInteger completed = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            executor.execute(() -> {
+                try {
+                    if (database.tryAcquire()) {
+                        try {
+                            sleep(DB_MILLIS);
+                        } finally {
+                            database.release();
+                        }
+                    }
+                    sleep(REMOTE_MILLIS);
+                    completed.incrementAndGet();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        if (!done.await(5, TimeUnit.MINUTES)) {
+            throw new IllegalStateException("Burst did not finish: " + completed.get() + "/" + REQUESTS);
+        }
+        return completed.get();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.minisocial.service;
+
+import com.minisocial.benchmarks.Fixtures;
+import com.minisocial.dto.FeedItem;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis timeline serialization in {@link FeedCache}: encoding post bodies when
+ * a feed is written, and decoding a page script reply (IDs plus JSON bodies)
+ * on every cached feed read. Runs against FeedCache's own code with Redis
+ * stubbed out, so only the CPU and allocation cost is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FeedCacheSerializationBenchmark {
+
+    // Default page size and the full cached feed window
+    @Param({"20", "100"})
+    public int size;
+
+    private FeedCache feedCache;
+    private List<FeedItem> items;
+    private List<Object> pageReply;
+
+    @Setup
+    public void setUp() {
+        feedCache = new FeedCache(null, null, Fixtures.objectMapper(), null, null, new SimpleMeterRegistry());
+        items = Fixtures.feedItems(size);
+
+        // Shape of the page script reply: {etag, card, ids, bodies}
+        List<Object> ids = new ArrayList<>(size);
+        List<Object> bodies = new ArrayList<>(size);
+        for (FeedItem item : items) {
+            ids.add(String.valueOf(item.postId()));
+            bodies.add(feedCache.toJson(item));
+        }
+        pageReply = List.of("18f3a9c2b1", (long) FeedBuilder.FEED_SIZE, ids, bodies);
+    }
+
+    @Benchmark
+    public void encodePosts(Blackhole blackhole) {
+        for (FeedItem item : items) {
+            blackhole.consume(feedCache.toJson(item));
+        }
+    }
+
+    @Benchmark
+    public FeedCache.CachedPage decodePage() {
+        return feedCache.toPage(pageReply);
+    }
+}
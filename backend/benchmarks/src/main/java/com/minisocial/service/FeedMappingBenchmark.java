@@ -0,0 +1,71 @@
+package com.minisocial.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.minisocial.benchmarks.Fixtures;
+import com.minisocial.dto.FeedItem;
+import com.minisocial.dto.FeedResponse;
+import com.minisocial.model.Post;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feed item mapping as done by {@link FeedServiceImpl} on database reads
+ * (Post entities to FeedItems), and the JSON serialization of the resulting
+ * page that follows on every feed response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FeedMappingBenchmark {
+
+    // Default page size and the full cached feed window
+    @Param({"20", "100"})
+    public int size;
+
+    private List<Post> posts;
+    private FeedResponse page;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        posts = Fixtures.posts(size);
+        page = new FeedResponse(posts.stream().map(FeedItem::from).toList(), 0, size);
+        objectMapper = Fixtures.objectMapper();
+    }
+
+    @Benchmark
+    public List<FeedItem> mapPosts() {
+        return posts.stream()
+                .map(FeedItem::from)
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() throws JsonProcessingException {
+        List<FeedItem> items = posts.stream()
+                .map(FeedItem::from)
+                .toList();
+        return objectMapper.writeValueAsBytes(new FeedResponse(items, 0, size));
+    }
+}
@@ -0,0 +1,114 @@
+package com.minisocial.service;
+
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feed page reads against a real Redis: the old template path (ZREVRANGE,
+ * then MGET, then GET: three round trips per page) against
+ * {@link FeedCache#PAGE_SCRIPT}, one script call over a single shared
+ * connection. Concurrent readers stand in for request threads.
+ *
+ * Needs Redis at -Dredis.host / -Dredis.port (default localhost:6379); setup
+ * fails rather than measuring nothing when it is unreachable. Writes a
+ * 100-post feed for a synthetic user and deletes it afterwards.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(64)
+@Fork(1)
+public class FeedReadPathBenchmark {
+
+    private static final int PAGE = 20;
+    private static final long USER = 900_000_001L;
+    private static final String FEED_KEY = "feed:" + USER;
+    private static final String ETAG_KEY = "feed:etag:" + USER;
+
+    private RedisClient client;
+    private StatefulRedisConnection<String, String> connection;
+    private RedisAsyncCommands<String, String> async;
+    private LettuceConnectionFactory factory;
+    private StringRedisTemplate template;
+    private String sha;
+
+    private final String[] keys = {FEED_KEY, ETAG_KEY};
+    private final String[] args = {"0", String.valueOf(PAGE - 1), "post:"};
+
+    @Setup
+    public void setUp() {
+        String host = System.getProperty("redis.host", "localhost");
+        int port = Integer.getInteger("redis.port", 6379);
+        client = RedisClient.create(RedisURI.builder().withHost(host).withPort(port).build());
+        connection = client.connect();
+        async = connection.async();
+        factory = new LettuceConnectionFactory(host, port);
+        factory.afterPropertiesSet();
+        template = new StringRedisTemplate(factory);
+
+        var redis = connection.sync();
+        redis.del(FEED_KEY);
+        for (int i = 0; i < 100; i++) {
+            redis.zadd(FEED_KEY, 100 - i, String.valueOf(USER + i));
+            redis.set("post:" + (USER + i), "{\"postId\":" + (USER + i) + ",\"content\":\"benchmark\"}");
+        }
+        redis.set(ETAG_KEY, "bench");
+        sha = redis.scriptLoad(FeedCache.PAGE_SCRIPT);
+
+        // Both paths must return a full page, or the comparison is meaningless
+        if (templatePath() != PAGE || scriptPath() != PAGE) {
+            throw new IllegalStateException("Seeded feed did not read back a full page");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        var redis = connection.sync();
+        redis.del(FEED_KEY, ETAG_KEY);
+        for (int i = 0; i < 100; i++) {
+            redis.del("post:" + (USER + i));
+        }
+        connection.close();
+        client.shutdown();
+        factory.destroy();
+    }
+
+    @Benchmark
+    public int templatePath() {
+        Set<String> ids = template.opsForZSet().reverseRange(FEED_KEY, 0, PAGE - 1);
+        List<String> bodies = template.opsForValue().multiGet(ids.stream().map(id -> "post:" + id).toList());
+        template.opsForValue().get(ETAG_KEY);
+        return bodies.size();
+    }
+
+    @Benchmark
+    public int scriptPath() {
+        List<Object> result = async.<List<Object>>evalsha(sha, ScriptOutputType.MULTI, keys, args)
+                .toCompletableFuture()
+                .join();
+        return ((List<?>) result.get(3)).size();
+    }
+}
@@ -0,0 +1,164 @@
+package com.minisocial.service;
+
+import com.minisocial.util.CountingBloomFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.connection.DefaultMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Follow-graph lookups on a synthetic power-law graph: edge membership in
+ * {@link FollowGraph} (suggestion filtering) and in the follow path's
+ * {@link CountingBloomFilter}, sorted-array intersection, and
+ * friends-of-friends suggestions for typical users and for the highest-degree
+ * ones. The graph is loaded through FollowGraph's own change-event path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class FollowGraphBenchmark {
+
+    private static final int USERS = 20_000;
+    private static final int QUERIES = 1 << 10;
+    private static final int HUBS = 100;
+
+    private FollowGraph graph;
+    private CountingBloomFilter edgeFilter;
+    // Same settings as the suggestions.* defaults in application.yml
+    private final FriendsOfFriendsScorer scorer = new FriendsOfFriendsScorer(500, 1000, 100_000);
+
+    private long[] pairFollower;
+    private long[] pairFollowing;
+    private long[] typicalUsers;
+    private long[] hubUsers;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        long[][] following = powerLawGraph(random);
+
+        graph = new FollowGraph(null, null, null, null);
+        long edges = 0;
+        for (int user = 0; user < USERS; user++) {
+            for (long followee : following[user]) {
+                byte[] body = new FollowChangedEvent((long) user, followee, true).encode().getBytes(StandardCharsets.UTF_8);
+                graph.onMessage(new DefaultMessage(new byte[0], body), null);
+                edges++;
+            }
+        }
+
+        // Sized like FollowEdgeFilter: growth headroom and a 1% false-positive target
+        edgeFilter = new CountingBloomFilter((long) (edges * 1.5) + 1024, 0.01);
+        for (int user = 0; user < USERS; user++) {
+            for (long followee : following[user]) {
+                edgeFilter.add(user, followee);
+            }
+        }
+
+        // Half existing edges, half random pairs (nearly all absent)
+        pairFollower = new long[QUERIES];
+        pairFollowing = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            int user = random.nextInt(USERS);
+            pairFollower[i] = user;
+            pairFollowing[i] = (i % 2 == 0 && following[user].length > 0)
+                    ? following[user][random.nextInt(following[user].length)]
+                    : random.nextInt(USERS);
+        }
+
+        Integer[] byDegree = new Integer[USERS];
+        for (int i = 0; i < USERS; i++) {
+            byDegree[i] = i;
+        }
+        Arrays.sort(byDegree, (a, b) -> Integer.compare(following[b].length, following[a].length));
+        hubUsers = new long[HUBS];
+        for (int i = 0; i < HUBS; i++) {
+            hubUsers[i] = byDegree[i];
+        }
+        typicalUsers = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            typicalUsers[i] = byDegree[USERS / 4 + random.nextInt(USERS / 2)];
+        }
+    }
+
+    @Benchmark
+    public boolean follows() {
+        int i = next++ & (QUERIES - 1);
+        return graph.follows(pairFollower[i], pairFollowing[i]);
+    }
+
+    @Benchmark
+    public boolean edgeFilterMightFollow() {
+        int i = next++ & (QUERIES - 1);
+        return edgeFilter.mightContain(pairFollower[i], pairFollowing[i]);
+    }
+
+    @Benchmark
+    public long[] intersectTypical() {
+        int i = next++ & (QUERIES - 1);
+        return FollowGraph.intersect(graph.following(typicalUsers[i]),
+                graph.following(typicalUsers[(i + 1) & (QUERIES - 1)]));
+    }
+
+    @Benchmark
+    public long[] intersectWithHub() {
+        int i = next++ & (QUERIES - 1);
+        return FollowGraph.intersect(graph.following(typicalUsers[i]), graph.followers(hubUsers[i % HUBS]));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<FriendsOfFriendsScorer.Candidate> suggestTypical() {
+        int i = next++ & (QUERIES - 1);
+        return scorer.suggest(typicalUsers[i], graph::following, 50);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<FriendsOfFriendsScorer.Candidate> suggestHub() {
+        return scorer.suggest(hubUsers[next++ % HUBS], graph::following, 50);
+    }
+
+    // Out-degrees are Pareto-distributed (alpha 1.2, capped at 5k follows) and
+    // followees are chosen proportionally to their follower count, so both sides are power-law
+    private static long[][] powerLawGraph(SplittableRandom random) {
+        long[][] following = new long[USERS][];
+        List<Integer> targets = new ArrayList<>(USERS * 20);
+        for (int user = 0; user < USERS; user++) {
+            int pareto = (int) Math.min(5_000, 5 / Math.pow(1 - random.nextDouble(), 1 / 1.2));
+            int degree = Math.min(user, pareto);
+            long[] followees = new long[degree];
+            for (int k = 0; k < degree; k++) {
+                followees[k] = (!targets.isEmpty() && random.nextInt(10) < 8)
+                        ? targets.get(random.nextInt(targets.size()))
+                        : random.nextInt(user);
+            }
+            followees = Arrays.stream(followees).distinct().sorted().toArray();
+            following[user] = followees;
+            for (long followee : followees) {
+                targets.add((int) followee);
+            }
+            targets.add(user);
+        }
+        return following;
+    }
+}
@@ -0,0 +1,65 @@
+package com.minisocial.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.image.BufferedImage;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ImageProcessor#resizeImage} across upload sizes, from an image that
+ * already fits (no work) to a 12 MP phone photo. Decoded JPEGs arrive as
+ * 3-byte BGR, which takes a slower drawing path than packed int RGB, so both
+ * layouts are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class ImageResizeBenchmark {
+
+    @Param({"1024x768", "2048x1536", "4032x3024"})
+    public String dimensions;
+
+    @Param({"3BYTE_BGR", "INT_RGB"})
+    public String layout;
+
+    private BufferedImage source;
+
+    @Setup
+    public void setUp() {
+        String[] parts = dimensions.split("x");
+        int width = Integer.parseInt(parts[0]);
+        int height = Integer.parseInt(parts[1]);
+        int type = "INT_RGB".equals(layout) ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_3BYTE_BGR;
+        source = new BufferedImage(width, height, type);
+
+        // Smooth gradients with noise, roughly like photo content
+        SplittableRandom random = new SplittableRandom(42);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int r = (x * 255 / width + random.nextInt(16)) & 0xFF;
+                int g = (y * 255 / height + random.nextInt(16)) & 0xFF;
+                int b = ((x + y) * 255 / (width + height) + random.nextInt(16)) & 0xFF;
+                source.setRGB(x, y, (r << 16) | (g << 8) | b);
+            }
+        }
+    }
+
+    @Benchmark
+    public BufferedImage resize() {
+        return ImageProcessor.resizeImage(source);
+    }
+}
@@ -0,0 +1,81 @@
+package com.minisocial.util;
+
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT handling in {@link JwtUtil}, which runs on every authenticated request:
+ * verification served from the verified-token cache, full parse and signature
+ * check (first sight of a token, or caching disabled), and token issuing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-that-is-at-least-256-bits-long";
+
+    private JwtUtil cached;
+    private JwtUtil uncached;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cached = jwtUtil(10_000);
+        uncached = jwtUtil(0);
+        token = cached.generateToken("user@example.com", 42L);
+        cached.verify(token);
+    }
+
+    @Benchmark
+    public VerifiedToken verifyCached() {
+        return cached.verify(token);
+    }
+
+    @Benchmark
+    public VerifiedToken verifyUncached() {
+        return uncached.verify(token);
+    }
+
+    @Benchmark
+    public String parseSubject() {
+        return uncached.extractClaim(token, Claims::getSubject);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cached.generateToken("user@example.com", 42L);
+    }
+
+    // Same wiring Spring does from application.yml
+    private static JwtUtil jwtUtil(int verifiedCacheSize) {
+        JwtUtil jwtUtil = new JwtUtil();
+        set(jwtUtil, "secret", SECRET);
+        set(jwtUtil, "expiration", 900_000L);
+        set(jwtUtil, "verifiedCacheSize", verifiedCacheSize);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+
+    private static void set(JwtUtil target, String name, Object value) {
+        Field field = ReflectionUtils.findField(JwtUtil.class, name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+}
@@ -22,6 +22,7 @@ CREATE TABLE IF NOT EXISTS posts (
 -- Create indexes for posts
 CREATE INDEX IF NOT EXISTS idx_posts_user_id ON posts(user_id);
 CREATE INDEX IF NOT EXISTS idx_posts_created_at ON posts(created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_posts_user_created ON posts(user_id, created_at DESC);
 
 -- Create follows table
 CREATE TABLE IF NOT EXISTS follows (
@@ -37,6 +38,19 @@ CREATE TABLE IF NOT EXISTS follows (
 CREATE INDEX IF NOT EXISTS idx_follows_follower ON follows(follower_id);
 CREATE INDEX IF NOT EXISTS idx_follows_following ON follows(following_id);
 
+-- Composite indexes for keyset-paginated follower/following lists
+CREATE INDEX IF NOT EXISTS idx_follows_following_created ON follows(following_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_follows_follower_created ON follows(follower_id, created_at DESC, id DESC);
+
+-- Create content-addressed image index
+CREATE TABLE IF NOT EXISTS image_blobs (
+    content_hash VARCHAR(64) PRIMARY KEY,
+    original_url VARCHAR(500) NOT NULL,
+    processed_url VARCHAR(500),
+    ref_count INTEGER NOT NULL DEFAULT 1,
+    created_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
 -- Grant permissions
 GRANT ALL PRIVILEGES ON ALL TABLES IN SCHEMA public TO postgres;
 GRANT ALL PRIVILEGES ON ALL SEQUENCES IN SCHEMA public TO postgres;
@@ -1,78 +0,0 @@
-package com.minisocial.config;
-
-import com.zaxxer.hikari.HikariDataSource;
-import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
-import org.springframework.boot.context.properties.ConfigurationProperties;
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-import org.springframework.context.annotation.Primary;
-import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
-
-import javax.sql.DataSource;
-import java.util.HashMap;
-import java.util.Map;
-
-/**
- * Configuration for read/write datasource splitting.
- * 
- * - Write operations go to primary database (EU)
- * - Read operations go to read replica (US) if available, otherwise primary
- * - Routing is automatic based on @Transactional(readOnly = true/false)
- */
-@Configuration
-public class DataSourceConfig {
-
-    @Bean
-    @ConfigurationProperties("spring.datasource.write")
-    public DataSourceProperties writeDataSourceProperties() {
-        return new DataSourceProperties();
-    }
-
-    @Bean
-    @ConfigurationProperties("spring.datasource.read")
-    public DataSourceProperties readDataSourceProperties() {
-        return new DataSourceProperties();
-    }
-
-    @Bean(name = "writeDataSource")
-    public DataSource writeDataSource() {
-        return writeDataSourceProperties()
-                .initializeDataSourceBuilder()
-                .type(HikariDataSource.class)
-                .build();
-    }
-
-    @Bean(name = "readDataSource")
-    public DataSource readDataSource() {
-        return readDataSourceProperties()
-                .initializeDataSourceBuilder()
-                .type(HikariDataSource.class)
-                .build();
-    }
-
-    @Bean(name = "routingDataSource")
-    public DataSource routingDataSource(
-            @Qualifier("writeDataSource") DataSource writeDataSource,
-            @Qualifier("readDataSource") DataSource readDataSource) {
-        
-        RoutingDataSource routingDataSource = new RoutingDataSource();
-        
-        Map<Object, Object> dataSourceMap = new HashMap<>();
-        dataSourceMap.put("write", writeDataSource);
-        dataSourceMap.put("read", readDataSource);
-        
-        routingDataSource.setTargetDataSources(dataSourceMap);
-        routingDataSource.setDefaultTargetDataSource(writeDataSource);
-        
-        return routingDataSource;
-    }
-
-    @Primary
-    @Bean(name = "dataSource")
-    public DataSource dataSource(@Qualifier("routingDataSource") DataSource routingDataSource) {
-        // LazyConnectionDataSourceProxy delays actual connection until first use
-        // This allows the routing to happen before connection is established
-        return new LazyConnectionDataSourceProxy(routingDataSource);
-    }
-}
@@ -1,103 +0,0 @@
-package com.minisocial.config;
-
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-import org.springframework.data.redis.connection.RedisConnectionFactory;
-import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
-import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
-import org.springframework.data.redis.connection.lettuce.LettucePoolingClientConfiguration;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
-import org.springframework.data.redis.serializer.StringRedisSerializer;
-
-import java.time.Duration;
-
-/**
- * Configuration class for Redis connectivity and operations.
- * Configures Lettuce connection factory and RedisTemplate with
- * appropriate serializers for feed caching.
- */
-@Configuration
-public class RedisConfig {
-
-    @Value("${spring.data.redis.host:localhost}")
-    private String redisHost;
-
-    @Value("${spring.data.redis.port:6379}")
-    private int redisPort;
-
-    @Value("${spring.data.redis.password:}")
-    private String redisPassword;
-
-    @Value("${spring.data.redis.lettuce.pool.max-active:8}")
-    private int maxActive;
-
-    @Value("${spring.data.redis.lettuce.pool.max-idle:8}")
-    private int maxIdle;
-
-    @Value("${spring.data.redis.lettuce.pool.min-idle:2}")
-    private int minIdle;
-
-    @Value("${spring.data.redis.timeout:2000}")
-    private long timeout;
-
-    /**
-     * Creates a Lettuce connection factory with connection pooling.
-     * 
-     * @return configured LettuceConnectionFactory
-     */
-    @Bean
-    public LettuceConnectionFactory redisConnectionFactory() {
-        // Configure Redis standalone connection
-        RedisStandaloneConfiguration redisConfig = new RedisStandaloneConfiguration();
-        redisConfig.setHostName(redisHost);
-        redisConfig.setPort(redisPort);
-        
-        // Set password if provided
-        if (redisPassword != null && !redisPassword.isEmpty()) {
-            redisConfig.setPassword(redisPassword);
-        }
-
-        // Configure connection pool settings
-        LettucePoolingClientConfiguration poolConfig = LettucePoolingClientConfiguration.builder()
-                .commandTimeout(Duration.ofMillis(timeout))
-                .poolConfig(new org.apache.commons.pool2.impl.GenericObjectPoolConfig() {{
-                    setMaxTotal(maxActive);
-                    setMaxIdle(maxIdle);
-                    setMinIdle(minIdle);
-                    setTestOnBorrow(true);
-                    setTestOnReturn(true);
-                    setTestWhileIdle(true);
-                }})
-                .build();
-
-        return new LettuceConnectionFactory(redisConfig, poolConfig);
-    }
-
-    /**
-     * Creates a RedisTemplate with String key serializer and JSON value serializer.
-     * Used for storing and retrieving feed data from Redis.
-     * 
-     * @param connectionFactory the Redis connection factory
-     * @return configured RedisTemplate
-     */
-    @Bean
-    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
-        RedisTemplate<String, Object> template = new RedisTemplate<>();
-        template.setConnectionFactory(connectionFactory);
-
-        // Use String serializer for keys
-        StringRedisSerializer stringSerializer = new StringRedisSerializer();
-        template.setKeySerializer(stringSerializer);
-        template.setHashKeySerializer(stringSerializer);
-
-        // Use JSON serializer for values
-        GenericJackson2JsonRedisSerializer jsonSerializer = new GenericJackson2JsonRedisSerializer();
-        template.setValueSerializer(jsonSerializer);
-        template.setHashValueSerializer(jsonSerializer);
-
-        template.afterPropertiesSet();
-        return template;
-    }
-}
@@ -1,24 +0,0 @@
-package com.minisocial.repository;
-
-import com.minisocial.model.Follow;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
-import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
-import org.springframework.stereotype.Repository;
-
-import java.util.List;
-
-@Repository
-public interface FollowRepository extends JpaRepository<Follow, Long> {
-
-    boolean existsByFollower_IdAndFollowing_Id(Long followerId, Long followingId);
-
-    @Modifying
-    @Query("DELETE FROM Follow f WHERE f.follower.id = :followerId AND f.following.id = :followingId")
-    int deleteByFollowerIdAndFollowingId(@Param("followerId") Long followerId,
-                                         @Param("followingId") Long followingId);
-
-    @Query("SELECT f.following.id FROM Follow f WHERE f.follower.id = :followerId")
-    List<Long> findFollowingIdsByFollowerId(@Param("followerId") Long followerId);
-}
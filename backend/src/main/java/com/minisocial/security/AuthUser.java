@@ -1,3 +0,0 @@
-package com.minisocial.security;
-
-public record AuthUser(Long id, String email) {}
@@ -3,7 +3,7 @@
 import { useState, FormEvent } from "react";
 import { useRouter } from "next/navigation";
 import api, { authApi } from "@/lib/api";
-import { setToken } from "@/lib/auth";
+import { setToken, setRefreshToken } from "@/lib/auth";
 import type {
   LoginRequest,
   LoginResponse,
@@ -44,6 +44,7 @@ export default function LoginPage() {
 
         // Store JWT token
         setToken(response.data.token);
+        setRefreshToken(response.data.refreshToken);
 
         // Redirect to feed
         router.push("/feed");
@@ -61,6 +62,7 @@ export default function LoginPage() {
 
         // Store JWT token
         setToken(response.data.token);
+        setRefreshToken(response.data.refreshToken);
 
         // Redirect to feed
         router.push("/feed");
@@ -43,7 +43,7 @@ export default function Header() {
   }, []);
 
   const handleLogout = () => {
-    logout();
+    void logout();
   };
 
   return (
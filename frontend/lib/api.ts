@@ -3,7 +3,15 @@
  */
 
 import axios from "axios";
-import { getToken, clearToken } from "./auth";
+import type { AxiosRequestConfig } from "axios";
+import type { LoginResponse } from "@/types";
+import {
+  getToken,
+  setToken,
+  getRefreshToken,
+  setRefreshToken,
+  clearToken,
+} from "./auth";
 
 /**
  * Axios instance configured with base URL and interceptors
@@ -38,12 +46,72 @@ api.interceptors.request.use(
   }
 );
 
+// Shared so concurrent 401s trigger a single refresh
+let refreshInFlight: Promise<string | null> | null = null;
+
+/**
+ * Exchanges the stored refresh token for a new access/refresh token pair
+ * @returns The new access token, or null if the session cannot be refreshed
+ */
+function refreshAccessToken(): Promise<string | null> {
+  const refreshToken = getRefreshToken();
+  if (!refreshToken) return Promise.resolve(null);
+  if (!refreshInFlight) {
+    refreshInFlight = authApi
+      .post<LoginResponse>("/auth/refresh", { refreshToken })
+      .then((response) => {
+        setToken(response.data.token);
+        setRefreshToken(response.data.refreshToken);
+        return response.data.token;
+      })
+      .catch(() => null)
+      .finally(() => {
+        refreshInFlight = null;
+      });
+  }
+  return refreshInFlight;
+}
+
 /**
- * Response interceptor - handles 401 errors by clearing token and redirecting to login
+ * Revokes the session server-side: the access token and the refresh token family.
+ * An expired access token is refreshed once first, which rotates the refresh token,
+ * so the body is rebuilt to carry the current one.
+ */
+export async function revokeSession(): Promise<void> {
+  const send = (accessToken: string) =>
+    authApi.post(
+      "/auth/logout",
+      { refreshToken: getRefreshToken() },
+      { headers: { Authorization: `Bearer ${accessToken}` } }
+    );
+
+  const token = getToken();
+  if (!token) return;
+  try {
+    await send(token);
+  } catch (error) {
+    if (!axios.isAxiosError(error) || error.response?.status !== 401) throw error;
+    const refreshed = await refreshAccessToken();
+    if (refreshed) await send(refreshed);
+  }
+}
+
+/**
+ * Response interceptor - on 401 refreshes the access token once and retries,
+ * otherwise clears tokens and redirects to login
  */
 api.interceptors.response.use(
   (response) => response,
-  (error) => {
+  async (error) => {
+    const original = error.config as AxiosRequestConfig & { _retried?: boolean };
+    if (error.response?.status === 401 && original && !original._retried) {
+      original._retried = true;
+      const token = await refreshAccessToken();
+      if (token) {
+        original.headers = { ...original.headers, Authorization: `Bearer ${token}` };
+        return api(original);
+      }
+    }
     if (error.response?.status === 401) {
       clearToken();
       if (
@@ -3,6 +3,7 @@
  */
 
 const TOKEN_KEY = "jwt_token";
+const REFRESH_TOKEN_KEY = "refresh_token";
 
 /**
  * Retrieves the JWT token from localStorage
@@ -23,17 +24,44 @@ export function setToken(token: string): void {
 }
 
 /**
- * Removes the JWT token from localStorage
+ * Retrieves the refresh token from localStorage
+ * @returns The refresh token or null if not found or in server-side context
+ */
+export function getRefreshToken(): string | null {
+  if (typeof window === "undefined") return null;
+  return localStorage.getItem(REFRESH_TOKEN_KEY);
+}
+
+/**
+ * Stores the refresh token in localStorage
+ * @param token - The refresh token to store
+ */
+export function setRefreshToken(token: string): void {
+  if (typeof window === "undefined") return;
+  localStorage.setItem(REFRESH_TOKEN_KEY, token);
+}
+
+/**
+ * Removes the JWT and refresh tokens from localStorage
  */
 export function clearToken(): void {
   if (typeof window === "undefined") return;
   localStorage.removeItem(TOKEN_KEY);
+  localStorage.removeItem(REFRESH_TOKEN_KEY);
 }
 
 /**
- * Logs out the user by clearing the token and redirecting to login page
+ * Logs out the user: revokes the session on the server, then clears the tokens
+ * and redirects to the login page. Local state is cleared even if revocation fails.
  */
-export function logout(): void {
+export async function logout(): Promise<void> {
+  try {
+    // Loaded lazily: the API client itself imports this module
+    const { revokeSession } = await import("./api");
+    await revokeSession();
+  } catch (error) {
+    console.warn("Server-side logout failed", error);
+  }
   clearToken();
   if (typeof window !== "undefined") {
     window.location.href = "/login";
@@ -26,6 +26,8 @@ export interface LoginRequest {
 
 export interface LoginResponse {
   token: string;
+  refreshToken: string;
+  expiresInSeconds: number;
   userId: number;
   email: string;
 }